@@ -0,0 +1,57 @@
+package gamerent.boundary;
+
+import gamerent.config.CurrentUser;
+import gamerent.service.AnalyticsExportService;
+import gamerent.service.ExportDataset;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.NoSuchElementException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+@RestController
+@RequestMapping("/api/admin/export")
+@CrossOrigin(origins = "*")
+public class AdminExportController {
+    private static final Logger logger = Logger.getLogger(AdminExportController.class.getName());
+    private static final MediaType ARROW_STREAM = MediaType.parseMediaType("application/vnd.apache.arrow.stream");
+
+    private final AnalyticsExportService exportService;
+
+    public AdminExportController(AnalyticsExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * Downloads bookings, payments or disputes as a compressed Arrow IPC stream. The export
+     * runs on an async worker rather than the request thread and streams as it reads.
+     */
+    @GetMapping("/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String dataset, HttpServletRequest request) {
+        Object role = CurrentUser.attribute(request, CurrentUser.USER_ROLE);
+        if (role == null || !"ADMIN".equals(role.toString())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        ExportDataset target;
+        try {
+            target = ExportDataset.fromName(dataset);
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        }
+        logger.log(Level.INFO, "[AUDIT] {0} export requested by adminId={1}",
+            new Object[]{target, CurrentUser.attribute(request, CurrentUser.USER_ID)});
+
+        StreamingResponseBody body = out -> exportService.export(target, out);
+        return ResponseEntity.ok()
+            .contentType(ARROW_STREAM)
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(target.fileName()).build().toString())
+            .body(body);
+    }
+}
@@ -4,11 +4,13 @@ import gamerent.boundary.dto.AdminMetricsResponse;
 import gamerent.data.UserRepository;
 import gamerent.data.ItemRepository;
 import gamerent.data.BookingRepository;
+import gamerent.data.BookingArchiveRepository;
 import gamerent.data.DisputeStatus;
 import gamerent.data.DisputeRepository;
 import gamerent.data.BookingRequest;
 import gamerent.data.BookingStatus;
 import gamerent.data.PaymentStatus;
+import gamerent.config.CurrentUser;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
@@ -29,13 +31,16 @@ public class AdminMetricsController {
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
+    private final BookingArchiveRepository bookingArchiveRepository;
     private final DisputeRepository disputeRepository;
 
     @Autowired
-    public AdminMetricsController(UserRepository userRepository, ItemRepository itemRepository, BookingRepository bookingRepository, DisputeRepository disputeRepository) {
+    public AdminMetricsController(UserRepository userRepository, ItemRepository itemRepository, BookingRepository bookingRepository,
+                                  BookingArchiveRepository bookingArchiveRepository, DisputeRepository disputeRepository) {
         this.userRepository = userRepository;
         this.itemRepository = itemRepository;
         this.bookingRepository = bookingRepository;
+        this.bookingArchiveRepository = bookingArchiveRepository;
         this.disputeRepository = disputeRepository;
     }
 
@@ -43,26 +48,28 @@ public class AdminMetricsController {
     //@PreAuthorize("hasRole('ADMIN')") // Uncomment if using Spring Security method security
     public ResponseEntity<AdminMetricsResponse> getMetrics(HttpServletRequest request) {
         // --- Access Control: Only allow ADMINs ---
-        Object role = request.getSession(false) != null ? request.getSession(false).getAttribute("userRole") : null;
+        Object role = CurrentUser.attribute(request, "userRole");
         if (role == null || !"ADMIN".equals(role.toString())) {
             logger.log(Level.WARNING, "Unauthorized admin dashboard access attempt - Role: {0}", role);
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
         // --- Auditing: Log access ---
-        Object adminId = request.getSession(false) != null ? request.getSession(false).getAttribute("userId") : null;
+        Object adminId = CurrentUser.attribute(request, "userId");
         logger.log(Level.INFO, "[AUDIT] Admin dashboard accessed by adminId={0} at {1}", 
             new Object[]{adminId, LocalDateTime.now()});
 
         // --- Metrics ---
         int totalAccounts = (int) userRepository.count();
         int activeListings = (int) itemRepository.count();
-        int totalBookings = (int) bookingRepository.count();
+        int totalBookings = (int) (bookingRepository.count() + bookingArchiveRepository.count());
         double monthlyRevenue = calculateMonthlyRevenue();
         int openIssues = disputeRepository.findByStatus(DisputeStatus.SUBMITTED).size() 
                         + disputeRepository.findByStatus(DisputeStatus.UNDER_REVIEW).size();
 
-        logger.log(Level.INFO, "Admin metrics calculated - Accounts: {0}, Listings: {1}, Bookings: {2}, Revenue: ${3}", 
-            new Object[]{totalAccounts, activeListings, totalBookings, monthlyRevenue});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Admin metrics calculated - Accounts: {0}, Listings: {1}, Bookings: {2}, Revenue: ${3}", 
+                new Object[]{totalAccounts, activeListings, totalBookings, monthlyRevenue});
+        }
 
         AdminMetricsResponse resp = new AdminMetricsResponse(totalAccounts, activeListings, totalBookings, monthlyRevenue, openIssues);
         return ResponseEntity.ok(resp);
@@ -1,7 +1,13 @@
 package gamerent.boundary;
 
+import gamerent.config.CurrentUser;
+import gamerent.config.PasswordHashingBusyException;
 import gamerent.data.User;
+import gamerent.service.PrincipalCache;
+import gamerent.service.TokenService;
 import gamerent.service.UserService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -33,20 +39,29 @@ public class AuthController {
     private static final String NOT_AUTHENTICATED_MSG = "Not authenticated";
 
     private final UserService userService;
+    private final TokenService tokenService;
+    private final PrincipalCache principalCache;
 
-    public AuthController(UserService userService) {
+    public AuthController(UserService userService, TokenService tokenService, PrincipalCache principalCache) {
         this.userService = userService;
+        this.tokenService = tokenService;
+        this.principalCache = principalCache;
     }
 
     @PostMapping("/register")
     public ResponseEntity<Object> register(@RequestBody User user) {
-        logger.log(Level.INFO, "Registration attempt received");
+        logger.log(Level.FINE, "Registration attempt received");
         if (userService.findByEmail(user.getEmail()).isPresent()) {
             logger.log(Level.WARNING, "Registration failed - email already in use");
             return ResponseEntity.badRequest().body("Email already in use");
         }
         user.setRole("USER");
-        User saved = userService.registerUser(user);
+        User saved;
+        try {
+            saved = userService.registerUser(user);
+        } catch (PasswordHashingBusyException e) {
+            return hashingBusy(e);
+        }
         logger.log(Level.INFO, "User registered successfully with ID: {0}", saved.getId());
 
         // Build response without password
@@ -63,14 +78,30 @@ public class AuthController {
     public ResponseEntity<Object> login(@RequestBody Map<String, String> loginData, HttpServletRequest request) {
         String email = loginData.get(EMAIL_KEY);
         String password = loginData.get("password");
-        logger.log(Level.INFO, "Login attempt received");
+        logger.log(Level.FINE, "Login attempt received");
         Optional<User> userOpt = userService.findByEmail(email);
-        if (userOpt.isEmpty() || !userService.checkPassword(userOpt.get(), password)) {
+        boolean valid;
+        try {
+            valid = userOpt.isPresent() && userService.checkPassword(userOpt.get(), password);
+        } catch (PasswordHashingBusyException e) {
+            return hashingBusy(e);
+        }
+        if (!valid) {
             logger.log(Level.WARNING, "Login failed - Invalid credentials");
             return ResponseEntity.status(401).body("Invalid credentials");
         }
         User user = userOpt.get();
-        logger.log(Level.INFO, "User logged in successfully (ID: {0}, Role: {1})", new Object[]{user.getId(), user.getRole()});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "User logged in successfully (ID: {0}, Role: {1})", new Object[]{user.getId(), user.getRole()});
+        }
+        if (tokenService.isEnabled()) {
+            // Stateless mode: the client sends the token back as "Authorization: Bearer ..."
+            TokenService.IssuedToken token = tokenService.issue(user);
+            Map<String, Object> response = userResponse(user);
+            response.put("token", token.token());
+            response.put("expiresAt", token.expiresAt().toString());
+            return ResponseEntity.ok(response);
+        }
         // Create an authenticated session so subsequent requests are authorized
         SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + (user.getRole() != null ? user.getRole() : "USER"));
         UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(user.getEmail(), null, java.util.List.of(authority));
@@ -84,42 +115,52 @@ public class AuthController {
         session.setAttribute(USER_ID_KEY, user.getId());
         session.setAttribute(USER_EMAIL_KEY, user.getEmail());
         session.setAttribute(USER_ROLE_KEY, user.getRole());
-        Map<String, Object> response = new HashMap<>();
-        response.put(ID_KEY, user.getId());
-        response.put(EMAIL_KEY, user.getEmail());
-        response.put(ROLE_KEY, user.getRole());
-        response.put(NAME_KEY, user.getName());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(userResponse(user));
     }
 
     @GetMapping("/me")
     public ResponseEntity<Object> me(HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
-        if (session == null) return ResponseEntity.status(401).body(NOT_AUTHENTICATED_MSG);
-        Object uid = session.getAttribute(USER_ID_KEY);
-        if (uid == null) return ResponseEntity.status(401).body(NOT_AUTHENTICATED_MSG);
-
-        User user = userService.findByEmail((String) session.getAttribute(USER_EMAIL_KEY)).orElse(null);
-        if (user == null) return ResponseEntity.status(401).body(NOT_AUTHENTICATED_MSG);
+        Object uid = CurrentUser.attribute(request, USER_ID_KEY);
+        if (!(uid instanceof Number number)) return ResponseEntity.status(401).body(NOT_AUTHENTICATED_MSG);
 
-        Map<String, Object> response = new HashMap<>();
-        response.put(ID_KEY, user.getId());
-        response.put(EMAIL_KEY, user.getEmail());
-        response.put(ROLE_KEY, user.getRole());
-        response.put(NAME_KEY, user.getName());
-        return ResponseEntity.ok(response);
+        // Served from the principal cache; a deleted account no longer resolves
+        return principalCache.get(number.longValue())
+            .<ResponseEntity<Object>>map(principal -> ResponseEntity.ok(userResponse(principal.toUser())))
+            .orElseGet(() -> ResponseEntity.status(401).body(NOT_AUTHENTICATED_MSG));
     }
 
     @PostMapping("/logout")
     public ResponseEntity<Object> logout(HttpServletRequest request) {
+        Object userId = CurrentUser.attribute(request, USER_ID_KEY);
+        Object userEmail = CurrentUser.attribute(request, USER_EMAIL_KEY);
         HttpSession session = request.getSession(false);
-        Object userId = session != null ? session.getAttribute(USER_ID_KEY) : null;
-        Object userEmail = session != null ? session.getAttribute(USER_EMAIL_KEY) : null;
         if (session != null) {
             session.invalidate();
         }
+        if (tokenService.isEnabled()) {
+            CurrentUser.bearerToken(request).flatMap(tokenService::verify).ifPresent(tokenService::revoke);
+        }
         SecurityContextHolder.clearContext();
-        logger.log(Level.INFO, "User logged out: {0} (ID: {1})", new Object[]{userEmail, userId});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "User logged out: {0} (ID: {1})", new Object[]{userEmail, userId});
+        }
         return ResponseEntity.ok(Map.of("message", "Logged out"));
     }
+
+    private static Map<String, Object> userResponse(User user) {
+        Map<String, Object> response = new HashMap<>();
+        response.put(ID_KEY, user.getId());
+        response.put(EMAIL_KEY, user.getEmail());
+        response.put(ROLE_KEY, user.getRole());
+        response.put(NAME_KEY, user.getName());
+        return response;
+    }
+
+    // Hashing pool saturated: shed the attempt and let the client retry shortly
+    private static ResponseEntity<Object> hashingBusy(PasswordHashingBusyException e) {
+        logger.log(Level.WARNING, "Password hashing busy, request shed: {0}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body("Server busy, please retry");
+    }
 }
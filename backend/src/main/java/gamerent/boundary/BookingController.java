@@ -2,7 +2,12 @@ package gamerent.boundary;
 
 import gamerent.data.BookingRequest;
 import gamerent.data.BookingStatus;
+import gamerent.data.BookingSummaryView;
+import gamerent.config.ConcurrentUpdateException;
+import gamerent.service.BookingArchiveService;
 import gamerent.service.BookingService;
+import gamerent.config.CurrentUser;
+import org.springframework.data.domain.Page;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
@@ -19,21 +24,23 @@ public class BookingController {
     private static final Logger logger = Logger.getLogger(BookingController.class.getName());
     private static final String USER_ID_KEY = "userId";
     private final BookingService bookingService;
+    private final BookingArchiveService bookingArchiveService;
 
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, BookingArchiveService bookingArchiveService) {
         this.bookingService = bookingService;
+        this.bookingArchiveService = bookingArchiveService;
     }
 
     @PostMapping
     public BookingRequest createBooking(@RequestBody BookingRequest booking, HttpServletRequest request) {
         // Resolve current user from session if present
         Long userId = booking.getUserId();
-        Object uid = request.getSession(false) != null ? request.getSession(false).getAttribute(USER_ID_KEY) : null;
+        Object uid = CurrentUser.attribute(request, USER_ID_KEY);
         if (uid instanceof Long longValue) userId = longValue;
         else if (uid instanceof Integer intValue) userId = intValue.longValue();
         if (userId == null) userId = booking.getUserId();
 
-        logger.log(Level.INFO, "Booking creation attempt for item ID: {0}", booking.getItemId());
+        logger.log(Level.FINE, "Booking creation attempt for item ID: {0}", booking.getItemId());
         try {
             BookingRequest created = bookingService.createBooking(booking.getItemId(), userId, booking.getStartDate(), booking.getEndDate());
             logger.log(Level.INFO, "Booking created successfully - ID: {0}, Total Price: {1}", 
@@ -45,48 +52,74 @@ public class BookingController {
     }
     
     @GetMapping
-    public List<BookingRequest> getBookingsByItem(@RequestParam(required = false) Long itemId) {
+    public List<BookingSummaryView> getBookingsByItem(@RequestParam(required = false) Long itemId) {
         if (itemId != null && itemId > 0) {
-            return bookingService.getItemBookings(itemId);
+            return bookingService.getItemBookingSummaries(itemId);
         }
         return List.of();
     }
     
     @GetMapping("/my-bookings")
-    public List<BookingRequest> getMyBookings(@RequestParam(required = false) Long userId, HttpServletRequest request) {
+    public List<BookingSummaryView> getMyBookings(@RequestParam(required = false) Long userId, HttpServletRequest request) {
         Long resolvedUserId = userId;
-        Object uid = request.getSession(false) != null ? request.getSession(false).getAttribute(USER_ID_KEY) : null;
+        Object uid = CurrentUser.attribute(request, USER_ID_KEY);
         if (uid instanceof Long longValue) resolvedUserId = longValue;
         else if (uid instanceof Integer intValue) resolvedUserId = intValue.longValue();
         if (resolvedUserId == null) resolvedUserId = 1L;
-        return bookingService.getUserBookings(resolvedUserId);
+        return bookingService.getUserBookingSummaries(resolvedUserId);
+    }
+    
+    // Archived bookings only; my-bookings keeps returning the live ones
+    @GetMapping("/history")
+    public Map<String, Object> getMyBookingHistory(@RequestParam(required = false) Long userId,
+                                                   @RequestParam(defaultValue = "0") int page,
+                                                   @RequestParam(defaultValue = "20") int pageSize,
+                                                   HttpServletRequest request) {
+        Long resolvedUserId = userId;
+        Object uid = CurrentUser.attribute(request, USER_ID_KEY);
+        if (uid instanceof Long longValue) resolvedUserId = longValue;
+        else if (uid instanceof Integer intValue) resolvedUserId = intValue.longValue();
+        if (resolvedUserId == null) resolvedUserId = 1L;
+        int safePageSize = Math.max(1, Math.min(pageSize, 50));
+        Page<BookingSummaryView> history = bookingArchiveService.getUserBookingHistory(resolvedUserId, page, safePageSize);
+        return Map.of(
+            "bookings", history.getContent(),
+            "page", history.getNumber(),
+            "pageSize", safePageSize,
+            "totalCount", history.getTotalElements(),
+            "totalPages", history.getTotalPages()
+        );
     }
     
     @GetMapping("/requests")
-    public List<BookingRequest> getIncomingRequests(@RequestParam(required = false) Long ownerId, HttpServletRequest request) {
+    public List<BookingSummaryView> getIncomingRequests(@RequestParam(required = false) Long ownerId, HttpServletRequest request) {
         Long resolvedOwnerId = ownerId;
-        Object uid = request.getSession(false) != null ? request.getSession(false).getAttribute(USER_ID_KEY) : null;
+        Object uid = CurrentUser.attribute(request, USER_ID_KEY);
         if (uid instanceof Long longValue) resolvedOwnerId = longValue;
         else if (uid instanceof Integer intValue) resolvedOwnerId = intValue.longValue();
         if (resolvedOwnerId == null) resolvedOwnerId = 1L;
-        return bookingService.getOwnerBookings(resolvedOwnerId);
+        return bookingService.getOwnerBookingSummaries(resolvedOwnerId);
     }
     
     @PutMapping("/{id}/status")
     public BookingRequest updateStatus(@PathVariable Long id, @RequestBody Map<String, String> payload, @RequestParam(required = false) Long ownerId, HttpServletRequest request) {
         BookingStatus status = BookingStatus.valueOf(payload.get("status"));
         Long resolvedOwnerId = ownerId;
-        Object uid = request.getSession(false) != null ? request.getSession(false).getAttribute(USER_ID_KEY) : null;
+        Object uid = CurrentUser.attribute(request, USER_ID_KEY);
         if (uid instanceof Long longValue) resolvedOwnerId = longValue;
         else if (uid instanceof Integer intValue) resolvedOwnerId = intValue.longValue();
         if (resolvedOwnerId == null) resolvedOwnerId = 1L;
-        logger.log(Level.INFO, "Booking status update attempt - Booking ID: {0}, New Status: {1}, Owner: {2}", 
-            new Object[]{id, status, resolvedOwnerId});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Booking status update attempt - Booking ID: {0}, New Status: {1}, Owner: {2}", 
+                new Object[]{id, status, resolvedOwnerId});
+        }
         try {
             BookingRequest updated = bookingService.updateStatus(id, status, resolvedOwnerId);
             logger.log(Level.INFO, "Booking status updated successfully - ID: {0}, Status: {1}", 
                 new Object[]{id, status});
             return updated;
+        } catch (ConcurrentUpdateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
         } catch (RuntimeException e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         }
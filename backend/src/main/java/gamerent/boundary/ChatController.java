@@ -6,8 +6,8 @@ import gamerent.boundary.dto.MessageRequest;
 import gamerent.boundary.dto.MessageResponse;
 import gamerent.config.UnauthorizedException;
 import gamerent.service.ChatService;
+import gamerent.config.CurrentUser;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpSession;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -34,7 +34,7 @@ public class ChatController {
     @PostMapping
     public ResponseEntity<Object> createOrGetChat(@RequestBody ChatRequest request, 
                                                    HttpServletRequest httpRequest) {
-        logger.log(Level.INFO, "Request to create or get chat for item {0}", request.getItemId());
+        logger.log(Level.FINE, "Request to create or get chat for item {0}", request.getItemId());
         
         Long userId = getUserIdFromSession(httpRequest);
         if (userId == null) {
@@ -64,7 +64,7 @@ public class ChatController {
      */
     @GetMapping
     public ResponseEntity<Object> getUserChats(HttpServletRequest request) {
-        logger.log(Level.INFO, "Request to get user chats");
+        logger.log(Level.FINE, "Request to get user chats");
         
         Long userId = getUserIdFromSession(request);
         if (userId == null) {
@@ -79,7 +79,7 @@ public class ChatController {
     @GetMapping("/{chatId}")
     public ResponseEntity<Object> getChat(@PathVariable Long chatId, 
                                           HttpServletRequest request) {
-        logger.log(Level.INFO, "Request to get chat {0}", chatId);
+        logger.log(Level.FINE, "Request to get chat {0}", chatId);
         
         Long userId = getUserIdFromSession(request);
         if (userId == null) {
@@ -106,7 +106,7 @@ public class ChatController {
     @GetMapping("/{chatId}/messages")
     public ResponseEntity<Object> getChatMessages(@PathVariable Long chatId, 
                                                    HttpServletRequest request) {
-        logger.log(Level.INFO, "Request to get messages for chat {0}", chatId);
+        logger.log(Level.FINE, "Request to get messages for chat {0}", chatId);
         
         Long userId = getUserIdFromSession(request);
         if (userId == null) {
@@ -135,7 +135,7 @@ public class ChatController {
     public ResponseEntity<Object> sendMessage(@PathVariable Long chatId,
                                                @RequestBody MessageRequest request,
                                                HttpServletRequest httpRequest) {
-        logger.log(Level.INFO, "Request to send message in chat {0}", chatId);
+        logger.log(Level.FINE, "Request to send message in chat {0}", chatId);
         
         Long userId = getUserIdFromSession(httpRequest);
         if (userId == null) {
@@ -169,7 +169,7 @@ public class ChatController {
     @PutMapping("/{chatId}/read")
     public ResponseEntity<Object> markMessagesAsRead(@PathVariable Long chatId,
                                                       HttpServletRequest request) {
-        logger.log(Level.INFO, "Request to mark messages as read in chat {0}", chatId);
+        logger.log(Level.FINE, "Request to mark messages as read in chat {0}", chatId);
         
         Long userId = getUserIdFromSession(request);
         if (userId == null) {
@@ -190,15 +190,11 @@ public class ChatController {
     }
 
     /**
-     * Extract user ID from HTTP session.
-     * Returns null if session doesn't exist or user is not authenticated.
+     * Extract user ID from the login session or bearer token.
+     * Returns null if the user is not authenticated.
      */
     private Long getUserIdFromSession(HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
-        if (session == null) {
-            return null;
-        }
-        Object userId = session.getAttribute(USER_ID_KEY);
+        Object userId = CurrentUser.attribute(request, USER_ID_KEY);
         return (userId instanceof Long l) ? l : null;
     }
 }
@@ -4,8 +4,10 @@ import gamerent.data.Dispute;
 import gamerent.data.DisputeReason;
 import gamerent.data.DisputeStatus;
 import gamerent.service.DisputeService;
+import gamerent.config.ConcurrentUpdateException;
 import gamerent.config.DisputeValidationException;
 import gamerent.config.UnauthorizedException;
+import gamerent.config.CurrentUser;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
@@ -50,12 +52,14 @@ public class DisputeController {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid dispute reason");
         }
 
-        logger.log(Level.INFO, "Dispute creation attempt - User: {0}, Booking: {1}, Reason: {2}", 
-            new Object[]{userId, bookingId, reason});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Dispute creation attempt - User: {0}, Booking: {1}, Reason: {2}", 
+                new Object[]{userId, bookingId, reason});
+        }
 
         try {
             Dispute dispute = disputeService.createDispute(userId, bookingId, reason, description, evidenceUrls);
-            logger.log(Level.INFO, "Dispute created successfully - ID: {0}", dispute.getId());
+            logger.log(Level.FINE, "Dispute created successfully - ID: {0}", dispute.getId());
             return dispute;
         } catch (NoSuchElementException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
@@ -126,24 +130,29 @@ public class DisputeController {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid dispute status");
         }
 
-        logger.log(Level.INFO, "Dispute status update attempt - ID: {0}, New Status: {1}, Role: {2}", 
-            new Object[]{id, status, userRole});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Dispute status update attempt - ID: {0}, New Status: {1}, Role: {2}", 
+                new Object[]{id, status, userRole});
+        }
 
         try {
             Dispute updated = disputeService.updateDisputeStatus(id, status, adminNotes, userRole);
-            logger.log(Level.INFO, "Dispute status updated successfully - ID: {0}, Status: {1}", 
-                new Object[]{id, status});
+            if (logger.isLoggable(Level.FINE)) {
+                logger.log(Level.FINE, "Dispute status updated successfully - ID: {0}, Status: {1}", 
+                    new Object[]{id, status});
+            }
             return updated;
         } catch (NoSuchElementException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
         } catch (UnauthorizedException e) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, e.getMessage());
+        } catch (ConcurrentUpdateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
         }
     }
 
     private Long resolveUserId(HttpServletRequest request, Map<String, Object> payload) {
-        Object uid = request.getSession(false) != null ? 
-            request.getSession(false).getAttribute(USER_ID_KEY) : null;
+        Object uid = CurrentUser.attribute(request, USER_ID_KEY);
         
         if (uid instanceof Long longValue) return longValue;
         if (uid instanceof Integer intValue) return intValue.longValue();
@@ -156,8 +165,7 @@ public class DisputeController {
     }
 
     private String resolveUserRole(HttpServletRequest request) {
-        Object role = request.getSession(false) != null ? 
-            request.getSession(false).getAttribute(USER_ROLE_KEY) : null;
+        Object role = CurrentUser.attribute(request, USER_ROLE_KEY);
         
         return role != null ? role.toString() : "RENTER";
     }
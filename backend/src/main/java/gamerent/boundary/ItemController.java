@@ -1,22 +1,33 @@
 package gamerent.boundary;
 
+import gamerent.config.ConcurrentUpdateException;
 import gamerent.data.Item;
+import gamerent.data.ItemCardView;
 import gamerent.data.User;
-import gamerent.data.UserRepository;
+import gamerent.service.CatalogResponseCache;
 import gamerent.service.ItemService;
+import gamerent.service.PrincipalCache;
+import gamerent.config.CurrentUser;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 
 @RestController
 @RequestMapping("/api/items")
 @CrossOrigin(origins = "*")
 public class ItemController {
     private final ItemService itemService;
-    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final CatalogResponseCache responseCache;
+    private final CacheControl cacheControl;
     private static final int DEFAULT_PAGE_SIZE = 10;
     private static final String USER_ID_KEY = "userId";
     private static final String ITEMS = "items";
@@ -24,34 +35,30 @@ public class ItemController {
     private static final String TOTALCOUNT = "totalCount";
     private static final String TOTALPAGES = "totalPages";
 
-    public ItemController(ItemService itemService, UserRepository userRepository) {
+    public ItemController(ItemService itemService, PrincipalCache principalCache, CatalogResponseCache responseCache,
+                          @Value("${app.cache.catalog.maxAgeSeconds:0}") long maxAgeSeconds) {
         this.itemService = itemService;
-        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.responseCache = responseCache;
+        // max-age 0 means clients always revalidate with If-None-Match
+        this.cacheControl = maxAgeSeconds > 0
+                ? CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic()
+                : CacheControl.noCache().cachePublic();
     }
 
     @GetMapping("/catalog")
-    public Map<String, Object> getCatalog(@RequestParam(required=false) String q, 
+    public ResponseEntity<Map<String, Object>> getCatalog(@RequestParam(required=false) String q, 
         @RequestParam(required=false) String category,
         @RequestParam(required=false) Boolean rentable,
-        @RequestParam(defaultValue = "0") int page) {
-        // If rentable filter requested, get full results and filter before paginating
-        List<Item> allResults = itemService.searchAllItemsByNameAndCategory(q, category);
-        if (rentable != null && rentable) {
-            allResults = allResults.stream().filter(i -> i.getAvailable() != null && i.getAvailable() && i.getPricePerDay() != null).toList();
+        @RequestParam(defaultValue = "0") int page,
+        WebRequest webRequest) {
+        String key = CatalogResponseCache.key("catalog", q, category, Boolean.TRUE.equals(rentable), page);
+        CatalogResponseCache.Entry<Map<String, Object>> entry = responseCache.getOrLoad(key,
+                () -> toCardPage(itemService.searchCatalogCards(q, category), rentable, page, DEFAULT_PAGE_SIZE));
+        if (webRequest.checkNotModified(entry.etag())) {
+            return null;
         }
-        int totalCount = allResults.size();
-        int totalPages = (totalCount + DEFAULT_PAGE_SIZE - 1) / DEFAULT_PAGE_SIZE;
-        int start = page * DEFAULT_PAGE_SIZE;
-        int end = Math.min(start + DEFAULT_PAGE_SIZE, totalCount);
-        List<Item> items = start >= totalCount ? List.of() : allResults.subList(start, end);
-        
-        return Map.of(
-            ITEMS, items,
-            "page", page,
-            PAGESIZE, DEFAULT_PAGE_SIZE,
-            TOTALCOUNT, totalCount,
-            TOTALPAGES, totalPages
-        );
+        return ResponseEntity.ok().eTag(entry.etag()).cacheControl(cacheControl).body(entry.body());
     }
 
     @GetMapping
@@ -72,24 +79,9 @@ public class ItemController {
                     TOTALPAGES, totalPages
             );
         }
-        List<Item> allItems = itemService.getAllItems();
-        if (rentable != null && rentable) {
-            allItems = allItems.stream().filter(i -> i.getAvailable() != null && i.getAvailable() && i.getPricePerDay() != null).toList();
-        }
+        List<ItemCardView> allItems = itemService.getAllItemCards();
         int safePageSize = pageSize <= 0 ? DEFAULT_PAGE_SIZE : pageSize;
-        int totalCount = allItems.size();
-        int totalPages = (totalCount + safePageSize - 1) / safePageSize;
-        int start = page * safePageSize;
-        int end = Math.min(start + safePageSize, totalCount);
-        List<Item> items = start >= totalCount ? List.of() : allItems.subList(start, end);
-        
-        return Map.of(
-            ITEMS, items,
-            "page", page,
-            PAGESIZE, safePageSize,
-            TOTALCOUNT, totalCount,
-            TOTALPAGES, totalPages
-        );
+        return toCardPage(allItems, rentable, page, safePageSize);
     }
     
     @GetMapping("/search")
@@ -98,32 +90,20 @@ public class ItemController {
         @RequestParam(required=false) String category,
         @RequestParam(required=false) Boolean rentable,
         @RequestParam(defaultValue = "0") int page) {
-        List<Item> allResults = itemService.searchItems(q, category);
-        if (rentable != null && rentable) {
-            allResults = allResults.stream().filter(i -> i.getAvailable() != null && i.getAvailable() && i.getPricePerDay() != null).toList();
-        }
-        int totalCount = allResults.size();
-        int totalPages = (totalCount + DEFAULT_PAGE_SIZE - 1) / DEFAULT_PAGE_SIZE;
-        int start = page * DEFAULT_PAGE_SIZE;
-        int end = Math.min(start + DEFAULT_PAGE_SIZE, totalCount);
-        List<Item> items = start >= totalCount ? List.of() : allResults.subList(start, end);
-        
-        return Map.of(
-            ITEMS, items,
-            "page", page,
-            PAGESIZE, DEFAULT_PAGE_SIZE,
-            TOTALCOUNT, totalCount,
-            TOTALPAGES, totalPages
-        );
+        List<ItemCardView> allResults = itemService.searchCatalogCards(q, category);
+        return toCardPage(allResults, rentable, page, DEFAULT_PAGE_SIZE);
     }
 
     @PostMapping
     public Item addItem(@RequestBody Item item, HttpServletRequest request) {
         Long ownerId = resolveOwnerId(request, null, true);
 
-        User owner = userRepository.findById(ownerId)
+        User owner = principalCache.get(ownerId)
+                .map(PrincipalCache.Principal::toUser)
                 .orElseThrow(() -> new RuntimeException("Owner not found. Ensure DataInitializer has run."));
-        return itemService.addItem(item, owner);
+        Item created = itemService.addItem(item, owner);
+        responseCache.invalidate();
+        return created;
     }
     
     @GetMapping("/my-items")
@@ -133,8 +113,13 @@ public class ItemController {
     }
     
     @GetMapping("/{id}")
-    public Item getItem(@PathVariable Long id) {
-        return itemService.getItem(id);
+    public ResponseEntity<Item> getItem(@PathVariable Long id, WebRequest webRequest) {
+        CatalogResponseCache.Entry<Item> entry = responseCache.getOrLoad(CatalogResponseCache.key("item", id),
+                () -> itemService.getItem(id));
+        if (webRequest.checkNotModified(entry.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(entry.etag()).cacheControl(cacheControl).body(entry.body());
     }
 
     @PutMapping("/{id}/settings")
@@ -146,14 +131,36 @@ public class ItemController {
 
         try {
             Item updated = itemService.updateItemSettings(id, ownerId, available, minRentalDays);
+            responseCache.invalidate();
             return Map.of("message", "Settings updated successfully", "item", updated);
+        } catch (ConcurrentUpdateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
         } catch (RuntimeException e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         }
     }
 
+    static Map<String, Object> toCardPage(List<ItemCardView> allResults, Boolean rentable, int page, int pageSize) {
+        if (rentable != null && rentable) {
+            allResults = allResults.stream().filter(i -> i.available() && i.pricePerDay() != null).toList();
+        }
+        int totalCount = allResults.size();
+        int totalPages = (totalCount + pageSize - 1) / pageSize;
+        int start = page * pageSize;
+        int end = Math.min(start + pageSize, totalCount);
+        List<ItemCardView> items = start >= totalCount || start < 0 ? List.of() : allResults.subList(start, end);
+
+        return Map.of(
+            ITEMS, items,
+            "page", page,
+            PAGESIZE, pageSize,
+            TOTALCOUNT, totalCount,
+            TOTALPAGES, totalPages
+        );
+    }
+
     private Long resolveOwnerId(HttpServletRequest request, Long defaultValue, boolean require) {
-        Object uid = request.getSession(false) != null ? request.getSession(false).getAttribute(USER_ID_KEY) : null;
+        Object uid = CurrentUser.attribute(request, USER_ID_KEY);
         if (uid == null) {
             if (require) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Not authenticated");
             return defaultValue;
@@ -3,6 +3,7 @@ package gamerent.boundary;
 import gamerent.data.BookingRequest;
 import gamerent.service.PaymentService;
 import gamerent.service.StripeCheckoutSession;
+import gamerent.config.CurrentUser;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
@@ -36,8 +37,10 @@ public class PaymentController {
                                                          HttpServletRequest request) {
         Long userId = resolveCurrentUserId(request);
         String baseUrl = resolveFrontendBaseUrl(request);
-        logger.log(Level.INFO, "Checkout session creation - User: {0}, Booking: {1}", 
-            new Object[]{userId, body.bookingId()});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Checkout session creation - User: {0}, Booking: {1}", 
+                new Object[]{userId, body.bookingId()});
+        }
         try {
             StripeCheckoutSession session = paymentService.createCheckoutSession(body.bookingId(), userId, baseUrl);
             logger.log(Level.INFO, "Checkout session created successfully - Booking: {0}, Session: {1}", 
@@ -51,8 +54,10 @@ public class PaymentController {
     @PostMapping("/confirm")
     public BookingRequest confirmPayment(@RequestBody ConfirmPaymentRequest body, HttpServletRequest request) {
         Long userId = resolveCurrentUserId(request);
-        logger.log(Level.INFO, "Payment confirmation attempt - User: {0}, Booking: {1}, Session: {2}", 
-            new Object[]{userId, body.bookingId(), body.sessionId()});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Payment confirmation attempt - User: {0}, Booking: {1}, Session: {2}", 
+                new Object[]{userId, body.bookingId(), body.sessionId()});
+        }
         try {
             BookingRequest confirmed = paymentService.confirmPayment(body.bookingId(), body.sessionId(), userId);
             logger.log(Level.INFO, "Payment confirmed successfully - Booking: {0}, Amount: {1}", 
@@ -64,7 +69,7 @@ public class PaymentController {
     }
 
     private Long resolveCurrentUserId(HttpServletRequest request) {
-        Object uid = request.getSession(false) != null ? request.getSession(false).getAttribute(USER_ID_KEY) : null;
+        Object uid = CurrentUser.attribute(request, USER_ID_KEY);
         if (uid instanceof Long longValue) return longValue;
         if (uid instanceof Integer intValue) return intValue.longValue();
         return null;
@@ -1,14 +1,18 @@
 package gamerent.boundary;
 
 import gamerent.data.Review;
+import gamerent.service.CatalogResponseCache;
 import gamerent.service.ReviewService;
 import gamerent.boundary.dto.ReviewResponse;
+import gamerent.config.CurrentUser;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpSession;
 import java.util.List;
 
 @RestController
@@ -18,16 +22,20 @@ public class ReviewController {
     private static final String USER_ID_KEY = "userId";
 
     private final ReviewService reviewService;
+    private final CatalogResponseCache responseCache;
 
-    public ReviewController(ReviewService reviewService) {
+    public ReviewController(ReviewService reviewService, CatalogResponseCache responseCache) {
         this.reviewService = reviewService;
+        this.responseCache = responseCache;
     }
 
     @PostMapping
     public Review addReview(@RequestBody Review review, HttpServletRequest request) {
         Long reviewerId = resolveUserId(request);
         try {
-            return reviewService.addReview(reviewerId, review);
+            Review saved = reviewService.addReview(reviewerId, review);
+            responseCache.invalidate();
+            return saved;
         } catch (RuntimeException e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         }
@@ -39,8 +47,13 @@ public class ReviewController {
     }
 
     @GetMapping("/item/{itemId}")
-    public List<ReviewResponse> getReviewsForItem(@PathVariable Long itemId) {
-        return reviewService.getReviewsForItem(itemId);
+    public ResponseEntity<List<ReviewResponse>> getReviewsForItem(@PathVariable Long itemId, WebRequest webRequest) {
+        CatalogResponseCache.Entry<List<ReviewResponse>> entry = responseCache.getOrLoad(
+                CatalogResponseCache.key("reviews", itemId), () -> reviewService.getReviewsForItem(itemId));
+        if (webRequest.checkNotModified(entry.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(entry.etag()).cacheControl(CacheControl.noCache().cachePublic()).body(entry.body());
     }
 
     @GetMapping("/user/{userId}")
@@ -49,11 +62,7 @@ public class ReviewController {
     }
 
     private Long resolveUserId(HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
-        if (session == null) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Not authenticated");
-        }
-        Object uid = session.getAttribute(USER_ID_KEY);
+        Object uid = CurrentUser.attribute(request, USER_ID_KEY);
         if (uid instanceof Long longValue) return longValue;
         if (uid instanceof Integer intValue) return intValue.longValue();
         throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Not authenticated");
@@ -0,0 +1,41 @@
+package gamerent.boundary;
+
+import gamerent.config.PaymentException;
+import gamerent.service.StripeWebhookService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+@RestController
+@RequestMapping("/api/payments/webhook")
+public class StripeWebhookController {
+    private static final Logger logger = Logger.getLogger(StripeWebhookController.class.getName());
+
+    private final StripeWebhookService webhookService;
+
+    public StripeWebhookController(StripeWebhookService webhookService) {
+        this.webhookService = webhookService;
+    }
+
+    /**
+     * Stripe retries anything other than 2xx, so duplicates and unhandled event
+     * types are acknowledged as well; only bad signatures and payloads are rejected.
+     */
+    @PostMapping
+    public ResponseEntity<Void> receive(@RequestBody String payload,
+                                        @RequestHeader(value = "Stripe-Signature", required = false) String signature) {
+        try {
+            StripeWebhookService.Outcome outcome = webhookService.ingest(payload, signature);
+            logger.log(Level.FINE, "Stripe webhook {0}", outcome);
+            return ResponseEntity.ok().build();
+        } catch (PaymentException e) {
+            logger.log(Level.WARNING, "Rejected Stripe webhook: {0}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+}
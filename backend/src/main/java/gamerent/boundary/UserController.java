@@ -2,10 +2,20 @@ package gamerent.boundary;
 
 import gamerent.boundary.dto.UserProfileResponse;
 import gamerent.data.User;
+import gamerent.data.UserAdminView;
 import gamerent.data.UserRepository;
+import gamerent.data.UserSummaryView;
+import gamerent.service.PrincipalCache;
 import gamerent.service.UserService;
+import gamerent.config.CurrentUser;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/users")
@@ -13,20 +23,49 @@ import java.util.List;
 public class UserController {
     private final UserRepository userRepository;
     private final UserService userService;
+    private final PrincipalCache principalCache;
 
-    public UserController(UserRepository userRepository, UserService userService) {
+    public UserController(UserRepository userRepository, UserService userService, PrincipalCache principalCache) {
         this.userRepository = userRepository;
         this.userService = userService;
+        this.principalCache = principalCache;
     }
 
+    // Resolves ids to names; there is deliberately no unfiltered listing here
     @GetMapping
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public List<UserSummaryView> getUsers(@RequestParam List<Long> ids) {
+        try {
+            return userService.getUserSummaries(ids);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping("/admin")
+    public ResponseEntity<Map<String, Object>> getUsersPage(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int pageSize,
+            HttpServletRequest request) {
+        Object role = CurrentUser.attribute(request, CurrentUser.USER_ROLE);
+        if (role == null || !"ADMIN".equals(role.toString())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        int safePageSize = Math.max(1, Math.min(pageSize, 50));
+        Page<UserAdminView> users = userService.getUsersPage(page, safePageSize);
+        return ResponseEntity.ok(Map.of(
+            "users", users.getContent(),
+            "page", users.getNumber(),
+            "pageSize", safePageSize,
+            "totalCount", users.getTotalElements(),
+            "totalPages", users.getTotalPages()
+        ));
     }
 
     @PostMapping
     public User addUser(@RequestBody User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        principalCache.invalidate(saved.getId());
+        return saved;
     }
 
     @GetMapping("/{id}/profile")
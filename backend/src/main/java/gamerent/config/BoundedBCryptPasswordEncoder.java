@@ -0,0 +1,104 @@
+package gamerent.config;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BCrypt encoder that hashes on a small dedicated pool instead of the request thread,
+ * so a login burst is capped at {@code threads} cores and cannot starve other traffic.
+ * Work beyond the queue, or still waiting after {@code maxWaitMillis}, is shed with
+ * {@link PasswordHashingBusyException}.
+ */
+public class BoundedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private final int strength;
+    private final long maxWaitMillis;
+    private final ThreadPoolExecutor pool;
+    private final AtomicLong shed = new AtomicLong();
+
+    public BoundedBCryptPasswordEncoder(int strength, int threads, int queueCapacity, long maxWaitMillis) {
+        super(strength);
+        this.strength = strength;
+        this.maxWaitMillis = Math.max(maxWaitMillis, 1);
+        int poolSize = Math.max(threads, 1);
+        this.pool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+            Thread.ofPlatform().name("bcrypt-", 0).daemon(true).factory(),
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return call(() -> super.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return call(() -> super.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * True when the hash was made with a different cost than the configured one,
+     * in either direction, so lowering the cost is applied on login as well.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7
+                || encodedPassword.charAt(0) != '$' || encodedPassword.charAt(3) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) != strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    public long getShed() {
+        return shed.get();
+    }
+
+    public int getQueued() {
+        return pool.getQueue().size();
+    }
+
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private <T> T call(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = pool.submit(task);
+        } catch (RejectedExecutionException e) {
+            shed.incrementAndGet();
+            throw new PasswordHashingBusyException("Password hashing queue is full");
+        }
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // A cancelled task that has not started yet is skipped by the pool, so shed work costs no CPU
+            future.cancel(false);
+            shed.incrementAndGet();
+            throw new PasswordHashingBusyException("Password hashing took longer than " + maxWaitMillis + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new PasswordHashingBusyException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
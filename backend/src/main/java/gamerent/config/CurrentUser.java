@@ -0,0 +1,40 @@
+package gamerent.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.HttpHeaders;
+
+import java.util.Optional;
+
+/**
+ * Looks up the caller's identity attributes ({@code userId}, {@code userEmail},
+ * {@code userRole}). A verified bearer token puts them on the request; a login
+ * session keeps them in the {@link HttpSession}. The request takes precedence.
+ */
+public final class CurrentUser {
+    public static final String USER_ID = "userId";
+    public static final String USER_EMAIL = "userEmail";
+    public static final String USER_ROLE = "userRole";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private CurrentUser() {
+    }
+
+    public static Object attribute(HttpServletRequest request, String name) {
+        Object value = request.getAttribute(name);
+        if (value != null) {
+            return value;
+        }
+        HttpSession session = request.getSession(false);
+        return session != null ? session.getAttribute(name) : null;
+    }
+
+    public static Optional<String> bearerToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return Optional.empty();
+        }
+        String token = header.substring(BEARER_PREFIX.length()).trim();
+        return token.isEmpty() ? Optional.empty() : Optional.of(token);
+    }
+}
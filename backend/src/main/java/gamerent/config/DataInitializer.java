@@ -3,14 +3,11 @@ package gamerent.config;
 import gamerent.data.User;
 import gamerent.data.UserRepository;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import gamerent.service.ItemService;
 import gamerent.data.ItemRepository;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 @Component
 public class DataInitializer implements CommandLineRunner {
@@ -18,8 +15,6 @@ public class DataInitializer implements CommandLineRunner {
     private final ItemService itemService;
     private final UserRepository userRepository;
     private final BCryptPasswordEncoder passwordEncoder;
-    private final JdbcTemplate jdbcTemplate;
-    private static final Logger logger = Logger.getLogger(DataInitializer.class.getName());
 
     @Value("${app.init.demoPassword:}")
     private String demoPassword;
@@ -27,17 +22,15 @@ public class DataInitializer implements CommandLineRunner {
     @Value("${app.init.adminPassword:}")
     private String adminPassword;
 
-    public DataInitializer(ItemRepository itemRepository, ItemService itemService, UserRepository userRepository, BCryptPasswordEncoder passwordEncoder, JdbcTemplate jdbcTemplate) {
+    public DataInitializer(ItemRepository itemRepository, ItemService itemService, UserRepository userRepository, BCryptPasswordEncoder passwordEncoder) {
         this.itemRepository = itemRepository;
         this.itemService = itemService;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
-        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Override
     public void run(String... args) {
-        ensureReviewConstraint();
         User demoUser;
         if (userRepository.count() == 0) {
             // Create two default users: a regular user and an admin
@@ -65,14 +58,4 @@ public class DataInitializer implements CommandLineRunner {
             itemService.populateFromIGDB(0, demoUser);
         }
     }
-
-    private void ensureReviewConstraint() {
-        try {
-            jdbcTemplate.execute("ALTER TABLE review DROP CONSTRAINT IF EXISTS review_target_type_check");
-            jdbcTemplate.execute("ALTER TABLE review ALTER COLUMN target_type TYPE VARCHAR(20)");
-            jdbcTemplate.execute("ALTER TABLE review ADD CONSTRAINT review_target_type_check CHECK (target_type IN ('ITEM','USER'))");
-        } catch (Exception e) {
-            logger.log(Level.WARNING, "Failed to adjust review constraint");
-        }
-    }
 }
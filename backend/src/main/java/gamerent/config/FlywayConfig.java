@@ -0,0 +1,20 @@
+package gamerent.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FlywayConfig {
+
+    // Test/e2e profiles only: start every run from an empty schema, as create-drop used to
+    @Bean
+    @ConditionalOnProperty(name = "app.flyway.cleanOnStart", havingValue = "true")
+    public FlywayMigrationStrategy cleanMigrateStrategy() {
+        return flyway -> {
+            flyway.clean();
+            flyway.migrate();
+        };
+    }
+}
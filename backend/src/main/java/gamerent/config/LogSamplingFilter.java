@@ -0,0 +1,87 @@
+package gamerent.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logback turbo filter that keeps one in N events at INFO and below for the
+ * configured logger categories; WARN and ERROR always pass. It runs before the
+ * logging event is built, so a dropped event costs a map lookup and an increment.
+ *
+ * Configured in logback-spring.xml with {@code <sample>category=N</sample>} entries or a
+ * comma-separated {@code <samples>} list; the longest matching category prefix wins.
+ */
+public class LogSamplingFilter extends TurboFilter {
+    private record Sample(String category, int rate, AtomicLong seen) {}
+
+    private static final Sample UNSAMPLED = new Sample("", 1, new AtomicLong());
+
+    private final List<Sample> samples = new ArrayList<>();
+    // Logger name -> matching sample, resolved once per logger
+    private final Map<String, Sample> byLogger = new ConcurrentHashMap<>();
+
+    public void setSamples(String specs) {
+        if (specs == null) {
+            return;
+        }
+        for (String spec : specs.split(",")) {
+            if (!spec.isBlank()) {
+                addSample(spec);
+            }
+        }
+    }
+
+    public void addSample(String spec) {
+        int eq = spec.lastIndexOf('=');
+        int rate;
+        try {
+            rate = eq > 0 ? Integer.parseInt(spec.substring(eq + 1).trim()) : 0;
+        } catch (NumberFormatException e) {
+            rate = 0;
+        }
+        if (rate < 1) {
+            addError("Invalid sample '" + spec + "', expected <category>=<N> with N >= 1");
+            return;
+        }
+        samples.add(new Sample(spec.substring(0, eq).trim(), rate, new AtomicLong()));
+        byLogger.clear();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format is null for isXxxEnabled() checks; only actual events are sampled
+        if (format == null || level == null || level.isGreaterOrEqual(Level.WARN) || samples.isEmpty()) {
+            return FilterReply.NEUTRAL;
+        }
+        // Disabled events are dropped by the level check anyway and must not advance the counter
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Sample sample = byLogger.computeIfAbsent(logger.getName(), this::resolve);
+        if (sample == UNSAMPLED) {
+            return FilterReply.NEUTRAL;
+        }
+        return sample.seen().getAndIncrement() % sample.rate() == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private Sample resolve(String loggerName) {
+        Sample best = UNSAMPLED;
+        for (Sample sample : samples) {
+            String category = sample.category();
+            boolean matches = loggerName.equals(category) || loggerName.startsWith(category + ".");
+            if (matches && category.length() > best.category().length()) {
+                best = sample;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,93 @@
+package gamerent.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client-address token bucket in front of the login endpoint, so one client
+ * cannot fill the password hashing pool. Each address may burst up to {@code burst}
+ * attempts and then gets {@code perMinute} attempts a minute; the rest are answered
+ * with 429 and a Retry-After. Only the most recent {@code maxClients} addresses are tracked.
+ */
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    private static final class Bucket {
+        double tokens;
+        long refilledAt;
+
+        Bucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+    }
+
+    private final double tokensPerNano;
+    private final int burst;
+    private final LongSupplier clock;
+    private final Map<String, Bucket> buckets;
+
+    public LoginRateLimitFilter(int perMinute, int burst, int maxClients) {
+        this(perMinute, burst, maxClients, System::nanoTime);
+    }
+
+    LoginRateLimitFilter(int perMinute, int burst, int maxClients, LongSupplier clock) {
+        this.tokensPerNano = Math.max(perMinute, 1) / (double) TimeUnit.MINUTES.toNanos(1);
+        this.burst = Math.max(burst, 1);
+        this.clock = clock;
+        this.buckets = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                return size() > maxClients;
+            }
+        });
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long waitSeconds = tryAcquire(request.getRemoteAddr());
+        if (waitSeconds > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(waitSeconds));
+            response.getWriter().write("Too many login attempts");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Take one attempt from the client's bucket. Returns 0 when allowed, otherwise
+     * the number of seconds until the next attempt would be.
+     */
+    long tryAcquire(String client) {
+        long now = clock.getAsLong();
+        synchronized (buckets) {
+            Bucket bucket = buckets.computeIfAbsent(client, k -> new Bucket(burst, now));
+            bucket.tokens = Math.min(burst, bucket.tokens + (now - bucket.refilledAt) * tokensPerNano);
+            bucket.refilledAt = now;
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            double missingNanos = (1 - bucket.tokens) / tokensPerNano;
+            return Math.max(1, (long) Math.ceil(missingNanos / TimeUnit.SECONDS.toNanos(1)));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package gamerent.config;
+
+import gamerent.service.CatalogResponseCache;
+import gamerent.service.PrincipalCache;
+import io.micrometer.core.aop.CountedAspect;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Application metrics on top of what Actuator already records (HTTP server/client
+ * requests, repository invocations, Hikari pool). Enables @Timed/@Counted on
+ * service methods and publishes the catalog response and principal cache counters
+ * and the password hashing pool's load.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public CountedAspect countedAspect(MeterRegistry registry) {
+        return new CountedAspect(registry);
+    }
+
+    // Hit rate = hits / (hits + misses) over gamerent.cache.requests
+    @Bean
+    public MeterBinder catalogCacheMetrics(CatalogResponseCache cache) {
+        return registry -> {
+            FunctionCounter.builder("gamerent.cache.requests", cache, CatalogResponseCache::getHits)
+                .tag("cache", "catalog").tag("result", "hit")
+                .description("Catalog response cache lookups")
+                .register(registry);
+            FunctionCounter.builder("gamerent.cache.requests", cache, CatalogResponseCache::getMisses)
+                .tag("cache", "catalog").tag("result", "miss")
+                .description("Catalog response cache lookups")
+                .register(registry);
+            Gauge.builder("gamerent.cache.size", cache, CatalogResponseCache::size)
+                .tag("cache", "catalog")
+                .description("Entries held by the catalog response cache")
+                .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder principalCacheMetrics(PrincipalCache cache) {
+        return registry -> {
+            FunctionCounter.builder("gamerent.cache.requests", cache, PrincipalCache::getHits)
+                .tag("cache", "principal").tag("result", "hit")
+                .description("Principal cache lookups")
+                .register(registry);
+            FunctionCounter.builder("gamerent.cache.requests", cache, PrincipalCache::getMisses)
+                .tag("cache", "principal").tag("result", "miss")
+                .description("Principal cache lookups")
+                .register(registry);
+            Gauge.builder("gamerent.cache.size", cache, PrincipalCache::size)
+                .tag("cache", "principal")
+                .description("Users held by the principal cache")
+                .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder passwordHashingMetrics(BoundedBCryptPasswordEncoder encoder) {
+        return registry -> {
+            FunctionCounter.builder("gamerent.auth.hashing.shed", encoder, BoundedBCryptPasswordEncoder::getShed)
+                .description("Logins and registrations rejected because the hashing pool was saturated")
+                .register(registry);
+            Gauge.builder("gamerent.auth.hashing.queued", encoder, BoundedBCryptPasswordEncoder::getQueued)
+                .description("Password hashes waiting for a hashing thread")
+                .register(registry);
+        };
+    }
+}
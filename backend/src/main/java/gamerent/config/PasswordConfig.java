@@ -1,13 +1,39 @@
 package gamerent.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.core.Ordered;
 
+/**
+ * Password hashing on a bounded pool with a configurable BCrypt cost (existing hashes
+ * are re-hashed on the next successful login when it changes), plus a per-address
+ * limit on login attempts.
+ */
 @Configuration
 public class PasswordConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public BoundedBCryptPasswordEncoder passwordEncoder(@Value("${app.security.bcrypt.cost:10}") int cost,
+                                                        @Value("${app.security.bcrypt.threads:0}") int threads,
+                                                        @Value("${app.security.bcrypt.queueCapacity:64}") int queueCapacity,
+                                                        @Value("${app.security.bcrypt.maxWaitMs:2000}") long maxWaitMs) {
+        // Default to half the cores so hashing never takes the whole machine
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedBCryptPasswordEncoder(cost, poolSize, queueCapacity, maxWaitMs);
+    }
+
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public FilterRegistrationBean<LoginRateLimitFilter> loginRateLimitFilter(
+            @Value("${app.security.login.perIpPerMinute:20}") int perMinute,
+            @Value("${app.security.login.burst:10}") int burst,
+            @Value("${app.security.login.maxTrackedClients:10000}") int maxClients) {
+        FilterRegistrationBean<LoginRateLimitFilter> registration =
+            new FilterRegistrationBean<>(new LoginRateLimitFilter(perMinute, burst, maxClients));
+        registration.addUrlPatterns("/api/auth/login");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        registration.setEnabled(perMinute > 0);
+        return registration;
     }
 }
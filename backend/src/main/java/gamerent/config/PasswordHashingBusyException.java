@@ -0,0 +1,11 @@
+package gamerent.config;
+
+/**
+ * Thrown when the password hashing pool is saturated and a login or registration
+ * is shed instead of queued; callers answer 429 so clients back off.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
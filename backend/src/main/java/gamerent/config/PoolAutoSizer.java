@@ -0,0 +1,112 @@
+package gamerent.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sizes the primary connection pool from the machine and from how long callers wait for a
+ * connection. The pool starts at {@code cores * 2 + 1}; after that, whenever callers waited
+ * longer than {@code targetWaitMs} on average since the last check and are still queueing,
+ * it grows by a quarter, and when nobody waited and at most half the connections are busy
+ * it gives one back. The size always stays within {@code minSize..maxSize}, which should
+ * leave room under the server's {@code max_connections} for every node.
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.pool.autoSize", havingValue = "true")
+public class PoolAutoSizer {
+    private static final Logger logger = Logger.getLogger(PoolAutoSizer.class.getName());
+
+    private final HikariDataSource pool;
+    private final MeterRegistry registry;
+    private final int minSize;
+    private final int maxSize;
+    private final double targetWaitMillis;
+    private long lastCount;
+    private double lastTotalMillis;
+
+    public PoolAutoSizer(DataSource dataSource,
+                         MeterRegistry registry,
+                         @Value("${app.datasource.pool.minSize:4}") int minSize,
+                         @Value("${app.datasource.pool.maxSize:40}") int maxSize,
+                         @Value("${app.datasource.pool.targetWaitMs:5}") double targetWaitMillis) throws SQLException {
+        this.pool = dataSource.unwrap(HikariDataSource.class);
+        this.registry = registry;
+        this.minSize = Math.max(minSize, 1);
+        this.maxSize = Math.max(maxSize, this.minSize);
+        this.targetWaitMillis = targetWaitMillis;
+
+        int initial = initialSize(Runtime.getRuntime().availableProcessors(), this.minSize, this.maxSize);
+        pool.setMaximumPoolSize(initial);
+        pool.setMinimumIdle(Math.min(pool.getMinimumIdle(), initial));
+        logger.log(Level.INFO, "Connection pool {0} sized to {1}", new Object[]{pool.getPoolName(), initial});
+    }
+
+    /**
+     * Starting size: about two connections per core, the usual sweet spot for Postgres
+     * where a connection is either on a core or waiting on I/O.
+     */
+    static int initialSize(int cores, int minSize, int maxSize) {
+        return clamp(cores * 2 + 1, minSize, maxSize);
+    }
+
+    static int nextSize(int current, double meanWaitMillis, int awaiting, int active,
+                        int minSize, int maxSize, double targetWaitMillis) {
+        if (meanWaitMillis > targetWaitMillis && (awaiting > 0 || active >= current)) {
+            return clamp(current + Math.max(1, current / 4), minSize, maxSize);
+        }
+        if (awaiting == 0 && meanWaitMillis <= targetWaitMillis / 2 && active <= current / 2) {
+            return clamp(current - 1, minSize, maxSize);
+        }
+        return clamp(current, minSize, maxSize);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.pool.resizeIntervalMs:30000}")
+    public void resize() {
+        HikariPoolMXBean stats = pool.getHikariPoolMXBean();
+        if (stats == null) {
+            return;
+        }
+        int current = pool.getMaximumPoolSize();
+        int awaiting = stats.getThreadsAwaitingConnection();
+        int next = nextSize(current, meanWaitSinceLastCheck(awaiting), awaiting,
+            stats.getActiveConnections(), minSize, maxSize, targetWaitMillis);
+        if (next != current) {
+            pool.setMaximumPoolSize(next);
+            if (logger.isLoggable(Level.INFO)) {
+                logger.log(Level.INFO, "Connection pool {0} resized from {1} to {2}",
+                    new Object[]{pool.getPoolName(), current, next});
+            }
+        }
+    }
+
+    // Mean of Hikari's connection acquire timer over the last interval; 0 when nothing was acquired.
+    // Pools Actuator does not instrument (behind the replica router) fall back to "is anyone queued".
+    private double meanWaitSinceLastCheck(int awaiting) {
+        Timer acquire = registry.find("hikaricp.connections.acquire").tag("pool", pool.getPoolName()).timer();
+        if (acquire == null) {
+            return awaiting > 0 ? targetWaitMillis * 2 : 0;
+        }
+        long count = acquire.count();
+        double totalMillis = acquire.totalTime(TimeUnit.MILLISECONDS);
+        double mean = count > lastCount ? (totalMillis - lastTotalMillis) / (count - lastCount) : 0;
+        lastCount = count;
+        lastTotalMillis = totalMillis;
+        return mean;
+    }
+
+    private static int clamp(int size, int minSize, int maxSize) {
+        return Math.max(minSize, Math.min(size, maxSize));
+    }
+}
@@ -0,0 +1,45 @@
+package gamerent.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Identifies the caller of the current request to {@link ReplicaRoutingDataSource}, which
+ * keeps a caller's reads on the primary for a while after it writes. The caller is the
+ * signed-in user, or the HTTP session for anonymous callers that have one; work outside
+ * a request has no caller and never sticks.
+ */
+public class ReplicaRoutingContext implements HandlerInterceptor {
+    private static final ThreadLocal<String> CALLER = new ThreadLocal<>();
+
+    static String caller() {
+        return CALLER.get();
+    }
+
+    static void setCaller(String caller) {
+        if (caller == null) {
+            CALLER.remove();
+        } else {
+            CALLER.set(caller);
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object userId = CurrentUser.attribute(request, CurrentUser.USER_ID);
+        HttpSession session = request.getSession(false);
+        if (userId != null) {
+            setCaller("user:" + userId);
+        } else if (session != null) {
+            setCaller("session:" + session.getId());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        CALLER.remove();
+    }
+}
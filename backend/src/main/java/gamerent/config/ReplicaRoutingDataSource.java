@@ -0,0 +1,170 @@
+package gamerent.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary.
+ * <p>
+ * A replica is only used while its replication lag, measured every
+ * {@code app.datasource.replicas.lagCheckMs}, stays under the configured limit. After a
+ * caller (see {@link ReplicaRoutingContext}) runs a read-write transaction, its reads stay
+ * on the primary for a while, so it sees its own writes even when the replicas lag.
+ * <p>
+ * The lookup key is decided when the first connection is taken, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}; otherwise the
+ * transaction's read-only flag is not known yet.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(ReplicaRoutingDataSource.class.getName());
+    static final String PRIMARY = "primary";
+
+    // Zero when the replica has replayed everything it received, otherwise the age of the last replayed commit
+    static final String LAG_QUERY = "SELECT COALESCE(CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END, 0)";
+
+    /**
+     * Replication lag of a replica in seconds; throws when the replica cannot be reached.
+     */
+    @FunctionalInterface
+    interface LagProbe {
+        double lagSeconds(DataSource replica) throws SQLException;
+    }
+
+    private final Map<String, DataSource> replicas;
+    private final LagProbe lagProbe;
+    private final double maxLagSeconds;
+    private final long stickyNanos;
+    private final LongSupplier clock;
+    private final Map<String, Long> stickyUntil;
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile List<String> usable;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration maxLag,
+                                    Duration stickyFor, int maxTrackedCallers) {
+        this(primary, replicas, ReplicaRoutingDataSource::queryLag, maxLag, stickyFor, maxTrackedCallers, System::nanoTime);
+    }
+
+    ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, LagProbe lagProbe, Duration maxLag,
+                             Duration stickyFor, int maxTrackedCallers, LongSupplier clock) {
+        this.lagProbe = lagProbe;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.stickyNanos = stickyFor.toNanos();
+        this.clock = clock;
+        this.stickyUntil = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxTrackedCallers;
+            }
+        });
+
+        Map<String, DataSource> keyed = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            keyed.put("replica-" + i, replicas.get(i));
+        }
+        this.replicas = Collections.unmodifiableMap(keyed);
+        // Until the first lag check, trust every replica
+        this.usable = List.copyOf(keyed.keySet());
+
+        Map<Object, Object> targets = new HashMap<>(keyed);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String caller = ReplicaRoutingContext.caller();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (caller != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                stickyUntil.put(caller, clock.getAsLong() + stickyNanos);
+            }
+            return PRIMARY;
+        }
+        if (caller != null && isSticky(caller)) {
+            return PRIMARY;
+        }
+        List<String> candidates = usable;
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    private boolean isSticky(String caller) {
+        Long until = stickyUntil.get(caller);
+        if (until == null) {
+            return false;
+        }
+        if (clock.getAsLong() - until < 0) {
+            return true;
+        }
+        stickyUntil.remove(caller);
+        return false;
+    }
+
+    /**
+     * Re-measures every replica's lag and keeps only those within the limit.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.lagCheckMs:5000}")
+    public void checkReplicaLag() {
+        List<String> healthy = new ArrayList<>();
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            try {
+                double lag = lagProbe.lagSeconds(replica.getValue());
+                if (lag <= maxLagSeconds) {
+                    healthy.add(replica.getKey());
+                } else if (logger.isLoggable(Level.FINE)) {
+                    logger.log(Level.FINE, "Replica {0} is {1}s behind, reads go elsewhere", new Object[]{replica.getKey(), lag});
+                }
+            } catch (SQLException e) {
+                logger.log(Level.WARNING, "Replica {0} unreachable: {1}", new Object[]{replica.getKey(), e.getMessage()});
+            }
+        }
+        if (!healthy.equals(usable)) {
+            logger.log(Level.INFO, "Replicas serving reads: {0} of {1}", new Object[]{healthy, replicas.keySet()});
+        }
+        usable = List.copyOf(healthy);
+    }
+
+    List<String> usableReplicas() {
+        return usable;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource dataSource : getResolvedDataSources().values()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static double queryLag(DataSource replica) throws SQLException {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+            return rs.next() ? rs.getDouble(1) : 0;
+        }
+    }
+}
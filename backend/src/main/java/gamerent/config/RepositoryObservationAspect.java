@@ -0,0 +1,54 @@
+package gamerent.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps every Spring Data repository call in an observation, so traces show
+ * how much of a request went to Postgres and through which query method.
+ */
+@Aspect
+public class RepositoryObservationAspect {
+    private final ObservationRegistry registry;
+    // Proxy class -> application repository interface name (ItemRepository, not CrudRepository)
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    public RepositoryObservationAspect(ObservationRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object observe(ProceedingJoinPoint pjp) throws Throwable {
+        String repository = repositoryNames.computeIfAbsent(pjp.getThis().getClass(), c -> resolveName(pjp.getThis()));
+        String method = pjp.getSignature().getName();
+        Observation observation = Observation.createNotStarted("gamerent.repository", registry)
+            .contextualName(repository + "." + method)
+            .lowCardinalityKeyValue("repository", repository)
+            .lowCardinalityKeyValue("method", method)
+            .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            return pjp.proceed();
+        } catch (Throwable t) {
+            observation.error(t);
+            throw t;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    private static String resolveName(Object proxy) {
+        for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(proxy)) {
+            if (type.getName().startsWith("gamerent.")) {
+                return type.getSimpleName();
+            }
+        }
+        return proxy.getClass().getSimpleName();
+    }
+}
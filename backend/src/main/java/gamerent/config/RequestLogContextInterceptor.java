@@ -0,0 +1,53 @@
+package gamerent.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Puts the caller and the booking/chat being addressed into the MDC for the
+ * duration of a request, so log lines from controllers, services and
+ * repositories can be correlated without repeating the ids in every message.
+ */
+public class RequestLogContextInterceptor implements HandlerInterceptor {
+    static final String USER_ID = "userId";
+    static final String BOOKING_ID = "bookingId";
+    static final String CHAT_ID = "chatId";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object userId = CurrentUser.attribute(request, USER_ID);
+        if (userId != null) {
+            MDC.put(USER_ID, userId.toString());
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, String> vars = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (vars != null && !vars.isEmpty()) {
+            putIfPresent(BOOKING_ID, vars.get(BOOKING_ID));
+            putIfPresent(CHAT_ID, vars.get(CHAT_ID));
+            // BookingController addresses bookings as /api/bookings/{id}
+            if (request.getRequestURI().startsWith("/api/bookings/")) {
+                putIfPresent(BOOKING_ID, vars.get("id"));
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        MDC.remove(USER_ID);
+        MDC.remove(BOOKING_ID);
+        MDC.remove(CHAT_ID);
+    }
+
+    private static void putIfPresent(String key, String value) {
+        if (value != null) {
+            MDC.put(key, value);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package gamerent.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache for the read-mostly {@code Item} and {@code User}
+ * entities, on Caffeine through JCache. Every region is created here with an explicit
+ * size and TTL, and Hibernate is told to fail rather than create an unbounded region
+ * for anything that is not listed.
+ * <p>
+ * The cache is local to each node; the TTL bounds how long a write made on another
+ * node can be served stale. Switch it off with {@code app.cache.hibernate.enabled=false}.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+    static final String ITEM_REGION = "item";
+    static final String USER_REGION = "user";
+    static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${app.cache.hibernate.item.maxEntries:50000}") long itemEntries,
+                                              @Value("${app.cache.hibernate.item.ttlSeconds:600}") long itemTtl,
+                                              @Value("${app.cache.hibernate.user.maxEntries:20000}") long userEntries,
+                                              @Value("${app.cache.hibernate.user.ttlSeconds:300}") long userTtl,
+                                              @Value("${app.cache.hibernate.query.maxEntries:5000}") long queryEntries,
+                                              @Value("${app.cache.hibernate.query.ttlSeconds:120}") long queryTtl) {
+        CaffeineCachingProvider provider = (CaffeineCachingProvider) Caching.getCachingProvider(
+            CaffeineCachingProvider.class.getName(), getClass().getClassLoader());
+        // The provider keys managers by class loader; a loader of our own gives every application
+        // context (tests start several) its own manager, with only the regions below
+        CacheManager manager = provider.getCacheManager(provider.getDefaultURI(), new ClassLoader(getClass().getClassLoader()) {});
+        manager.createCache(ITEM_REGION, region(itemEntries, itemTtl));
+        manager.createCache(USER_REGION, region(userEntries, userTtl));
+        manager.createCache(QUERY_RESULTS_REGION, region(queryEntries, queryTtl));
+        // Table timestamps decide whether a cached query result is still valid; evicting them would serve stale results
+        manager.createCache(UPDATE_TIMESTAMPS_REGION, new CaffeineConfiguration<>());
+        return manager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(CacheManager hibernateCacheManager,
+                                                          @Value("${app.cache.hibernate.enabled:true}") boolean enabled) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+            if (enabled) {
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+                properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+            }
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxEntries, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        config.setMaximumSize(OptionalLong.of(Math.max(maxEntries, 0)));
+        config.setExpireAfterWrite(OptionalLong.of(Duration.ofSeconds(Math.max(ttlSeconds, 0)).toNanos()));
+        config.setStatisticsEnabled(true);
+        return config;
+    }
+}
@@ -1,23 +1,41 @@
 package gamerent.config;
 
+import gamerent.service.TokenService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.config.Customizer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, TokenService tokenService,
+                                           @Value("${server.port:8080}") int serverPort,
+                                           @Value("${management.server.port:#{null}}") Integer managementPort) throws Exception {
+        // Metrics are scraped anonymously only on the internal management port, never on the public one
+        String[] publicActuator = managementPort != null && managementPort != serverPort
+            ? new String[] {"/actuator/health", "/actuator/prometheus"}
+            : new String[] {"/actuator/health"};
+        if (tokenService.isEnabled()) {
+            // Stateless: the bearer token is the only credential, nothing is kept between requests
+            http
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService), UsernamePasswordAuthenticationFilter.class);
+        }
         http
             .csrf(csrf -> csrf.disable())
             .cors(Customizer.withDefaults())
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/auth/**", "/", "/index.html", "/static/**", "/assets/**", "/favicon.ico", "/api/igdb/**").permitAll()
+                .requestMatchers(publicActuator).permitAll()
+                .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/payments/webhook").permitAll()
                 .requestMatchers("/api/items/my-items").authenticated()
                 .requestMatchers("/api/chats/**").authenticated()
                 .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/users/**").permitAll()
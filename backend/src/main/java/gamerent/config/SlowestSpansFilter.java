@@ -0,0 +1,69 @@
+package gamerent.config;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Load-testing aid: when a request carries {@code X-Debug-Slowest-Spans: N}, the
+ * response gets an {@code X-Slowest-Spans} header listing the N slowest spans that
+ * finished while it was handled, e.g. {@code gamerent.repository=12.4ms, ...}.
+ *
+ * The body is buffered so the header can be added after the handler has run;
+ * requests without the header pass straight through.
+ */
+public class SlowestSpansFilter extends OncePerRequestFilter {
+    static final String REQUEST_HEADER = "X-Debug-Slowest-Spans";
+    static final String RESPONSE_HEADER = "X-Slowest-Spans";
+    private static final int MAX_SPANS = 20;
+
+    private final Tracer tracer;
+    private final SlowestSpansRecorder recorder;
+
+    public SlowestSpansFilter(Tracer tracer, SlowestSpansRecorder recorder) {
+        this.tracer = tracer;
+        this.recorder = recorder;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String requested = request.getHeader(REQUEST_HEADER);
+        Span current = tracer.currentSpan();
+        if (requested == null || current == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        int limit = parseLimit(requested);
+        String traceId = current.context().traceId();
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        recorder.watch(traceId);
+        try {
+            chain.doFilter(request, buffered);
+        } finally {
+            List<SlowestSpansRecorder.SpanTiming> slowest = recorder.release(traceId, limit);
+            buffered.setHeader(RESPONSE_HEADER, slowest.stream()
+                .map(s -> String.format(Locale.ROOT, "%s=%.1fms", s.name(), s.durationNanos() / 1_000_000.0))
+                .collect(Collectors.joining(", ")));
+            buffered.copyBodyToResponse();
+        }
+    }
+
+    private static int parseLimit(String requested) {
+        try {
+            return Math.max(1, Math.min(MAX_SPANS, Integer.parseInt(requested.trim())));
+        } catch (NumberFormatException e) {
+            return 5;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package gamerent.config;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Span processor that keeps the finished spans of traces a caller has asked to
+ * watch (see {@link SlowestSpansFilter}). Traces that are not watched cost one
+ * map lookup per span, so it can stay registered in production.
+ */
+public class SlowestSpansRecorder implements SpanProcessor {
+
+    public record SpanTiming(String name, long durationNanos) {}
+
+    private final Map<String, Queue<SpanTiming>> watched = new ConcurrentHashMap<>();
+
+    public void watch(String traceId) {
+        watched.put(traceId, new ConcurrentLinkedQueue<>());
+    }
+
+    /** Stops watching {@code traceId} and returns its slowest {@code limit} finished spans. */
+    public List<SpanTiming> release(String traceId, int limit) {
+        Queue<SpanTiming> spans = watched.remove(traceId);
+        if (spans == null) {
+            return List.of();
+        }
+        List<SpanTiming> sorted = new ArrayList<>(spans);
+        sorted.sort(Comparator.comparingLong(SpanTiming::durationNanos).reversed());
+        return sorted.subList(0, Math.min(limit, sorted.size()));
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+        // Only finished spans carry a duration
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        Queue<SpanTiming> spans = watched.get(span.getSpanContext().getTraceId());
+        if (spans != null) {
+            spans.add(new SpanTiming(span.getName(), span.getLatencyNanos()));
+        }
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+}
@@ -0,0 +1,45 @@
+package gamerent.config;
+
+import gamerent.service.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authenticates requests carrying a valid bearer token and exposes the caller
+ * through {@link CurrentUser}. Requests without one (or with an invalid one)
+ * continue unauthenticated and are left to the authorization rules.
+ */
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private final TokenService tokenService;
+
+    public TokenAuthenticationFilter(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CurrentUser.bearerToken(request).flatMap(tokenService::verify).ifPresent(claims -> {
+            request.setAttribute(CurrentUser.USER_ID, claims.userId());
+            request.setAttribute(CurrentUser.USER_EMAIL, claims.email());
+            request.setAttribute(CurrentUser.USER_ROLE, claims.role());
+
+            SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + claims.role());
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(new UsernamePasswordAuthenticationToken(claims.email(), null, List.of(authority)));
+            SecurityContextHolder.setContext(context);
+        });
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,45 @@
+package gamerent.config;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import io.micrometer.tracing.Tracer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Spans for @Observed services and for every repository call. HTTP server and
+ * RestTemplate client spans (with W3C traceparent propagation) come from Boot's
+ * observation support; export goes over OTLP when an endpoint is configured.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry registry) {
+        return new ObservedAspect(registry);
+    }
+
+    @Bean
+    public RepositoryObservationAspect repositoryObservationAspect(ObservationRegistry registry) {
+        return new RepositoryObservationAspect(registry);
+    }
+
+    @Bean
+    public SlowestSpansRecorder slowestSpansRecorder() {
+        return new SlowestSpansRecorder();
+    }
+
+    // Runs inside the server observation filter, so the request's trace is already current
+    @Bean
+    @ConditionalOnProperty(name = "app.tracing.slowestSpansHeader", havingValue = "true")
+    public FilterRegistrationBean<SlowestSpansFilter> slowestSpansFilter(Tracer tracer, SlowestSpansRecorder recorder) {
+        FilterRegistrationBean<SlowestSpansFilter> registration =
+            new FilterRegistrationBean<>(new SlowestSpansFilter(tracer, recorder));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,101 @@
+package gamerent.data;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A booking moved out of {@code booking_request} once it could no longer change.
+ * Keeps the original id; rows are written by {@link BookingArchiveRepository#archiveEndedBefore}.
+ */
+@Entity
+@Immutable
+@Table(name = "booking_archive")
+public class BookingArchive {
+    @Id
+    private Long id;
+
+    private Long itemId;
+    private Long userId;
+
+    @Column(columnDefinition = "DATE")
+    private LocalDate startDate;
+
+    @Column(columnDefinition = "DATE")
+    private LocalDate endDate;
+
+    private Double totalPrice;
+
+    @Enumerated(EnumType.STRING)
+    private BookingStatus status;
+
+    @Enumerated(EnumType.STRING)
+    private PaymentStatus paymentStatus;
+
+    private String stripeCheckoutSessionId;
+    private String stripePaymentIntentId;
+
+    private LocalDateTime paidAt;
+    private LocalDateTime approvedAt;
+    private LocalDateTime paymentDueAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public Double getTotalPrice() {
+        return totalPrice;
+    }
+
+    public BookingStatus getStatus() {
+        return status;
+    }
+
+    public PaymentStatus getPaymentStatus() {
+        return paymentStatus;
+    }
+
+    public String getStripeCheckoutSessionId() {
+        return stripeCheckoutSessionId;
+    }
+
+    public String getStripePaymentIntentId() {
+        return stripePaymentIntentId;
+    }
+
+    public LocalDateTime getPaidAt() {
+        return paidAt;
+    }
+
+    public LocalDateTime getApprovedAt() {
+        return approvedAt;
+    }
+
+    public LocalDateTime getPaymentDueAt() {
+        return paymentDueAt;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
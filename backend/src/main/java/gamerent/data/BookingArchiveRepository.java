@@ -0,0 +1,49 @@
+package gamerent.data;
+
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public interface BookingArchiveRepository extends JpaRepository<BookingArchive, Long> {
+    String ARCHIVE_SUMMARY_SELECT = "SELECT new gamerent.data.BookingSummaryView(b.id, b.itemId, b.userId, " +
+           "b.startDate, b.endDate, b.totalPrice, b.status, b.paymentStatus, b.approvedAt, b.paymentDueAt, b.paidAt) " +
+           "FROM BookingArchive b ";
+
+    @Query(value = ARCHIVE_SUMMARY_SELECT + "WHERE b.userId = :userId ORDER BY b.endDate DESC, b.id DESC",
+           countQuery = "SELECT count(b) FROM BookingArchive b WHERE b.userId = :userId")
+    Page<BookingSummaryView> findSummariesByUserId(@Param("userId") Long userId, Pageable page);
+
+    /**
+     * Moves up to {@code limit} bookings that ended before {@code cutoff} and can no longer
+     * change (rejected, cancelled, or approved and paid) from booking_request to the archive,
+     * in one statement. Bookings with a dispute stay, since disputes are resolved against the
+     * live booking. Rows locked by a concurrent update are skipped. Returns the number moved.
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "booking_request"))
+    @Query(value = "WITH moved AS (" +
+           "DELETE FROM {h-schema}booking_request b WHERE b.id IN (" +
+           "SELECT r.id FROM {h-schema}booking_request r " +
+           "WHERE r.end_date < :cutoff " +
+           "AND (r.status IN ('REJECTED', 'CANCELLED') OR (r.status = 'APPROVED' AND r.payment_status = 'PAID')) " +
+           "AND NOT EXISTS (SELECT 1 FROM {h-schema}dispute d WHERE d.booking_id = r.id) " +
+           "ORDER BY r.id LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+           "RETURNING b.*) " +
+           "INSERT INTO {h-schema}booking_archive (id, item_id, user_id, start_date, end_date, total_price, status, " +
+           "payment_status, stripe_checkout_session_id, stripe_payment_intent_id, paid_at, approved_at, payment_due_at, archived_at) " +
+           "SELECT id, item_id, user_id, start_date, end_date, total_price, status, payment_status, " +
+           "stripe_checkout_session_id, stripe_payment_intent_id, paid_at, approved_at, payment_due_at, :now FROM moved",
+           nativeQuery = true)
+    int archiveEndedBefore(@Param("cutoff") LocalDate cutoff,
+                           @Param("now") LocalDateTime now,
+                           @Param("limit") int limit);
+}
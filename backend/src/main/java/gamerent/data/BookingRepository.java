@@ -1,10 +1,86 @@
 package gamerent.data;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<BookingRequest, Long> {
+    String BOOKING_SUMMARY_SELECT = "SELECT new gamerent.data.BookingSummaryView(b.id, b.itemId, b.userId, " +
+           "b.startDate, b.endDate, b.totalPrice, b.status, b.paymentStatus, b.approvedAt, b.paymentDueAt, b.paidAt) " +
+           "FROM BookingRequest b ";
+
     List<BookingRequest> findByItemId(Long itemId);
     List<BookingRequest> findByUserId(Long userId);
     List<BookingRequest> findByItemIdAndStatus(Long itemId, BookingStatus status);
+
+    // Booking list projections (no Stripe identifiers)
+    @Query(BOOKING_SUMMARY_SELECT + "WHERE b.itemId = :itemId ORDER BY b.id ASC")
+    List<BookingSummaryView> findSummariesByItemId(@Param("itemId") Long itemId);
+
+    @Query(BOOKING_SUMMARY_SELECT + "WHERE b.userId = :userId ORDER BY b.id ASC")
+    List<BookingSummaryView> findSummariesByUserId(@Param("userId") Long userId);
+
+    @Query(BOOKING_SUMMARY_SELECT + "WHERE b.itemId IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId) ORDER BY b.id ASC")
+    List<BookingSummaryView> findSummariesByOwnerId(@Param("ownerId") Long ownerId);
+
+    /**
+     * Cancels APPROVED bookings whose payment window has passed without payment.
+     * Bulk counterpart of the per-entity expiry done on read. VERSIONED bumps the @Version
+     * column, so a concurrent writer holding the old version fails its optimistic lock.
+     */
+    @Modifying
+    @Query("UPDATE VERSIONED BookingRequest b SET b.status = gamerent.data.BookingStatus.CANCELLED " +
+           "WHERE b.status = gamerent.data.BookingStatus.APPROVED " +
+           "AND (b.paymentStatus IS NULL OR b.paymentStatus <> gamerent.data.PaymentStatus.PAID) " +
+           "AND b.paymentDueAt < :now")
+    int cancelOverdueUnpaid(@Param("now") LocalDateTime now);
+
+    /**
+     * Keyset page of unpaid bookings that went through Stripe Checkout, for payment
+     * reconciliation. Pass the last id of the previous page; only the page size of
+     * {@code page} is used.
+     */
+    @Query("SELECT b FROM BookingRequest b WHERE b.id > :afterId " +
+           "AND b.stripeCheckoutSessionId IS NOT NULL " +
+           "AND b.paymentStatus = gamerent.data.PaymentStatus.UNPAID " +
+           "AND b.approvedAt >= :since ORDER BY b.id ASC")
+    List<BookingRequest> findUnpaidCheckoutsAfter(@Param("afterId") Long afterId,
+                                                  @Param("since") LocalDateTime since,
+                                                  Pageable page);
+
+    // Analytics export rows, live and archived bookings alike. Consume inside a transaction; the
+    // fetch size makes the driver read through a server-side cursor instead of loading everything.
+
+    /**
+     * id, item_id, category, owner_id, user_id, start_date, end_date, total_price, status,
+     * payment_status, approved_at, paid_at, archived
+     */
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+                 @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    @Query(value = "SELECT b.id, b.item_id, i.category, i.owner_id, b.user_id, b.start_date, b.end_date, b.total_price, " +
+           "b.status, b.payment_status, b.approved_at, b.paid_at, b.archived " +
+           "FROM (SELECT id, item_id, user_id, start_date, end_date, total_price, status, payment_status, approved_at, paid_at, " +
+           "false AS archived FROM {h-schema}booking_request " +
+           "UNION ALL SELECT id, item_id, user_id, start_date, end_date, total_price, status, payment_status, approved_at, paid_at, " +
+           "true FROM {h-schema}booking_archive) b " +
+           "LEFT JOIN {h-schema}item i ON i.id = b.item_id", nativeQuery = true)
+    Stream<Object[]> streamBookingsForExport();
+
+    /**
+     * booking_id, item_id, category, owner_id, user_id, amount, paid_at
+     */
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+                 @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    @Query(value = "SELECT b.id, b.item_id, i.category, i.owner_id, b.user_id, b.total_price, b.paid_at " +
+           "FROM (SELECT id, item_id, user_id, total_price, paid_at, payment_status FROM {h-schema}booking_request " +
+           "UNION ALL SELECT id, item_id, user_id, total_price, paid_at, payment_status FROM {h-schema}booking_archive) b " +
+           "LEFT JOIN {h-schema}item i ON i.id = b.item_id WHERE b.payment_status = 'PAID'", nativeQuery = true)
+    Stream<Object[]> streamPaymentsForExport();
 }
@@ -1,8 +1,13 @@
 package gamerent.data;
 
+import gamerent.event.DomainEvent;
 import jakarta.persistence.*;
+import org.springframework.data.domain.AfterDomainEventPublication;
+import org.springframework.data.domain.DomainEvents;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 public class BookingRequest {
@@ -35,6 +40,18 @@ public class BookingRequest {
     private LocalDateTime approvedAt;
     private LocalDateTime paymentDueAt;
 
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
+
+    // State changes since the last save, published as domain events by the repository
+    @Transient
+    private boolean created;
+    @Transient
+    private boolean approved;
+    @Transient
+    private boolean paid;
+
     public Long getId() {
         return id;
     }
@@ -75,6 +92,9 @@ public class BookingRequest {
         return status;
     }
     public void setStatus(BookingStatus status) {
+        if (id != null && status == BookingStatus.APPROVED && this.status != BookingStatus.APPROVED) {
+            approved = true;
+        }
         this.status = status;
     }
 
@@ -82,6 +102,9 @@ public class BookingRequest {
         return paymentStatus;
     }
     public void setPaymentStatus(PaymentStatus paymentStatus) {
+        if (id != null && paymentStatus == PaymentStatus.PAID && this.paymentStatus != PaymentStatus.PAID) {
+            paid = true;
+        }
         this.paymentStatus = paymentStatus;
     }
 
@@ -119,4 +142,38 @@ public class BookingRequest {
     public void setPaymentDueAt(LocalDateTime paymentDueAt) {
         this.paymentDueAt = paymentDueAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    @PostPersist
+    void onPersisted() {
+        created = true;
+    }
+
+    @DomainEvents
+    List<DomainEvent> domainEvents() {
+        List<DomainEvent> events = new ArrayList<>(2);
+        if (created) {
+            events.add(new DomainEvent.BookingCreated(id, itemId, userId, startDate, endDate, totalPrice));
+        }
+        if (approved) {
+            events.add(new DomainEvent.BookingApproved(id, itemId, userId, paymentDueAt));
+        }
+        if (paid) {
+            events.add(new DomainEvent.PaymentConfirmed(id, userId, totalPrice, stripePaymentIntentId, paidAt));
+        }
+        return events;
+    }
+
+    @AfterDomainEventPublication
+    void clearDomainEvents() {
+        created = false;
+        approved = false;
+        paid = false;
+    }
 }
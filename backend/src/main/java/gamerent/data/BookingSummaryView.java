@@ -0,0 +1,51 @@
+package gamerent.data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a booking for list endpoints.
+ * Leaves out the Stripe identifiers, which the booking lists never show.
+ */
+public record BookingSummaryView(
+        Long id,
+        Long itemId,
+        Long userId,
+        LocalDate startDate,
+        LocalDate endDate,
+        Double totalPrice,
+        BookingStatus status,
+        PaymentStatus paymentStatus,
+        LocalDateTime approvedAt,
+        LocalDateTime paymentDueAt,
+        LocalDateTime paidAt
+) {
+    /**
+     * The view as the overdue sweep will leave it: an APPROVED booking whose payment window
+     * passed unpaid reads as CANCELLED, even before the sweep has reached the row.
+     */
+    public BookingSummaryView expiredAsOf(LocalDateTime now) {
+        if (status != BookingStatus.APPROVED || paymentStatus == PaymentStatus.PAID
+                || paymentDueAt == null || !paymentDueAt.isBefore(now)) {
+            return this;
+        }
+        return new BookingSummaryView(id, itemId, userId, startDate, endDate, totalPrice,
+                BookingStatus.CANCELLED, paymentStatus, approvedAt, paymentDueAt, paidAt);
+    }
+
+    public static BookingSummaryView from(BookingRequest booking) {
+        return new BookingSummaryView(
+                booking.getId(),
+                booking.getItemId(),
+                booking.getUserId(),
+                booking.getStartDate(),
+                booking.getEndDate(),
+                booking.getTotalPrice(),
+                booking.getStatus(),
+                booking.getPaymentStatus(),
+                booking.getApprovedAt(),
+                booking.getPaymentDueAt(),
+                booking.getPaidAt()
+        );
+    }
+}
@@ -1,10 +1,16 @@
 package gamerent.data;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,4 +36,15 @@ public interface ChatRepository extends JpaRepository<Chat, Long> {
      * Find all chats where the user is the renter.
      */
     List<Chat> findByRenterIdOrderByUpdatedAtDesc(Long renterId);
+
+    /**
+     * Lock chats untouched since {@code cutoff} that still have hot messages, oldest first,
+     * for archival. Chats locked by another node are skipped; while a chat is locked, sending
+     * to it waits, because every send also updates the chat.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT c FROM Chat c WHERE c.updatedAt < :cutoff " +
+           "AND EXISTS (SELECT 1 FROM Message m WHERE m.chat = c) ORDER BY c.updatedAt ASC")
+    List<Chat> claimInactiveWithMessages(@Param("cutoff") LocalDateTime cutoff, Pageable page);
 }
@@ -1,7 +1,11 @@
 package gamerent.data;
 
+import gamerent.event.DomainEvent;
 import jakarta.persistence.*;
+import org.springframework.data.domain.AfterDomainEventPublication;
+import org.springframework.data.domain.DomainEvents;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Entity
 public class Dispute {
@@ -37,6 +41,13 @@ public class Dispute {
 
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
+
+    @Transient
+    private boolean created;
+
     // Constructors
     public Dispute() {
     }
@@ -131,4 +142,27 @@ public class Dispute {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    @PostPersist
+    void onPersisted() {
+        created = true;
+    }
+
+    @DomainEvents
+    List<DomainEvent> domainEvents() {
+        return created ? List.of(new DomainEvent.DisputeOpened(id, bookingId, reporterId, reason.name())) : List.of();
+    }
+
+    @AfterDomainEventPublication
+    void clearDomainEvents() {
+        created = false;
+    }
 }
@@ -1,9 +1,13 @@
 package gamerent.data;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface DisputeRepository extends JpaRepository<Dispute, Long> {
@@ -15,4 +19,14 @@ public interface DisputeRepository extends JpaRepository<Dispute, Long> {
     List<Dispute> findByStatus(DisputeStatus status);
     
     List<Dispute> findByReporterIdOrBookingIdIn(Long reporterId, List<Long> bookingIds);
+
+    /**
+     * Analytics export rows (id, booking_id, reporter_id, reason, status, created_at, updated_at),
+     * read through a server-side cursor. Consume inside a transaction.
+     */
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+                 @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    @Query(value = "SELECT d.id, d.booking_id, d.reporter_id, d.reason, d.status, d.created_at, d.updated_at " +
+           "FROM {h-schema}dispute d", nativeQuery = true)
+    Stream<Object[]> streamForExport();
 }
@@ -1,8 +1,12 @@
 package gamerent.data;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "item")
 public class Item {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -26,6 +30,11 @@ public class Item {
     @JoinColumn(name = "owner_id")
     private User owner;
 
+    // Optimistic lock; the column default keeps pre-existing rows loadable after ddl update
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
+
     public Item() {
     }
 
@@ -92,4 +101,11 @@ public class Item {
     public void setOwner(User owner) {
         this.owner = owner;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
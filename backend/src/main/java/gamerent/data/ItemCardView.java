@@ -0,0 +1,38 @@
+package gamerent.data;
+
+/**
+ * Read-only projection of an item as shown on catalog cards.
+ * Built directly by JPQL constructor expressions so the owner is joined for
+ * its id and name only, instead of loading and serializing the full User.
+ */
+public record ItemCardView(
+        Long id,
+        String name,
+        String category,
+        String imageUrl,
+        Double pricePerDay,
+        Boolean available,
+        Integer minRentalDays,
+        Long ownerId,
+        String ownerName
+) {
+    public ItemCardView {
+        available = available != null && available;
+        minRentalDays = minRentalDays == null ? 1 : minRentalDays;
+    }
+
+    public static ItemCardView from(Item item) {
+        User owner = item.getOwner();
+        return new ItemCardView(
+                item.getId(),
+                item.getName(),
+                item.getCategory(),
+                item.getImageUrl(),
+                item.getPricePerDay(),
+                item.getAvailable(),
+                item.getMinRentalDays(),
+                owner != null ? owner.getId() : null,
+                owner != null ? owner.getName() : null
+        );
+    }
+}
@@ -1,18 +1,34 @@
 package gamerent.data;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    String ITEM_CARD_SELECT = "SELECT new gamerent.data.ItemCardView(i.id, i.name, i.category, i.imageUrl, " +
+           "i.pricePerDay, i.available, i.minRentalDays, o.id, o.name) FROM Item i LEFT JOIN i.owner o ";
+
     List<Item> findByNameContainingIgnoreCase(String name);
     List<Item> findByCategoryIgnoreCase(String category);
     List<Item> findByNameContainingIgnoreCaseAndCategoryIgnoreCase(String name, String category);
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Item> findByOwnerId(Long ownerId);
     Page<Item> findByOwnerId(Long ownerId, Pageable pageable);
+
+    // Booking creation validates and prices against the row itself: the second-level copy may be stale
+    // when another node changed the item, so read past it and refresh it with what was read
+    @QueryHints({
+        @QueryHint(name = "jakarta.persistence.cache.retrieveMode", value = "BYPASS"),
+        @QueryHint(name = "jakarta.persistence.cache.storeMode", value = "REFRESH")
+    })
+    @Query("SELECT i FROM Item i WHERE i.id = :id")
+    Optional<Item> findForBookingById(@Param("id") Long id);
     
     // Fuzzy search using SQL LIKE with wildcards for partial matching
     @Query("SELECT i FROM Item i WHERE LOWER(i.name) LIKE LOWER(CONCAT('%', :query, '%')) ORDER BY i.name ASC")
@@ -21,4 +37,18 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     @Query("SELECT i FROM Item i WHERE LOWER(i.name) LIKE LOWER(CONCAT('%', :query, '%')) " +
            "AND LOWER(i.category) LIKE LOWER(CONCAT('%', :category, '%')) ORDER BY i.name ASC")
     List<Item> fuzzySearchByNameAndCategory(@Param("query") String query, @Param("category") String category);
+
+    // Catalog card projections: select only the card columns and the owner's id/name
+    @Query(ITEM_CARD_SELECT + "ORDER BY i.id ASC")
+    List<ItemCardView> findAllCards();
+
+    @Query(ITEM_CARD_SELECT + "WHERE LOWER(i.category) = LOWER(:category) ORDER BY i.id ASC")
+    List<ItemCardView> findCardsByCategory(@Param("category") String category);
+
+    @Query(ITEM_CARD_SELECT + "WHERE LOWER(i.name) LIKE LOWER(CONCAT('%', :query, '%')) ORDER BY i.name ASC")
+    List<ItemCardView> fuzzySearchCardsByName(@Param("query") String query);
+
+    @Query(ITEM_CARD_SELECT + "WHERE LOWER(i.name) LIKE LOWER(CONCAT('%', :query, '%')) " +
+           "AND LOWER(i.category) LIKE LOWER(CONCAT('%', :category, '%')) ORDER BY i.name ASC")
+    List<ItemCardView> fuzzySearchCardsByNameAndCategory(@Param("query") String query, @Param("category") String category);
 }
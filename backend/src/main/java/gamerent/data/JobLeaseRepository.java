@@ -0,0 +1,53 @@
+package gamerent.data;
+
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+
+/**
+ * Compare-and-set operations on job leases. Each statement is atomic on its own,
+ * so a lease can be taken or renewed without holding a transaction open.
+ */
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    /**
+     * Takes the lease if it is free, expired or already held by {@code owner}.
+     * Returns 1 when the caller holds the lease afterwards, 0 otherwise.
+     */
+    @Transactional
+    @Modifying
+    // Names the table it writes; otherwise Hibernate treats a native write as touching every cached entity
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "job_lease"))
+    @Query(value = "INSERT INTO {h-schema}job_lease AS l (name, owner, lease_until, cursor_id) " +
+           "VALUES (:name, :owner, :until, 0) " +
+           "ON CONFLICT (name) DO UPDATE SET owner = EXCLUDED.owner, lease_until = EXCLUDED.lease_until " +
+           "WHERE l.lease_until < :now OR l.owner = EXCLUDED.owner", nativeQuery = true)
+    int tryAcquire(@Param("name") String name,
+                   @Param("owner") String owner,
+                   @Param("now") LocalDateTime now,
+                   @Param("until") LocalDateTime until);
+
+    /**
+     * Extends the lease and records progress. Returns 0 if the lease was lost to another owner.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLease l SET l.leaseUntil = :until, l.cursorId = :cursorId WHERE l.name = :name AND l.owner = :owner")
+    int renew(@Param("name") String name,
+              @Param("owner") String owner,
+              @Param("until") LocalDateTime until,
+              @Param("cursorId") Long cursorId);
+
+    /**
+     * Gives the lease up and resets the cursor, marking the run as complete.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobLease l SET l.leaseUntil = :now, l.cursorId = 0 WHERE l.name = :name AND l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
@@ -1,7 +1,11 @@
 package gamerent.data;
 
+import gamerent.event.DomainEvent;
 import jakarta.persistence.*;
+import org.springframework.data.domain.AfterDomainEventPublication;
+import org.springframework.data.domain.DomainEvents;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Message entity representing individual messages within a chat.
@@ -30,6 +34,9 @@ public class Message {
     @Column(nullable = false)
     private Boolean isRead = false;
 
+    @Transient
+    private boolean created;
+
     public Message() {
         this.sentAt = LocalDateTime.now();
         this.isRead = false;
@@ -90,4 +97,19 @@ public class Message {
     public void setIsRead(Boolean isRead) {
         this.isRead = isRead;
     }
+
+    @PostPersist
+    void onPersisted() {
+        created = true;
+    }
+
+    @DomainEvents
+    List<DomainEvent> domainEvents() {
+        return created ? List.of(new DomainEvent.MessageSent(id, chat.getId(), sender.getId(), sentAt)) : List.of();
+    }
+
+    @AfterDomainEventPublication
+    void clearDomainEvents() {
+        created = false;
+    }
 }
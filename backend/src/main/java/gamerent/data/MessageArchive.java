@@ -0,0 +1,69 @@
+package gamerent.data;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import java.time.LocalDateTime;
+
+/**
+ * A batch of a chat's messages moved to cold storage, kept as one JSON array
+ * ({@code id}, {@code senderId}, {@code content}, {@code sentAt}, {@code isRead} per
+ * message, oldest first). Rows are written by {@link MessageArchiveRepository#archiveChat}
+ * and never change afterwards.
+ */
+@Entity
+@Immutable
+@Table(name = "message_archive")
+public class MessageArchive {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long chatId;
+
+    @Column(nullable = false)
+    private LocalDateTime firstSentAt;
+
+    @Column(nullable = false)
+    private LocalDateTime lastSentAt;
+
+    @Column(nullable = false)
+    private int messageCount;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false, columnDefinition = "jsonb")
+    private String messages;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getChatId() {
+        return chatId;
+    }
+
+    public LocalDateTime getFirstSentAt() {
+        return firstSentAt;
+    }
+
+    public LocalDateTime getLastSentAt() {
+        return lastSentAt;
+    }
+
+    public int getMessageCount() {
+        return messageCount;
+    }
+
+    public String getMessages() {
+        return messages;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
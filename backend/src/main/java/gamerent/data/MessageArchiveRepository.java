@@ -0,0 +1,33 @@
+package gamerent.data;
+
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface MessageArchiveRepository extends JpaRepository<MessageArchive, Long> {
+
+    List<MessageArchive> findByChatIdOrderByLastSentAtAsc(Long chatId);
+
+    Optional<MessageArchive> findFirstByChatIdOrderByLastSentAtDesc(Long chatId);
+
+    boolean existsByChatId(Long chatId);
+
+    /**
+     * Copies every hot message of the chat into one archive row; returns 0 when the
+     * chat has none. The caller deletes the hot rows in the same transaction.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "message_archive"))
+    @Query(value = "INSERT INTO {h-schema}message_archive (chat_id, first_sent_at, last_sent_at, message_count, messages, archived_at) " +
+           "SELECT m.chat_id, min(m.sent_at), max(m.sent_at), count(*), " +
+           "jsonb_agg(jsonb_build_object('id', m.id, 'senderId', m.sender_id, 'content', m.content, " +
+           "'sentAt', m.sent_at, 'isRead', m.is_read) ORDER BY m.sent_at, m.id), :now " +
+           "FROM {h-schema}message m WHERE m.chat_id = :chatId GROUP BY m.chat_id", nativeQuery = true)
+    int archiveChat(@Param("chatId") Long chatId, @Param("now") LocalDateTime now);
+}
@@ -1,8 +1,13 @@
 package gamerent.data;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Repository
@@ -16,4 +21,26 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
      * Count unread messages in a chat for a specific user.
      */
     Long countByChatIdAndIsReadFalseAndSenderIdNot(Long chatId, Long userId);
+
+    /**
+     * Delete the hot copies of a chat's messages once they are archived.
+     */
+    @Modifying
+    @Query("DELETE FROM Message m WHERE m.chat.id = :chatId")
+    int deleteByChatIdInBulk(@Param("chatId") Long chatId);
+
+    /**
+     * Create the monthly partitions of the message table covering both months; returns how many were new.
+     * Runs DDL, so unlike the other query methods it needs a read-write transaction.
+     */
+    @Transactional
+    @Query(value = "SELECT {h-schema}ensure_message_partitions(:fromMonth, :toMonth)", nativeQuery = true)
+    int ensurePartitions(@Param("fromMonth") LocalDate fromMonth, @Param("toMonth") LocalDate toMonth);
+
+    /**
+     * Drop the empty monthly partitions that end on or before the given month; returns how many were dropped.
+     */
+    @Transactional
+    @Query(value = "SELECT {h-schema}drop_empty_message_partitions(:beforeMonth)", nativeQuery = true)
+    int dropEmptyPartitions(@Param("beforeMonth") LocalDate beforeMonth);
 }
@@ -1,7 +1,11 @@
 package gamerent.data;
 
+import gamerent.event.DomainEvent;
 import jakarta.persistence.*;
+import org.springframework.data.domain.AfterDomainEventPublication;
+import org.springframework.data.domain.DomainEvents;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Entity
 public class Review {
@@ -24,6 +28,9 @@ public class Review {
 
     private LocalDateTime createdAt;
 
+    @Transient
+    private boolean created;
+
     @PrePersist
     public void onCreate() {
         if (createdAt == null) {
@@ -54,4 +61,19 @@ public class Review {
 
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    @PostPersist
+    void onPersisted() {
+        created = true;
+    }
+
+    @DomainEvents
+    List<DomainEvent> domainEvents() {
+        return created ? List.of(new DomainEvent.ReviewAdded(id, bookingId, targetType == null ? null : targetType.name(), targetId, rating)) : List.of();
+    }
+
+    @AfterDomainEventPublication
+    void clearDomainEvents() {
+        created = false;
+    }
 }
@@ -0,0 +1,46 @@
+package gamerent.data;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StripeWebhookEventRepository extends JpaRepository<StripeWebhookEvent, String> {
+
+    /**
+     * Stores the event unless one with the same id is already there.
+     * Returns 0 for a redelivery, 1 for a new event.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "stripe_webhook_event"))
+    @Query(value = "INSERT INTO {h-schema}stripe_webhook_event (event_id, event_type, session_id, booking_id, " +
+           "payment_intent_id, payment_status, payload, status, received_at) " +
+           "VALUES (:eventId, :eventType, :sessionId, :bookingId, :paymentIntentId, :paymentStatus, :payload, 'PENDING', :receivedAt) " +
+           "ON CONFLICT (event_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("eventId") String eventId,
+                       @Param("eventType") String eventType,
+                       @Param("sessionId") String sessionId,
+                       @Param("bookingId") Long bookingId,
+                       @Param("paymentIntentId") String paymentIntentId,
+                       @Param("paymentStatus") String paymentStatus,
+                       @Param("payload") String payload,
+                       @Param("receivedAt") LocalDateTime receivedAt);
+
+    /**
+     * Claims the oldest pending events for the current transaction. Rows locked by
+     * another worker are skipped rather than waited on, so workers drain disjoint batches.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM StripeWebhookEvent e WHERE e.status = gamerent.data.WebhookEventStatus.PENDING ORDER BY e.receivedAt ASC")
+    List<StripeWebhookEvent> claimPending(Pageable page);
+
+    long countByStatus(WebhookEventStatus status);
+}
@@ -1,8 +1,13 @@
 package gamerent.data;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 @Table(name = "\"user\"")
 public class User {
     @Id
@@ -14,6 +19,8 @@ public class User {
     @Column(unique = true)
     private String email;
     
+    // Accepted on register/login payloads, never written back out
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
     
     private String role; // RENTER, OWNER, ADMIN
@@ -0,0 +1,12 @@
+package gamerent.data;
+
+/**
+ * Row of the admin user listing: account identity and role, never the password hash.
+ */
+public record UserAdminView(
+        Long id,
+        String name,
+        String email,
+        String role
+) {
+}
@@ -1,8 +1,26 @@
 package gamerent.data;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Every login and registration looks the user up by email; served from the query cache until "user" changes
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<User> findByEmail(String email);
+
+    // Batch id -> name lookup, one query for the whole set
+    @Query("SELECT new gamerent.data.UserSummaryView(u.id, u.name) FROM User u WHERE u.id IN :ids ORDER BY u.id ASC")
+    List<UserSummaryView> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT new gamerent.data.UserAdminView(u.id, u.name, u.email, u.role) FROM User u ORDER BY u.id ASC",
+           countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserAdminView> findAdminViews(Pageable pageable);
 }
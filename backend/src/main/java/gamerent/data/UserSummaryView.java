@@ -0,0 +1,11 @@
+package gamerent.data;
+
+/**
+ * Public view of a user for resolving ids to display names (chat participants,
+ * reviewers, owners). Carries no email, role or password hash.
+ */
+public record UserSummaryView(
+        Long id,
+        String name
+) {
+}
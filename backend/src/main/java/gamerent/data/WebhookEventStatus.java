@@ -0,0 +1,7 @@
+package gamerent.data;
+
+public enum WebhookEventStatus {
+    PENDING,
+    PROCESSED,
+    IGNORED
+}
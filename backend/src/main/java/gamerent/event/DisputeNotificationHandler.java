@@ -0,0 +1,23 @@
+package gamerent.event;
+
+import org.springframework.stereotype.Component;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Notifies admins of newly opened disputes. Notification is a log line for now;
+ * it runs off the request path so a slower channel can replace it later.
+ */
+@Component
+public class DisputeNotificationHandler implements DomainEventHandler {
+    private static final Logger logger = Logger.getLogger(DisputeNotificationHandler.class.getName());
+
+    @Override
+    public void handle(DomainEvent event) {
+        if (event instanceof DomainEvent.DisputeOpened opened && logger.isLoggable(Level.INFO)) {
+            logger.log(Level.INFO, "ADMIN NOTIFICATION: New dispute submitted - ID: {0}, Booking: {1}, Reason: {2}",
+                new Object[]{opened.disputeId(), opened.bookingId(), opened.reason()});
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package gamerent.event;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Facts about state changes, raised by the entities when they are saved and
+ * recorded in the outbox in the same transaction. Each event carries the values
+ * consumers need, so handlers do not have to read the entity back.
+ */
+public sealed interface DomainEvent {
+
+    Long aggregateId();
+
+    default String type() {
+        return getClass().getSimpleName();
+    }
+
+    record BookingCreated(Long bookingId, Long itemId, Long renterId, LocalDate startDate, LocalDate endDate,
+                          Double totalPrice) implements DomainEvent {
+        public Long aggregateId() { return bookingId; }
+    }
+
+    record BookingApproved(Long bookingId, Long itemId, Long renterId, LocalDateTime paymentDueAt) implements DomainEvent {
+        public Long aggregateId() { return bookingId; }
+    }
+
+    record PaymentConfirmed(Long bookingId, Long renterId, Double amount, String paymentIntentId,
+                            LocalDateTime paidAt) implements DomainEvent {
+        public Long aggregateId() { return bookingId; }
+    }
+
+    record MessageSent(Long messageId, Long chatId, Long senderId, LocalDateTime sentAt) implements DomainEvent {
+        public Long aggregateId() { return chatId; }
+    }
+
+    record DisputeOpened(Long disputeId, Long bookingId, Long reporterId, String reason) implements DomainEvent {
+        public Long aggregateId() { return disputeId; }
+    }
+
+    record ReviewAdded(Long reviewId, Long bookingId, String targetType, Long targetId, Integer rating) implements DomainEvent {
+        public Long aggregateId() { return reviewId; }
+    }
+
+    /**
+     * Event classes by {@link #type()}, for reading events back from the outbox.
+     */
+    static Map<String, Class<? extends DomainEvent>> types() {
+        return Types.BY_NAME;
+    }
+
+    final class Types {
+        @SuppressWarnings("unchecked")
+        private static final Map<String, Class<? extends DomainEvent>> BY_NAME = Arrays.stream(DomainEvent.class.getPermittedSubclasses())
+                .map(c -> (Class<? extends DomainEvent>) c)
+                .collect(Collectors.toUnmodifiableMap(Class::getSimpleName, Function.identity()));
+
+        private Types() {
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package gamerent.event;
+
+/**
+ * Consumer of domain events delivered from the outbox. Delivery is at least once:
+ * an event is handed to every handler again if any of them failed on the last
+ * attempt, so implementations must tolerate repeats.
+ */
+public interface DomainEventHandler {
+
+    void handle(DomainEvent event);
+}
@@ -0,0 +1,22 @@
+package gamerent.event;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts delivered domain events by type.
+ */
+@Component
+public class DomainEventMetrics implements DomainEventHandler {
+
+    private final MeterRegistry meterRegistry;
+
+    public DomainEventMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void handle(DomainEvent event) {
+        meterRegistry.counter("gamerent.domain.events", "type", event.type()).increment();
+    }
+}
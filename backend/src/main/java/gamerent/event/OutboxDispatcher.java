@@ -0,0 +1,50 @@
+package gamerent.event;
+
+import gamerent.data.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Polls the outbox on a fixed delay and drains every due event, then prunes
+ * delivered events once they are past the retention window.
+ */
+@Component
+@ConditionalOnProperty(name = "app.events.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxDispatcher {
+    private static final Logger logger = Logger.getLogger(OutboxDispatcher.class.getName());
+
+    private final OutboxRelay relay;
+    private final OutboxEventRepository outboxRepository;
+    private final int batchSize;
+    private final int retentionDays;
+
+    public OutboxDispatcher(OutboxRelay relay,
+                            OutboxEventRepository outboxRepository,
+                            @Value("${app.events.dispatcher.batchSize:100}") int batchSize,
+                            @Value("${app.events.outbox.retentionDays:7}") int retentionDays) {
+        this.relay = relay;
+        this.outboxRepository = outboxRepository;
+        this.batchSize = Math.max(batchSize, 1);
+        this.retentionDays = Math.max(retentionDays, 1);
+    }
+
+    @Scheduled(fixedDelayString = "${app.events.dispatcher.pollMs:500}")
+    public void drain() {
+        int claimed;
+        do {
+            claimed = relay.dispatchBatch(batchSize);
+        } while (claimed == batchSize);
+    }
+
+    @Scheduled(cron = "${app.events.outbox.cleanupCron:0 30 3 * * *}")
+    public void prune() {
+        int removed = outboxRepository.deletePublishedBefore(LocalDateTime.now().minusDays(retentionDays));
+        logger.log(Level.INFO, "Pruned {0} delivered outbox events", removed);
+    }
+}
@@ -0,0 +1,86 @@
+package gamerent.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gamerent.data.OutboxEvent;
+import gamerent.data.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Delivers outbox events to the registered {@link DomainEventHandler}s. An event is
+ * marked published once every handler accepted it; otherwise it is retried later
+ * with exponential backoff, capped at {@code app.events.outbox.maxBackoffSeconds}.
+ */
+@Component
+public class OutboxRelay {
+    private static final Logger logger = Logger.getLogger(OutboxRelay.class.getName());
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final List<DomainEventHandler> handlers;
+    private final long maxBackoffSeconds;
+
+    public OutboxRelay(OutboxEventRepository outboxRepository,
+                       ObjectMapper objectMapper,
+                       List<DomainEventHandler> handlers,
+                       @Value("${app.events.outbox.maxBackoffSeconds:600}") long maxBackoffSeconds) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+        this.handlers = List.copyOf(handlers);
+        this.maxBackoffSeconds = Math.max(maxBackoffSeconds, 1);
+    }
+
+    /**
+     * Claims up to {@code batchSize} due events and delivers them.
+     * Returns the number of events claimed.
+     */
+    @Transactional
+    public int dispatchBatch(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> claimed = outboxRepository.claimDue(now, PageRequest.of(0, batchSize));
+        for (OutboxEvent row : claimed) {
+            try {
+                DomainEvent event = read(row);
+                for (DomainEventHandler handler : handlers) {
+                    handler.handle(event);
+                }
+                row.setPublishedAt(now);
+                row.setLastError(null);
+            } catch (IOException | RuntimeException e) {
+                scheduleRetry(row, e, now);
+            }
+        }
+        outboxRepository.saveAll(claimed);
+        return claimed.size();
+    }
+
+    private DomainEvent read(OutboxEvent row) throws IOException {
+        Class<? extends DomainEvent> type = DomainEvent.types().get(row.getEventType());
+        if (type == null) {
+            throw new IOException("Unknown event type " + row.getEventType());
+        }
+        return objectMapper.readValue(row.getPayload(), type);
+    }
+
+    private void scheduleRetry(OutboxEvent row, Exception cause, LocalDateTime now) {
+        int attempts = row.getAttempts() + 1;
+        long backoff = Math.min(1L << Math.min(attempts, 30), maxBackoffSeconds);
+        row.setAttempts(attempts);
+        row.setNextAttemptAt(now.plusSeconds(backoff));
+        String error = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        row.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        if (logger.isLoggable(Level.WARNING)) {
+            logger.log(Level.WARNING, "Delivery of outbox event {0} ({1}) failed, attempt {2}, retrying in {3}s: {4}",
+                new Object[]{row.getId(), row.getEventType(), attempts, backoff, cause.getMessage()});
+        }
+    }
+}
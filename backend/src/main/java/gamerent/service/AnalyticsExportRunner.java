@@ -0,0 +1,65 @@
+package gamerent.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Command-line export: started with {@code --app.export.datasets=bookings,payments,disputes},
+ * the application writes each dataset to {@code app.export.dir} and exits, e.g.
+ * {@code java -jar app.jar --spring.main.web-application-type=none --app.export.datasets=bookings --app.export.dir=/data}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.export.datasets")
+public class AnalyticsExportRunner implements ApplicationRunner {
+    private static final Logger logger = Logger.getLogger(AnalyticsExportRunner.class.getName());
+
+    private final AnalyticsExportService exportService;
+    private final ConfigurableApplicationContext context;
+    private final String datasets;
+    private final Path directory;
+    private final boolean exitWhenDone;
+
+    public AnalyticsExportRunner(AnalyticsExportService exportService,
+                                 ConfigurableApplicationContext context,
+                                 @Value("${app.export.datasets}") String datasets,
+                                 @Value("${app.export.dir:.}") String directory,
+                                 @Value("${app.export.exitWhenDone:true}") boolean exitWhenDone) {
+        this.exportService = exportService;
+        this.context = context;
+        this.datasets = datasets;
+        this.directory = Path.of(directory);
+        this.exitWhenDone = exitWhenDone;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Files.createDirectories(directory);
+        for (String name : datasets.split(",")) {
+            if (name.isBlank()) {
+                continue;
+            }
+            ExportDataset dataset = ExportDataset.fromName(name);
+            Path file = directory.resolve(dataset.fileName());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+                long rows = exportService.export(dataset, out);
+                logger.log(Level.INFO, "Wrote {0} rows to {1}", new Object[]{rows, file});
+            }
+        }
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+}
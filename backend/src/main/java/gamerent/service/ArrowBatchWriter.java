@@ -0,0 +1,150 @@
+package gamerent.service;
+
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Writes rows as an LZ4-compressed Arrow IPC stream, {@code batchRows} rows per record batch.
+ * Only one batch is held in memory at a time, and the allocator is capped, so the size of
+ * an export does not change the memory it needs.
+ */
+class ArrowBatchWriter implements AutoCloseable {
+    private static final long MAX_ALLOCATION = 256L * 1024 * 1024;
+
+    enum ColumnType { BIGINT, FLOAT8, TEXT, DATE, TIMESTAMP, BOOL }
+
+    record Column(String name, ColumnType type) {
+        static Column bigint(String name) { return new Column(name, ColumnType.BIGINT); }
+        static Column float8(String name) { return new Column(name, ColumnType.FLOAT8); }
+        static Column text(String name) { return new Column(name, ColumnType.TEXT); }
+        static Column date(String name) { return new Column(name, ColumnType.DATE); }
+        static Column timestamp(String name) { return new Column(name, ColumnType.TIMESTAMP); }
+        static Column bool(String name) { return new Column(name, ColumnType.BOOL); }
+
+        Field field() {
+            ArrowType arrowType = switch (type) {
+                case BIGINT -> new ArrowType.Int(64, true);
+                case FLOAT8 -> new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+                case TEXT -> ArrowType.Utf8.INSTANCE;
+                case DATE -> new ArrowType.Date(DateUnit.DAY);
+                case TIMESTAMP -> new ArrowType.Timestamp(TimeUnit.MICROSECOND, null);
+                case BOOL -> ArrowType.Bool.INSTANCE;
+            };
+            return Field.nullable(name, arrowType);
+        }
+    }
+
+    private final List<Column> columns;
+    private final int batchRows;
+    private final BufferAllocator allocator;
+    private final VectorSchemaRoot root;
+    private final ArrowStreamWriter writer;
+    private int rowsInBatch;
+    private long rows;
+
+    ArrowBatchWriter(List<Column> columns, OutputStream out, int batchRows) throws IOException {
+        this.columns = columns;
+        this.batchRows = Math.max(batchRows, 1);
+        this.allocator = new RootAllocator(MAX_ALLOCATION);
+        this.root = VectorSchemaRoot.create(new Schema(columns.stream().map(Column::field).toList()), allocator);
+        this.writer = new ArrowStreamWriter(root, new DictionaryProvider.MapDictionaryProvider(), Channels.newChannel(out),
+            IpcOption.DEFAULT, CommonsCompressionFactory.INSTANCE, CompressionUtil.CodecType.LZ4_FRAME);
+        writer.start();
+        root.allocateNew();
+    }
+
+    /** Appends one row; values are in column order, as returned by the export queries. */
+    void write(Object[] row) throws IOException {
+        for (int c = 0; c < columns.size(); c++) {
+            set(root.getVector(c), columns.get(c).type(), rowsInBatch, row[c]);
+        }
+        rowsInBatch++;
+        rows++;
+        if (rowsInBatch == batchRows) {
+            flushBatch();
+        }
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (rowsInBatch > 0) {
+                flushBatch();
+            }
+            writer.end();
+        } finally {
+            writer.close();
+            root.close();
+            allocator.close();
+        }
+    }
+
+    private void flushBatch() throws IOException {
+        root.setRowCount(rowsInBatch);
+        writer.writeBatch();
+        // Releases the written batch's buffers before the next one is filled
+        root.allocateNew();
+        rowsInBatch = 0;
+    }
+
+    private static void set(FieldVector vector, ColumnType type, int index, Object value) {
+        if (value == null) {
+            vector.setNull(index);
+            return;
+        }
+        switch (type) {
+            case BIGINT -> ((BigIntVector) vector).setSafe(index, ((Number) value).longValue());
+            case FLOAT8 -> ((Float8Vector) vector).setSafe(index, ((Number) value).doubleValue());
+            case TEXT -> ((VarCharVector) vector).setSafe(index, value.toString().getBytes(StandardCharsets.UTF_8));
+            case DATE -> ((DateDayVector) vector).setSafe(index, (int) toLocalDate(value).toEpochDay());
+            case TIMESTAMP -> ((TimeStampMicroVector) vector).setSafe(index, toEpochMicros(toLocalDateTime(value)));
+            case BOOL -> ((BitVector) vector).setSafe(index, Boolean.TRUE.equals(value) ? 1 : 0);
+        }
+    }
+
+    // Native queries hand back java.sql types; entity-style callers may pass java.time ones
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof java.sql.Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+
+    private static long toEpochMicros(LocalDateTime value) {
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1_000;
+    }
+}
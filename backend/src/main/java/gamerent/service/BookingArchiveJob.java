@@ -0,0 +1,21 @@
+package gamerent.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "app.bookings.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class BookingArchiveJob {
+
+    private final BookingArchiveService archiveService;
+
+    public BookingArchiveJob(BookingArchiveService archiveService) {
+        this.archiveService = archiveService;
+    }
+
+    @Scheduled(cron = "${app.bookings.archive.cron:0 45 4 * * *}")
+    public void run() {
+        archiveService.archiveEndedBookings();
+    }
+}
@@ -0,0 +1,62 @@
+package gamerent.service;
+
+import gamerent.data.BookingArchiveRepository;
+import gamerent.data.BookingSummaryView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps booking_request down to bookings that can still change. Bookings that ended more
+ * than {@code afterDays} ago and are rejected, cancelled or paid move to booking_archive,
+ * so availability checks and the booking lists only scan live rows; the archive is read
+ * through the paginated booking history.
+ */
+@Service
+public class BookingArchiveService {
+    private static final Logger logger = Logger.getLogger(BookingArchiveService.class.getName());
+
+    private final BookingArchiveRepository archiveRepository;
+    private final int afterDays;
+    private final int batchSize;
+
+    public BookingArchiveService(BookingArchiveRepository archiveRepository,
+                                 @Value("${app.bookings.archive.afterDays:180}") int afterDays,
+                                 @Value("${app.bookings.archive.batchSize:500}") int batchSize) {
+        this.archiveRepository = archiveRepository;
+        this.afterDays = Math.max(afterDays, 1);
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    /**
+     * Archive every eligible booking, one batch per statement. Returns the number archived.
+     */
+    public int archiveEndedBookings() {
+        LocalDate cutoff = LocalDate.now().minusDays(afterDays);
+        int archived = 0;
+        int moved;
+        do {
+            moved = archiveRepository.archiveEndedBefore(cutoff, LocalDateTime.now(), batchSize);
+            archived += moved;
+        } while (moved == batchSize);
+        if (archived > 0) {
+            logger.log(Level.INFO, "Archived {0} ended bookings", archived);
+        }
+        return archived;
+    }
+
+    /**
+     * Archived bookings of a renter, most recent rental first.
+     */
+    @Transactional(readOnly = true)
+    public Page<BookingSummaryView> getUserBookingHistory(Long userId, int page, int pageSize) {
+        return archiveRepository.findSummariesByUserId(userId, PageRequest.of(Math.max(page, 0), pageSize));
+    }
+}
@@ -0,0 +1,21 @@
+package gamerent.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "app.bookings.expiry.enabled", havingValue = "true", matchIfMissing = true)
+public class BookingExpiryJob {
+
+    private final BookingService bookingService;
+
+    public BookingExpiryJob(BookingService bookingService) {
+        this.bookingService = bookingService;
+    }
+
+    @Scheduled(fixedDelayString = "${app.bookings.expiry.pollMs:60000}")
+    public void run() {
+        bookingService.expireOverdueBookings();
+    }
+}
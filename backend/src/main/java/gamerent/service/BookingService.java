@@ -3,12 +3,17 @@ package gamerent.service;
 import gamerent.data.BookingRequest;
 import gamerent.data.BookingRepository;
 import gamerent.data.BookingStatus;
+import gamerent.data.BookingSummaryView;
 import gamerent.data.Item;
 import gamerent.data.ItemRepository;
 import gamerent.data.PaymentStatus;
 import gamerent.config.BookingValidationException;
 import gamerent.config.UnauthorizedException;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -19,6 +24,7 @@ import java.util.logging.Logger;
 import java.util.NoSuchElementException;
 
 @Service
+@Observed(name = "gamerent.service")
 public class BookingService {
     private static final Logger logger = Logger.getLogger(BookingService.class.getName());
     
@@ -30,10 +36,11 @@ public class BookingService {
         this.itemRepository = itemRepository;
     }
 
+    @Counted(value = "gamerent.bookings.created", description = "Booking requests submitted")
     public BookingRequest createBooking(Long itemId, Long userId, LocalDate start, LocalDate end) {
-        logger.log(Level.INFO, "Creating booking for item ID: {0}", itemId);
+        logger.log(Level.FINE, "Creating booking for item ID: {0}", itemId);
         
-        Item item = itemRepository.findById(itemId)
+        Item item = itemRepository.findForBookingById(itemId)
             .orElseThrow(() -> {
                 logger.log(Level.WARNING, "Booking creation failed - Item not found: {0}", itemId);
                 return new NoSuchElementException("Item not found");
@@ -46,8 +53,10 @@ public class BookingService {
         validateMinimalRentalPeriod(start, end, item);
 
         BookingRequest created = createAndSaveBooking(itemId, userId, start, end, item);
-        logger.log(Level.INFO, "Booking created successfully - ID: {0}, Price: ${1}", 
-            new Object[]{created.getId(), created.getTotalPrice()});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Booking created successfully - ID: {0}, Price: ${1}", 
+                new Object[]{created.getId(), created.getTotalPrice()});
+        }
         return created;
     }
 
@@ -78,7 +87,7 @@ public class BookingService {
         }
     }
 
-    private void validateDateRange(LocalDate start, LocalDate end, Long itemId) {
+    void validateDateRange(LocalDate start, LocalDate end, Long itemId) {
         List<BookingRequest> existing = bookingRepository.findByItemIdAndStatus(itemId, BookingStatus.APPROVED);
         for (BookingRequest b : existing) {
             if (isOverlapping(start, end, b.getStartDate(), b.getEndDate())) {
@@ -112,39 +121,45 @@ public class BookingService {
         return bookingRepository.save(request);
     }
     
+    @Counted(value = "gamerent.bookings.status.updates", description = "Owner approve/reject/cancel actions")
     public BookingRequest updateStatus(Long bookingId, BookingStatus status, Long ownerId) {
-        logger.log(Level.INFO, "Updating booking status - Booking: {0}, Status: {1}, Owner: {2}", 
-            new Object[]{bookingId, status, ownerId});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Updating booking status - Booking: {0}, Status: {1}, Owner: {2}", 
+                new Object[]{bookingId, status, ownerId});
+        }
         
-        BookingRequest booking = bookingRepository.findById(bookingId)
-            .orElseThrow(() -> {
-                logger.log(Level.WARNING, "Status update failed - Booking not found: {0}", bookingId);
-                return new NoSuchElementException("Booking not found");
-            });
+        // Re-read and re-validate on each attempt; a concurrent owner action bumps the version
+        return OptimisticRetry.run("Booking " + bookingId, () -> {
+            BookingRequest booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> {
+                    logger.log(Level.WARNING, "Status update failed - Booking not found: {0}", bookingId);
+                    return new NoSuchElementException("Booking not found");
+                });
             
-        Item item = itemRepository.findById(booking.getItemId())
-            .orElseThrow(() -> new NoSuchElementException("Item not found"));
+            Item item = itemRepository.findById(booking.getItemId())
+                .orElseThrow(() -> new NoSuchElementException("Item not found"));
             
-        if (!item.getOwner().getId().equals(ownerId)) {
-            throw new UnauthorizedException("Unauthorized: You are not the owner of this item");
-        }
+            if (!item.getOwner().getId().equals(ownerId)) {
+                throw new UnauthorizedException("Unauthorized: You are not the owner of this item");
+            }
         
-        // If transitioning to APPROVED for the first time, store approval + payment deadline
-        if (status == BookingStatus.APPROVED && booking.getStatus() != BookingStatus.APPROVED) {
-            LocalDateTime approvedAt = LocalDateTime.now();
-            booking.setApprovedAt(approvedAt);
-            booking.setPaymentDueAt(computePaymentDueAt(approvedAt));
-        }
+            // If transitioning to APPROVED for the first time, store approval + payment deadline
+            if (status == BookingStatus.APPROVED && booking.getStatus() != BookingStatus.APPROVED) {
+                LocalDateTime approvedAt = LocalDateTime.now();
+                booking.setApprovedAt(approvedAt);
+                booking.setPaymentDueAt(computePaymentDueAt(approvedAt));
+            }
 
-        booking.setStatus(status);
-        return bookingRepository.save(booking);
+            booking.setStatus(status);
+            return bookingRepository.save(booking);
+        });
     }
 
     /**
      * Payment window: until end of approval day, except if approval happens too close to midnight
      * (less than 60 minutes remaining), then extend to end of next day.
      */
-    private LocalDateTime computePaymentDueAt(LocalDateTime approvedAt) {
+    static LocalDateTime computePaymentDueAt(LocalDateTime approvedAt) {
         LocalDateTime endOfToday = approvedAt.toLocalDate().atTime(LocalTime.MAX);
         long minutesRemaining = java.time.Duration.between(approvedAt, endOfToday).toMinutes();
         if (minutesRemaining < 60) {
@@ -176,6 +191,40 @@ public class BookingService {
         return list;
     }
 
+    // Read-only: the overdue sweep runs in BookingExpiryJob, and rows it has not reached yet are shown as cancelled
+    @Transactional(readOnly = true)
+    public List<BookingSummaryView> getUserBookingSummaries(Long userId) {
+        return expiredAsOfNow(bookingRepository.findSummariesByUserId(userId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<BookingSummaryView> getItemBookingSummaries(Long itemId) {
+        return expiredAsOfNow(bookingRepository.findSummariesByItemId(itemId));
+    }
+
+    // Single query over the owner's items instead of one lookup per item
+    @Transactional(readOnly = true)
+    public List<BookingSummaryView> getOwnerBookingSummaries(Long ownerId) {
+        return expiredAsOfNow(bookingRepository.findSummariesByOwnerId(ownerId));
+    }
+
+    /**
+     * Cancels every APPROVED booking whose payment window has passed unpaid. Returns the number cancelled.
+     */
+    @Transactional
+    public int expireOverdueBookings() {
+        int cancelled = bookingRepository.cancelOverdueUnpaid(LocalDateTime.now());
+        if (cancelled > 0) {
+            logger.log(Level.INFO, "Cancelled {0} bookings with an expired payment window", cancelled);
+        }
+        return cancelled;
+    }
+
+    private static List<BookingSummaryView> expiredAsOfNow(List<BookingSummaryView> views) {
+        LocalDateTime now = LocalDateTime.now();
+        return views.stream().map(view -> view.expiredAsOf(now)).toList();
+    }
+
     /**
      * Auto-expire payment windows on read: if an APPROVED booking is still UNPAID and paymentDueAt is in the past,
      * flip it to CANCELLED so it doesn't linger forever.
@@ -189,12 +238,17 @@ public class BookingService {
             LocalDateTime dueAt = b.getPaymentDueAt();
             if (dueAt != null && now.isAfter(dueAt)) {
                 b.setStatus(BookingStatus.CANCELLED);
-                bookingRepository.save(b);
+                try {
+                    bookingRepository.save(b);
+                } catch (OptimisticLockingFailureException e) {
+                    // Someone else changed it first (e.g. it was just paid); their write wins
+                    logger.log(Level.FINE, "Skipped expiring booking {0}: concurrent update", b.getId());
+                }
             }
         }
     }
 
-    private boolean isOverlapping(LocalDate start1, LocalDate end1, LocalDate start2, LocalDate end2) {
+    static boolean isOverlapping(LocalDate start1, LocalDate end1, LocalDate start2, LocalDate end2) {
         return !start1.isAfter(end2) && !start2.isAfter(end1);
     }
 }
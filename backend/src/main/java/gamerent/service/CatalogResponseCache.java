@@ -0,0 +1,124 @@
+package gamerent.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-memory cache for the public catalog, item details and item review responses.
+ * Entries are keyed on normalized request parameters and stamped with the catalog
+ * generation, which is bumped on every item or review write. Each entry carries a weak
+ * ETag hashed from its serialized body, so it is the same on every node and survives
+ * reloads of unchanged data; unchanged responses are answered with 304 without touching
+ * the database or re-serializing the body.
+ */
+@Component
+public class CatalogResponseCache {
+
+    public record Entry<T>(T body, String etag, long generation, long createdAt) {}
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final Map<String, Entry<?>> entries;
+    private final long ttlMillis;
+    private final ObjectMapper objectMapper;
+
+    public CatalogResponseCache(@Value("${app.cache.catalog.maxEntries:500}") int maxEntries,
+                                @Value("${app.cache.catalog.ttlSeconds:30}") long ttlSeconds,
+                                ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.ttlMillis = Math.max(ttlSeconds, 0) * 1000L;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<?>> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Return the cached entry for the key, or load, stamp and cache a fresh one.
+     * Exceptions thrown by the loader are propagated and nothing is cached.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Entry<T> getOrLoad(String key, Supplier<T> loader) {
+        long currentGeneration = generation.get();
+        long now = System.currentTimeMillis();
+        Entry<?> cached = entries.get(key);
+        if (cached != null && cached.generation() == currentGeneration && now - cached.createdAt() < ttlMillis) {
+            hits.incrementAndGet();
+            return (Entry<T>) cached;
+        }
+        misses.incrementAndGet();
+        T body = loader.get();
+        Entry<T> fresh = new Entry<>(body, etag(body), currentGeneration, now);
+        if (ttlMillis > 0) {
+            entries.put(key, fresh);
+        }
+        return fresh;
+    }
+
+    // Weak: the hash is over our serialization of the body, not the exact bytes sent
+    private String etag(Object body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(body));
+            return "W/\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)) + "\"";
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot compute the ETag of a catalog response", e);
+        }
+    }
+
+    /**
+     * Drop every cached response. Called after any write that changes items or reviews.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Build a cache key from query parameters, normalized the same way the
+     * (case-insensitive) repository queries treat them.
+     */
+    public static String key(String scope, Object... params) {
+        StringBuilder sb = new StringBuilder(scope);
+        for (Object param : params) {
+            sb.append('|');
+            if (param instanceof String str) {
+                sb.append(str.toLowerCase(Locale.ROOT));
+            } else if (param != null) {
+                sb.append(param);
+            }
+        }
+        return sb.toString();
+    }
+}
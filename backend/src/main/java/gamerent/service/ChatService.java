@@ -4,10 +4,13 @@ import gamerent.boundary.dto.ChatResponse;
 import gamerent.boundary.dto.MessageResponse;
 import gamerent.config.UnauthorizedException;
 import gamerent.data.*;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.logging.Level;
@@ -18,6 +21,7 @@ import java.util.logging.Logger;
  * Implements business logic, validation, and authorization checks.
  */
 @Service
+@Observed(name = "gamerent.service")
 public class ChatService {
     private static final Logger logger = Logger.getLogger(ChatService.class.getName());
     private static final String CHAT_NOT_FOUND = "Chat not found";
@@ -26,13 +30,16 @@ public class ChatService {
     private final MessageRepository messageRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final MessageArchiveService messageArchiveService;
 
     public ChatService(ChatRepository chatRepository, MessageRepository messageRepository, 
-                      ItemRepository itemRepository, UserRepository userRepository) {
+                      ItemRepository itemRepository, UserRepository userRepository,
+                      MessageArchiveService messageArchiveService) {
         this.chatRepository = chatRepository;
         this.messageRepository = messageRepository;
         this.itemRepository = itemRepository;
         this.userRepository = userRepository;
+        this.messageArchiveService = messageArchiveService;
     }
 
     /**
@@ -47,9 +54,12 @@ public class ChatService {
      * @throws IllegalArgumentException if user tries to chat with themselves
      */
     @Transactional
+    @Counted(value = "gamerent.chats.opened", description = "Chats opened or resumed from an item page")
     public ChatResponse createOrGetChat(Long renterId, Long itemId, String initialMessage) {
-        logger.log(Level.INFO, "Creating or getting chat for renter {0} and item {1}", 
-                  new Object[]{renterId, itemId});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Creating or getting chat for renter {0} and item {1}", 
+                      new Object[]{renterId, itemId});
+        }
         
         // Validate item exists
         Item item = itemRepository.findById(itemId)
@@ -85,7 +95,7 @@ public class ChatService {
             messageRepository.save(message);
             chat.setUpdatedAt(LocalDateTime.now());
             chatRepository.save(chat);
-            logger.log(Level.INFO, "Sent initial message in chat {0}", chat.getId());
+            logger.log(Level.FINE, "Sent initial message in chat {0}", chat.getId());
         }
         
         return convertToChatResponse(chat, renterId);
@@ -100,15 +110,15 @@ public class ChatService {
      */
     @Transactional(readOnly = true)
     public List<ChatResponse> getUserChats(Long userId) {
-        logger.log(Level.INFO, "Retrieving chats for user {0}", userId);
+        logger.log(Level.FINE, "Retrieving chats for user {0}", userId);
         
         List<Chat> chats = chatRepository.findByUserId(userId);
         
         return chats.stream()
             .filter(chat -> {
-                // Only include chats that have at least one message
+                // Only include chats that have at least one message, hot or archived
                 List<Message> messages = messageRepository.findByChatIdOrderBySentAtAsc(chat.getId());
-                return !messages.isEmpty();
+                return !messages.isEmpty() || messageArchiveService.hasArchivedMessages(chat.getId());
             })
             .map(chat -> convertToChatResponse(chat, userId))
             .toList();
@@ -126,8 +136,10 @@ public class ChatService {
      */
     @Transactional(readOnly = true)
     public ChatResponse getChat(Long chatId, Long userId) {
-        logger.log(Level.INFO, "Retrieving chat {0} for user {1}", 
-                  new Object[]{chatId, userId});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Retrieving chat {0} for user {1}", 
+                      new Object[]{chatId, userId});
+        }
         Chat chat = chatRepository.findById(chatId)
             .orElseThrow(() -> new NoSuchElementException(CHAT_NOT_FOUND));        
         // Validate user is a participant
@@ -153,9 +165,12 @@ public class ChatService {
      * @throws IllegalArgumentException if content is empty
      */
     @Transactional
+    @Counted(value = "gamerent.chat.messages.sent", description = "Chat messages sent")
     public MessageResponse sendMessage(Long chatId, Long senderId, String content) {
-        logger.log(Level.INFO, "Sending message in chat {0} from user {1}", 
-                  new Object[]{chatId, senderId});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Sending message in chat {0} from user {1}", 
+                      new Object[]{chatId, senderId});
+        }
         
         // Validate content
         if (content == null || content.trim().isEmpty()) {
@@ -189,13 +204,13 @@ public class ChatService {
         chat.setUpdatedAt(LocalDateTime.now());
         chatRepository.save(chat);
         
-        logger.log(Level.INFO, "Message {0} sent successfully", savedMessage.getId());
+        logger.log(Level.FINE, "Message {0} sent successfully", savedMessage.getId());
         
         return convertToMessageResponse(savedMessage);
     }
 
     /**
-     * Get all messages in a chat.
+     * Get all messages in a chat, archived ones first.
      * Validates that the user is a participant.
      * 
      * @param chatId The ID of the chat
@@ -206,8 +221,10 @@ public class ChatService {
      */
     @Transactional(readOnly = true)
     public List<MessageResponse> getChatMessages(Long chatId, Long userId) {
-        logger.log(Level.INFO, "Retrieving messages for chat {0} by user {1}", 
-                  new Object[]{chatId, userId});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Retrieving messages for chat {0} by user {1}", 
+                      new Object[]{chatId, userId});
+        }
         
         // Validate chat exists
         Chat chat = chatRepository.findById(chatId)
@@ -220,11 +237,11 @@ public class ChatService {
             throw new UnauthorizedException("You are not a participant in this chat");
         }
         
-        List<Message> messages = messageRepository.findByChatIdOrderBySentAtAsc(chatId);
-        
-        return messages.stream()
+        List<MessageResponse> history = new ArrayList<>(messageArchiveService.getArchivedMessages(chat));
+        messageRepository.findByChatIdOrderBySentAtAsc(chatId).stream()
             .map(this::convertToMessageResponse)
-            .toList();
+            .forEach(history::add);
+        return history;
     }
 
     /**
@@ -237,8 +254,10 @@ public class ChatService {
      */
     @Transactional
     public void markMessagesAsRead(Long chatId, Long userId) {
-        logger.log(Level.INFO, "Marking messages as read in chat {0} for user {1}", 
-                  new Object[]{chatId, userId});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Marking messages as read in chat {0} for user {1}", 
+                      new Object[]{chatId, userId});
+        }
         
         // Validate chat exists and user is participant
         Chat chat = chatRepository.findById(chatId)
@@ -257,16 +276,17 @@ public class ChatService {
                 messageRepository.save(msg);
             });
         
-        logger.log(Level.INFO, "Messages marked as read in chat {0}", chatId);
+        logger.log(Level.FINE, "Messages marked as read in chat {0}", chatId);
     }
 
     /**
      * Convert Chat entity to ChatResponse DTO.
      */
-    private ChatResponse convertToChatResponse(Chat chat, Long currentUserId) {
+    ChatResponse convertToChatResponse(Chat chat, Long currentUserId) {
         List<Message> messages = messageRepository.findByChatIdOrderBySentAtAsc(chat.getId());
-        String lastMessage = messages.isEmpty() ? null : 
-            messages.get(messages.size() - 1).getContent();
+        String lastMessage = messages.isEmpty()
+            ? messageArchiveService.getLastArchivedContent(chat.getId()).orElse(null)
+            : messages.get(messages.size() - 1).getContent();
         
         Long unreadCount = messageRepository.countByChatIdAndIsReadFalseAndSenderIdNot(
             chat.getId(), currentUserId);
@@ -0,0 +1,85 @@
+package gamerent.service;
+
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Consecutive-failure circuit breaker for outbound calls.
+ * After {@code failureThreshold} failures in a row the breaker opens and rejects
+ * calls for {@code openMillis}; the first call after that is let through as a
+ * trial, and its outcome either closes the breaker again or re-opens it.
+ */
+final class CircuitBreaker {
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final Logger logger = Logger.getLogger(CircuitBreaker.class.getName());
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    CircuitBreaker(String name, int failureThreshold, long openMillis) {
+        this(name, failureThreshold, openMillis, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, int failureThreshold, long openMillis, LongSupplier clock) {
+        this.name = name;
+        this.failureThreshold = Math.max(failureThreshold, 1);
+        this.openNanos = Math.max(openMillis, 0) * 1_000_000L;
+        this.clock = clock;
+    }
+
+    /**
+     * Whether a call may proceed now. A caller that gets {@code true} must report
+     * the outcome through {@link #onSuccess()} or {@link #onFailure()}.
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            logger.log(Level.INFO, "Circuit {0} closed after successful trial call", name);
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                logger.log(Level.WARNING, "Circuit {0} opened after {1} consecutive failures",
+                    new Object[]{name, consecutiveFailures});
+            }
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+            trialInFlight = false;
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+}
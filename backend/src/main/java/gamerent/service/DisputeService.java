@@ -42,8 +42,10 @@ public class DisputeService {
 
     public Dispute createDispute(Long userId, Long bookingId, DisputeReason reason, 
                                  String description, String evidenceUrls) {
-        logger.log(Level.INFO, "Creating dispute - User: {0}, Booking: {1}, Reason: {2}", 
-            new Object[]{userId, bookingId, reason});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Creating dispute - User: {0}, Booking: {1}, Reason: {2}", 
+                new Object[]{userId, bookingId, reason});
+        }
 
         BookingRequest booking = bookingRepository.findById(bookingId)
             .orElseThrow(() -> new NoSuchElementException(BOOKING_NOT_FOUND));
@@ -56,8 +58,6 @@ public class DisputeService {
         Dispute dispute = new Dispute(bookingId, userId, reason, description, evidenceUrls);
         Dispute saved = disputeRepository.save(dispute);
         
-        notifyAdmin(saved);
-        
         logger.log(Level.INFO, "Dispute created successfully - ID: {0}", saved.getId());
         return saved;
     }
@@ -113,30 +113,28 @@ public class DisputeService {
         }
     }
 
-    private void notifyAdmin(Dispute dispute) {
-        logger.log(Level.INFO, "ADMIN NOTIFICATION: New dispute submitted - ID: {0}, Booking: {1}, Reason: {2}", 
-            new Object[]{dispute.getId(), dispute.getBookingId(), dispute.getReason()});
-    }
-
     public Dispute updateDisputeStatus(Long disputeId, DisputeStatus newStatus, 
                                       String adminNotes, String adminRole) {
         if (!ADMIN.equals(adminRole)) {
             throw new UnauthorizedException("Only admins can update dispute status");
         }
         
-        Dispute dispute = disputeRepository.findById(disputeId)
-            .orElseThrow(() -> new NoSuchElementException("Dispute not found"));
-        
-        dispute.setStatus(newStatus);
-        if (adminNotes != null) {
-            dispute.setAdminNotes(adminNotes);
-        }
-        dispute.setUpdatedAt(LocalDateTime.now());
+        Dispute saved = OptimisticRetry.run("Dispute " + disputeId, () -> {
+            Dispute dispute = disputeRepository.findById(disputeId)
+                .orElseThrow(() -> new NoSuchElementException("Dispute not found"));
+
+            dispute.setStatus(newStatus);
+            if (adminNotes != null) {
+                dispute.setAdminNotes(adminNotes);
+            }
+            dispute.setUpdatedAt(LocalDateTime.now());
+            return disputeRepository.save(dispute);
+        });
         
         logger.log(Level.INFO, "Dispute status updated - ID: {0}, New Status: {1}", 
             new Object[]{disputeId, newStatus});
         
-        return disputeRepository.save(dispute);
+        return saved;
     }
 
     public List<Dispute> getUserDisputes(Long userId, String userRole) {
@@ -0,0 +1,65 @@
+package gamerent.service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Tables offered by the analytics export, with the columns of each in query order.
+ */
+public enum ExportDataset {
+    BOOKINGS(List.of(
+        ArrowBatchWriter.Column.bigint("id"),
+        ArrowBatchWriter.Column.bigint("item_id"),
+        ArrowBatchWriter.Column.text("category"),
+        ArrowBatchWriter.Column.bigint("owner_id"),
+        ArrowBatchWriter.Column.bigint("user_id"),
+        ArrowBatchWriter.Column.date("start_date"),
+        ArrowBatchWriter.Column.date("end_date"),
+        ArrowBatchWriter.Column.float8("total_price"),
+        ArrowBatchWriter.Column.text("status"),
+        ArrowBatchWriter.Column.text("payment_status"),
+        ArrowBatchWriter.Column.timestamp("approved_at"),
+        ArrowBatchWriter.Column.timestamp("paid_at"),
+        ArrowBatchWriter.Column.bool("archived"))),
+    PAYMENTS(List.of(
+        ArrowBatchWriter.Column.bigint("booking_id"),
+        ArrowBatchWriter.Column.bigint("item_id"),
+        ArrowBatchWriter.Column.text("category"),
+        ArrowBatchWriter.Column.bigint("owner_id"),
+        ArrowBatchWriter.Column.bigint("user_id"),
+        ArrowBatchWriter.Column.float8("amount"),
+        ArrowBatchWriter.Column.timestamp("paid_at"))),
+    DISPUTES(List.of(
+        ArrowBatchWriter.Column.bigint("id"),
+        ArrowBatchWriter.Column.bigint("booking_id"),
+        ArrowBatchWriter.Column.bigint("reporter_id"),
+        ArrowBatchWriter.Column.text("reason"),
+        ArrowBatchWriter.Column.text("status"),
+        ArrowBatchWriter.Column.timestamp("created_at"),
+        ArrowBatchWriter.Column.timestamp("updated_at")));
+
+    private final List<ArrowBatchWriter.Column> columns;
+
+    ExportDataset(List<ArrowBatchWriter.Column> columns) {
+        this.columns = columns;
+    }
+
+    public List<ArrowBatchWriter.Column> columns() {
+        return columns;
+    }
+
+    /** File name used by the download and the CLI job, e.g. {@code bookings.arrows}. */
+    public String fileName() {
+        return name().toLowerCase(Locale.ROOT) + ".arrows";
+    }
+
+    public static ExportDataset fromName(String name) {
+        for (ExportDataset dataset : values()) {
+            if (dataset.name().equalsIgnoreCase(name.trim())) {
+                return dataset;
+            }
+        }
+        throw new NoSuchElementException("Unknown export dataset: " + name);
+    }
+}
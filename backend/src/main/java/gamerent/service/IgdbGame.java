@@ -0,0 +1,12 @@
+package gamerent.service;
+
+/**
+ * The fields of an IGDB game the catalog import uses. {@code coverUrl} is the raw
+ * protocol-relative IGDB URL and may be null.
+ */
+public record IgdbGame(
+        long id,
+        String name,
+        String coverUrl,
+        String summary
+) {}
@@ -0,0 +1,107 @@
+package gamerent.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader for IGDB array payloads. Only the fields the catalog import
+ * needs are pulled out of the token stream; everything else is skipped without
+ * being materialized, so a 500-game response never exists as a JsonNode tree.
+ * Entries without a name are dropped.
+ */
+final class IgdbPayloadReader {
+    private final JsonFactory factory;
+
+    IgdbPayloadReader(JsonFactory factory) {
+        this.factory = factory;
+    }
+
+    List<IgdbGame> readGames(String json) throws IOException {
+        List<IgdbGame> games = new ArrayList<>();
+        try (JsonParser parser = openArray(json)) {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                long id = 0;
+                String name = null;
+                String coverUrl = null;
+                String summary = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    switch (field) {
+                        case "id" -> id = parser.getValueAsLong();
+                        case "name" -> name = parser.getValueAsString();
+                        case "summary" -> summary = parser.getValueAsString();
+                        case "cover" -> coverUrl = readUrl(parser);
+                        default -> parser.skipChildren();
+                    }
+                }
+                if (name != null) {
+                    games.add(new IgdbGame(id, name, coverUrl, summary));
+                }
+            }
+        }
+        return games;
+    }
+
+    List<IgdbPlatform> readPlatforms(String json) throws IOException {
+        List<IgdbPlatform> platforms = new ArrayList<>();
+        try (JsonParser parser = openArray(json)) {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                long id = 0;
+                String name = null;
+                String logoUrl = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    switch (field) {
+                        case "id" -> id = parser.getValueAsLong();
+                        case "name" -> name = parser.getValueAsString();
+                        case "platform_logo" -> logoUrl = readUrl(parser);
+                        default -> parser.skipChildren();
+                    }
+                }
+                if (name != null) {
+                    platforms.add(new IgdbPlatform(id, name, logoUrl));
+                }
+            }
+        }
+        return platforms;
+    }
+
+    private JsonParser openArray(String json) throws IOException {
+        if (json == null) {
+            throw new IOException("Empty IGDB response");
+        }
+        JsonParser parser = factory.createParser(json);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            parser.close();
+            throw new JsonParseException(parser, "Expected a JSON array from IGDB");
+        }
+        return parser;
+    }
+
+    // Expanded references ({"url": ...}) carry the URL; bare ids and other shapes yield null
+    private static String readUrl(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        String url = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("url".equals(field)) {
+                url = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return url;
+    }
+}
@@ -0,0 +1,11 @@
+package gamerent.service;
+
+/**
+ * The fields of an IGDB platform the catalog import uses. {@code logoUrl} is the raw
+ * protocol-relative IGDB URL and may be null.
+ */
+public record IgdbPlatform(
+        long id,
+        String name,
+        String logoUrl
+) {}
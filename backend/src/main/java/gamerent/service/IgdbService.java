@@ -2,23 +2,39 @@ package gamerent.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.*;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
 @Service
+@Observed(name = "gamerent.igdb.client")
 public class IgdbService {
     private static final String GAMES_URL = "https://api.igdb.com/v4/games";
     private static final String PLATFORMS_URL = "https://api.igdb.com/v4/platforms";
     private static final Logger logger = Logger.getLogger(IgdbService.class.getName());
     private static final String PLATFORM_LOGOS_URL = "https://api.igdb.com/v4/platform_logos";
     private static final String PLATFORM_LOGO = "platform_logo";
+    private static final int DEGRADED_CACHE_SIZE = 200;
     
     @Value("${igdb.client-id}")
     private String clientId;
@@ -27,11 +43,54 @@ public class IgdbService {
     private String authToken;
     
     private final RestTemplate restTemplate;
+    private final ObjectMapper mapper;
+    private final IgdbPayloadReader payloadReader;
+    private final Semaphore bulkhead;
+    private final long bulkheadWaitMillis;
+    private final CircuitBreaker circuitBreaker;
+
+    // Last good answers, served when IGDB is slow, failing or the circuit is open
+    private final Map<String, String> lastSearchResults = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > DEGRADED_CACHE_SIZE;
+            }
+        });
+    private volatile List<IgdbGame> lastPopularGames = Collections.emptyList();
+    private volatile List<IgdbPlatform> lastPopularPlatforms = Collections.emptyList();
+
+    IgdbService(RestTemplateBuilder builder) {
+        this(builder, new ObjectMapper(), 2000, 5000, 8, 250, 5, 30000);
+    }
+
+    @Autowired
+    public IgdbService(RestTemplateBuilder builder,
+                       ObjectMapper mapper,
+                       @Value("${igdb.http.connectTimeoutMs:2000}") long connectTimeoutMs,
+                       @Value("${igdb.http.readTimeoutMs:5000}") long readTimeoutMs,
+                       @Value("${igdb.bulkhead.maxConcurrent:8}") int maxConcurrent,
+                       @Value("${igdb.bulkhead.maxWaitMs:250}") long maxWaitMs,
+                       @Value("${igdb.circuit.failureThreshold:5}") int failureThreshold,
+                       @Value("${igdb.circuit.openMs:30000}") long openMs) {
+        // One JDK client per service: it keeps its own keep-alive connection pool,
+        // unlike the SimpleClientHttpRequestFactory default that RestTemplate falls back to
+        HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+            .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
 
-    public IgdbService(RestTemplateBuilder builder) {
         this.restTemplate = builder.build();
+        this.restTemplate.setRequestFactory(requestFactory);
+        this.mapper = mapper;
+        this.payloadReader = new IgdbPayloadReader(mapper.getFactory());
+        this.bulkhead = new Semaphore(Math.max(maxConcurrent, 1));
+        this.bulkheadWaitMillis = Math.max(maxWaitMs, 0);
+        this.circuitBreaker = new CircuitBreaker("igdb", failureThreshold, openMs);
     }
 
+    @Timed(value = "gamerent.igdb.requests", extraTags = {"operation", "search"}, description = "IGDB lookups, including logo resolution")
     public String search(String query, String type) {
         if (isConfigMissing()) return "[]";
         
@@ -53,7 +112,8 @@ public class IgdbService {
         }
 
         HttpEntity<String> entity = new HttpEntity<>(body, headers);
-        try {
+        String cacheKey = type + "|" + query.trim().toLowerCase(Locale.ROOT);
+        return guarded("searching " + type, () -> {
             ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.POST, entity, String.class);
             String responseBody = response.getBody();
             
@@ -62,16 +122,15 @@ public class IgdbService {
                 responseBody = resolvePlatformLogos(responseBody, headers);
             }
             
+            if (responseBody != null) {
+                lastSearchResults.put(cacheKey, responseBody);
+            }
             return responseBody;
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, e, () -> "Error searching " + type + ": " + e.getMessage());
-            return "[]";
-        }
+        }, () -> lastSearchResults.getOrDefault(cacheKey, "[]"));
     }
     
     private String resolvePlatformLogos(String platformsJson, HttpHeaders headers) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
             JsonNode[] platforms = mapper.readValue(platformsJson, JsonNode[].class);
             
             for (JsonNode platform : platforms) {
@@ -99,7 +158,6 @@ public class IgdbService {
             HttpEntity<String> entity = new HttpEntity<>(body, headers);
             ResponseEntity<String> response = restTemplate.exchange(PLATFORM_LOGOS_URL, HttpMethod.POST, entity, String.class);
             
-            ObjectMapper mapper = new ObjectMapper();
             JsonNode[] logos = mapper.readValue(response.getBody(), JsonNode[].class);
             
             if (logos.length > 0 && logos[0].has("url")) {
@@ -116,7 +174,8 @@ public class IgdbService {
         return search(query, "Game");
     }
 
-    public List<JsonNode> getPopularGames(int limit) {
+    @Timed(value = "gamerent.igdb.requests", extraTags = {"operation", "popular_games"}, description = "IGDB lookups, including logo resolution")
+    public List<IgdbGame> getPopularGames(int limit) {
         if (isConfigMissing()) {
             logger.log(Level.INFO, "IGDB credentials missing. Skipping API call.");
             return Collections.emptyList();
@@ -131,15 +190,93 @@ public class IgdbService {
         String body = "fields id,name,cover.url,summary; where rating > 0 & cover.url != null; sort rating desc; limit " + (limit > 0 ? limit : 500) + ";";
         HttpEntity<String> entity = new HttpEntity<>(body, headers);
 
-        try {
+        return guarded("fetching popular games", () -> {
             ResponseEntity<String> response = restTemplate.exchange(GAMES_URL, HttpMethod.POST, entity, String.class);
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode[] games = mapper.readValue(response.getBody(), JsonNode[].class);
-            return List.of(games);
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, e, () -> "Error fetching popular games: " + e.getMessage());
+            List<IgdbGame> result = Collections.unmodifiableList(payloadReader.readGames(response.getBody()));
+            lastPopularGames = result;
+            return result;
+        }, () -> lastPopularGames);
+    }
+
+    /**
+     * Current consoles with a platform logo, used to seed the catalog.
+     */
+    public List<IgdbPlatform> getPopularPlatforms() {
+        if (isConfigMissing()) {
             return Collections.emptyList();
         }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Client-ID", clientId);
+        headers.set("Authorization", authToken);
+        headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+
+        // Fetch specific modern consoles: PlayStation 5 (167), Xbox Series X|S (169), Nintendo Switch (130)
+        String body = "where id = (167, 169, 130, 48, 49); fields id,name,platform_logo.url;";
+        HttpEntity<String> entity = new HttpEntity<>(body, headers);
+
+        return guarded("fetching popular platforms", () -> {
+            ResponseEntity<String> response = restTemplate.exchange(PLATFORMS_URL, HttpMethod.POST, entity, String.class);
+            List<IgdbPlatform> result = new ArrayList<>();
+            for (IgdbPlatform platform : payloadReader.readPlatforms(response.getBody())) {
+                if (platform.logoUrl() != null) {
+                    result.add(platform);
+                }
+            }
+            lastPopularPlatforms = List.copyOf(result);
+            return result;
+        }, () -> lastPopularPlatforms);
+    }
+
+    /**
+     * Run an IGDB call behind the bulkhead and circuit breaker. When no permit is
+     * free within the wait budget, the circuit is open or the call fails, the
+     * fallback (last good answer or an empty result) is returned instead.
+     * Only transport and HTTP errors count against the circuit; an unreadable
+     * payload means IGDB did answer.
+     */
+    private <T> T guarded(String operation, IgdbCall<T> call, Supplier<T> fallback) {
+        boolean permitted;
+        try {
+            permitted = bulkhead.tryAcquire(bulkheadWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return fallback.get();
+        }
+        if (!permitted) {
+            logger.log(Level.WARNING, "IGDB bulkhead full, degraded result for {0}", operation);
+            return fallback.get();
+        }
+        try {
+            if (!circuitBreaker.tryAcquire()) {
+                logger.log(Level.FINE, "IGDB circuit open, degraded result for {0}", operation);
+                return fallback.get();
+            }
+            try {
+                T result = call.call();
+                circuitBreaker.onSuccess();
+                return result;
+            } catch (RestClientException e) {
+                circuitBreaker.onFailure();
+                logger.log(Level.SEVERE, e, () -> "Error " + operation + ": " + e.getMessage());
+                return fallback.get();
+            } catch (Exception e) {
+                circuitBreaker.onSuccess();
+                logger.log(Level.SEVERE, e, () -> "Error " + operation + ": " + e.getMessage());
+                return fallback.get();
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    @FunctionalInterface
+    private interface IgdbCall<T> {
+        T call() throws Exception;
     }
     
     private boolean isConfigMissing() {
@@ -1,8 +1,7 @@
 package gamerent.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import gamerent.data.Item;
+import gamerent.data.ItemCardView;
 import gamerent.data.ItemRepository;
 import gamerent.data.BookingRepository;
 import gamerent.data.BookingRequest;
@@ -10,22 +9,14 @@ import gamerent.data.BookingStatus;
 import gamerent.data.User;
 import gamerent.config.ItemValidationException;
 import gamerent.config.UnauthorizedException;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Random;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 @Service
 public class ItemService {
@@ -33,9 +24,6 @@ public class ItemService {
     private final IgdbService igdbService;
     private final BookingRepository bookingRepository;
     private final Random random = new Random();
-    private static final String PLATFORM_LOGO = "platform_logo";
-    private static final String COVER = "cover";
-    private static final Logger logger = Logger.getLogger(ItemService.class.getName());
 
     public ItemService(ItemRepository itemRepository, IgdbService igdbService, BookingRepository bookingRepository) {
         this.itemRepository = itemRepository;
@@ -43,10 +31,12 @@ public class ItemService {
         this.bookingRepository = bookingRepository;
     }
 
+    @Transactional(readOnly = true)
     public List<Item> getAllItems() {
         return itemRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public List<Item> getAllItemsPaginated(int page, int pageSize) {
         List<Item> allItems = itemRepository.findAll();
         int start = page * pageSize;
@@ -55,10 +45,12 @@ public class ItemService {
         return allItems.subList(start, end);
     }
 
+    @Transactional(readOnly = true)
     public int getTotalItemCount() {
         return (int) itemRepository.count();
     }
 
+    @Transactional(readOnly = true)
     public List<Item> searchAllItemsByName(String query) {
         if (query != null && !query.isEmpty()) {
             return itemRepository.fuzzySearchByName(query);
@@ -66,6 +58,7 @@ public class ItemService {
         return getAllItems();
     }
 
+    @Transactional(readOnly = true)
     public List<Item> searchAllItemsByNameAndCategory(String query, String category) {
         if (query != null && !query.isEmpty() && category != null && !category.isEmpty()) {
             return itemRepository.fuzzySearchByNameAndCategory(query, category);
@@ -77,6 +70,25 @@ public class ItemService {
         return getAllItems();
     }
 
+    @Transactional(readOnly = true)
+    public List<ItemCardView> getAllItemCards() {
+        return itemRepository.findAllCards();
+    }
+
+    // Same filters as searchAllItemsByNameAndCategory, but returns catalog card projections
+    @Transactional(readOnly = true)
+    public List<ItemCardView> searchCatalogCards(String query, String category) {
+        if (query != null && !query.isEmpty() && category != null && !category.isEmpty()) {
+            return itemRepository.fuzzySearchCardsByNameAndCategory(query, category);
+        } else if (query != null && !query.isEmpty()) {
+            return itemRepository.fuzzySearchCardsByName(query);
+        } else if (category != null && !category.isEmpty()) {
+            return itemRepository.findCardsByCategory(category);
+        }
+        return getAllItemCards();
+    }
+
+    @Transactional(readOnly = true)
     public List<Item> searchAllItemsPaginated(String query, String category, int page, int pageSize) {
         List<Item> results = searchAllItemsByNameAndCategory(query, category);
         int start = page * pageSize;
@@ -85,15 +97,18 @@ public class ItemService {
         return results.subList(start, end);
     }
 
+    @Transactional(readOnly = true)
     public int getSearchAllItemsResultCount(String query, String category) {
         return searchAllItemsByNameAndCategory(query, category).size();
     }
 
+    @Transactional(readOnly = true)
     public List<Item> searchItems(String query, String category) {
         // Delegate to searchAllItemsByNameAndCategory for consistency
         return searchAllItemsByNameAndCategory(query, category);
     }
 
+    @Transactional(readOnly = true)
     public List<Item> searchItemsPaginated(String query, String category, int page, int pageSize) {
         List<Item> results = searchItems(query, category);
         int start = page * pageSize;
@@ -102,28 +117,35 @@ public class ItemService {
         return results.subList(start, end);
     }
 
+    @Transactional(readOnly = true)
     public int getSearchResultCount(String query, String category) {
         return searchItems(query, category).size();
     }
 
+    @Transactional(readOnly = true)
     public List<Item> getItemsByOwner(Long ownerId) {
         return itemRepository.findByOwnerId(ownerId);
     }
 
+    @Transactional(readOnly = true)
     public List<Item> getItemsByOwnerPaginated(Long ownerId, int page, int pageSize) {
         Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(pageSize, 1));
         return itemRepository.findByOwnerId(ownerId, pageable).getContent();
     }
 
+    @Transactional(readOnly = true)
     public int getItemsByOwnerCount(Long ownerId) {
         return itemRepository.findByOwnerId(ownerId).size();
     }
 
     public Item addItem(Item item, User owner) {
+        // Always insert; a client-supplied version would make Spring Data treat this as an update
+        item.setVersion(null);
         item.setOwner(owner);
         return itemRepository.save(item);
     }
 
+    @Transactional(readOnly = true)
     public Item getItem(Long id) {
         return itemRepository.findById(id)
                 .orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(org.springframework.http.HttpStatus.NOT_FOUND, "Item not found"));
@@ -133,17 +155,12 @@ public class ItemService {
         List<Item> items = new ArrayList<>();
 
         // Carrega jogos da IGDB
-        List<JsonNode> games = igdbService.getPopularGames(limit);
+        List<IgdbGame> games = igdbService.getPopularGames(limit);
 
         for (int i = 0; i < games.size(); i++) {
-            JsonNode game = games.get(i);
-            String name = game.get("name").asText();
-            String description = "";
-            if (game.has("summary")){
-                description = game.get("summary").asText();
-            } else {
-                description = "A great game";
-            }
+            IgdbGame game = games.get(i);
+            String name = game.name();
+            String description = game.summary() != null ? game.summary() : "A great game";
             // Truncate description to fit database limit (2048 chars)
             if (description.length() > 2048) {
                 description = description.substring(0, 2045) + "...";
@@ -169,13 +186,13 @@ public class ItemService {
         }
 
         // Adiciona consoles com imagens reais do IGDB
-        List<JsonNode> platforms = fetchPopularPlatforms();
-        for (JsonNode platform : platforms) {
-            String consoleName = platform.get("name").asText();
+        List<IgdbPlatform> platforms = igdbService.getPopularPlatforms();
+        for (IgdbPlatform platform : platforms) {
+            String consoleName = platform.name();
             String imageUrl = null;
 
-            if (platform.has(PLATFORM_LOGO) && platform.get(PLATFORM_LOGO).has("url")) {
-                String url = platform.get(PLATFORM_LOGO).get("url").asText();
+            if (platform.logoUrl() != null) {
+                String url = platform.logoUrl();
                 if (url.startsWith("//")) {
                     url = "https:" + url;
                 }
@@ -217,15 +234,17 @@ public class ItemService {
 
     // Owner-only update of availability and minimum rental days
     public Item updateItemSettings(Long itemId, Long ownerId, Boolean available, Integer minRentalDays) {
-        Item item = itemRepository.findById(itemId).orElseThrow(() -> new NoSuchElementException("Item not found"));
-        if (item.getOwner() == null || !item.getOwner().getId().equals(ownerId)) {
-            throw new UnauthorizedException("Unauthorized: You are not the owner of this item");
-        }
+        return OptimisticRetry.run("Item " + itemId, () -> {
+            Item item = itemRepository.findById(itemId).orElseThrow(() -> new NoSuchElementException("Item not found"));
+            if (item.getOwner() == null || !item.getOwner().getId().equals(ownerId)) {
+                throw new UnauthorizedException("Unauthorized: You are not the owner of this item");
+            }
 
-        updateMinimalRentalDays(item, minRentalDays);
-        updateAvailability(item, available, itemId);
+            updateMinimalRentalDays(item, minRentalDays);
+            updateAvailability(item, available, itemId);
 
-        return itemRepository.save(item);
+            return itemRepository.save(item);
+        });
     }
 
     private void updateMinimalRentalDays(Item item, Integer minRentalDays) {
@@ -259,39 +278,6 @@ public class ItemService {
             }
         }
     }
-          
-    private List<JsonNode> fetchPopularPlatforms() {
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            String clientId = System.getenv("IGDB_CLIENT_ID");
-            String authToken = System.getenv("IGDB_AUTH_TOKEN");
-            headers.set("Client-ID", clientId != null ? clientId : "");
-            headers.set("Authorization", authToken != null ? authToken : "");
-            headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
-
-            // Fetch specific modern consoles: PlayStation 5 (167), Xbox Series X|S (169), Nintendo Switch (130)
-            String body = "where id = (167, 169, 130, 48, 49); fields id,name,platform_logo.url;";
-            HttpEntity<String> entity = new HttpEntity<>(body, headers);
-
-            RestTemplate restTemplate = new RestTemplate();
-            ResponseEntity<String> response = restTemplate.exchange("https://api.igdb.com/v4/platforms", HttpMethod.POST, entity, String.class);
-
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode[] platforms = mapper.readValue(response.getBody(), JsonNode[].class);
-
-            List<JsonNode> result = new ArrayList<>();
-            for (JsonNode platform : platforms) {
-                if (platform.has(PLATFORM_LOGO) && platform.get(PLATFORM_LOGO).has("url")) {
-                    result.add(platform);
-                }
-            }
-
-            return result;
-        } catch (Exception e) {
-            logger.log(Level.WARNING, "Error fetching user disputes - {0}", e.getMessage());
-            return Collections.emptyList();
-        }
-    }
 
     private double getRandomPrice() {
         // Random price between 1.99 and 5.99
@@ -308,9 +294,9 @@ public class ItemService {
         return Math.round((0.99 + (random.nextDouble() * 4)) * 100) / 100.0;
     }
 
-    private String getImageUrl(JsonNode game) {
-        if (game.has(COVER) && game.get(COVER).has("url")) {
-            String url = game.get(COVER).get("url").asText();
+    private String getImageUrl(IgdbGame game) {
+        if (game.coverUrl() != null) {
+            String url = game.coverUrl();
             // IGDB returns URLs starting with //, we need to add https:
             if (url.startsWith("//")) {
                 url = "https:" + url;
@@ -319,6 +305,6 @@ public class ItemService {
             url = url.replace("t_thumb", "t_720p");
             return url;
         }
-        return "https://dummyimage.com/400x500/1a1a1a/ffffff?text=" + game.get("name").asText().replace(" ", "+");
+        return "https://dummyimage.com/400x500/1a1a1a/ffffff?text=" + game.name().replace(" ", "+");
     }
 }
@@ -0,0 +1,23 @@
+package gamerent.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "app.messages.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class MessageArchiveJob {
+
+    private final MessageArchiveService archiveService;
+
+    public MessageArchiveJob(MessageArchiveService archiveService) {
+        this.archiveService = archiveService;
+    }
+
+    @Scheduled(cron = "${app.messages.archive.cron:0 15 4 * * *}")
+    public void run() {
+        // Archive first so the partitions it empties can be dropped in the same run
+        archiveService.archiveInactiveChats();
+        archiveService.maintainPartitions();
+    }
+}
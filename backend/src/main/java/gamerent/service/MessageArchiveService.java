@@ -0,0 +1,164 @@
+package gamerent.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gamerent.boundary.dto.MessageResponse;
+import gamerent.data.Chat;
+import gamerent.data.ChatRepository;
+import gamerent.data.MessageArchive;
+import gamerent.data.MessageArchiveRepository;
+import gamerent.data.MessageRepository;
+import gamerent.data.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cold storage for chat history. Chats nobody has written to for {@code inactiveMonths}
+ * have their messages folded into {@code message_archive} rows and removed from the
+ * partitioned hot table, which then only holds recent conversations; reads of a chat's
+ * history put the archived messages in front of the hot ones.
+ * <p>
+ * Archival claims chats with SKIP LOCKED, one transaction per batch, so several nodes can
+ * run it at once. The same job keeps the monthly partitions created ahead of time and
+ * drops the old ones archival has emptied.
+ */
+@Service
+public class MessageArchiveService {
+    private static final Logger logger = Logger.getLogger(MessageArchiveService.class.getName());
+    private static final TypeReference<List<ArchivedMessage>> ARCHIVED_MESSAGES = new TypeReference<>() {};
+
+    // One element of message_archive.messages, as written by MessageArchiveRepository.archiveChat
+    record ArchivedMessage(Long id, Long senderId, String content, LocalDateTime sentAt, Boolean isRead) {}
+
+    private final ChatRepository chatRepository;
+    private final MessageRepository messageRepository;
+    private final MessageArchiveRepository archiveRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int inactiveMonths;
+    private final int batchSize;
+    private final int monthsAhead;
+
+    public MessageArchiveService(ChatRepository chatRepository,
+                                 MessageRepository messageRepository,
+                                 MessageArchiveRepository archiveRepository,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.messages.archive.inactiveMonths:6}") int inactiveMonths,
+                                 @Value("${app.messages.archive.batchSize:100}") int batchSize,
+                                 @Value("${app.messages.partitions.monthsAhead:3}") int monthsAhead) {
+        this.chatRepository = chatRepository;
+        this.messageRepository = messageRepository;
+        this.archiveRepository = archiveRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.inactiveMonths = Math.max(inactiveMonths, 1);
+        this.batchSize = Math.max(batchSize, 1);
+        this.monthsAhead = Math.max(monthsAhead, 1);
+    }
+
+    /**
+     * Archived messages of a chat, oldest first. Sender names come from the chat's participants.
+     */
+    @Transactional(readOnly = true)
+    public List<MessageResponse> getArchivedMessages(Chat chat) {
+        List<MessageResponse> messages = new ArrayList<>();
+        for (MessageArchive archive : archiveRepository.findByChatIdOrderByLastSentAtAsc(chat.getId())) {
+            for (ArchivedMessage message : decode(archive)) {
+                messages.add(new MessageResponse(message.id(), chat.getId(), message.senderId(),
+                    senderName(chat, message.senderId()), message.content(), message.sentAt(), message.isRead()));
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * Content of the newest archived message of a chat, if it has any.
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> getLastArchivedContent(Long chatId) {
+        return archiveRepository.findFirstByChatIdOrderByLastSentAtDesc(chatId)
+            .map(this::decode)
+            .filter(messages -> !messages.isEmpty())
+            .map(messages -> messages.get(messages.size() - 1).content());
+    }
+
+    @Transactional(readOnly = true)
+    public boolean hasArchivedMessages(Long chatId) {
+        return archiveRepository.existsByChatId(chatId);
+    }
+
+    /**
+     * Move the messages of every chat inactive for longer than {@code inactiveMonths} to
+     * cold storage. Returns the number of chats archived.
+     */
+    public int archiveInactiveChats() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMonths(inactiveMonths);
+        int archived = 0;
+        while (true) {
+            Integer batch = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            int count = batch == null ? 0 : batch;
+            archived += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            logger.log(Level.INFO, "Archived the messages of {0} inactive chats", archived);
+        }
+        return archived;
+    }
+
+    /**
+     * Create the partitions for this month and the next {@code monthsAhead}, and drop the
+     * empty ones from before the archival cutoff.
+     */
+    public void maintainPartitions() {
+        LocalDate thisMonth = LocalDate.now().withDayOfMonth(1);
+        int created = messageRepository.ensurePartitions(thisMonth, thisMonth.plusMonths(monthsAhead));
+        int dropped = messageRepository.dropEmptyPartitions(thisMonth.minusMonths(inactiveMonths));
+        if ((created > 0 || dropped > 0) && logger.isLoggable(Level.INFO)) {
+            logger.log(Level.INFO, "Message partitions: {0} created, {1} dropped", new Object[]{created, dropped});
+        }
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Chat> chats = chatRepository.claimInactiveWithMessages(cutoff, PageRequest.of(0, batchSize));
+        LocalDateTime now = LocalDateTime.now();
+        for (Chat chat : chats) {
+            archiveRepository.archiveChat(chat.getId(), now);
+            messageRepository.deleteByChatIdInBulk(chat.getId());
+        }
+        return chats.size();
+    }
+
+    private List<ArchivedMessage> decode(MessageArchive archive) {
+        try {
+            return objectMapper.readValue(archive.getMessages(), ARCHIVED_MESSAGES);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable message archive " + archive.getId(), e);
+        }
+    }
+
+    private static String senderName(Chat chat, Long senderId) {
+        for (User participant : new User[]{chat.getRenter(), chat.getOwner()}) {
+            if (participant != null && participant.getId().equals(senderId)) {
+                return participant.getName();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,54 @@
+package gamerent.service;
+
+import gamerent.config.ConcurrentUpdateException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Retry policy for read-modify-write operations on versioned entities.
+ * The action must re-read the entity on every attempt so a retry starts from
+ * the committed state; validations inside it are therefore re-applied too.
+ */
+final class OptimisticRetry {
+    static final int MAX_ATTEMPTS = 3;
+    private static final long BASE_BACKOFF_MILLIS = 10;
+    private static final Logger logger = Logger.getLogger(OptimisticRetry.class.getName());
+
+    private OptimisticRetry() {
+    }
+
+    static <T> T run(String operation, Supplier<T> action) {
+        return run(operation, MAX_ATTEMPTS, action);
+    }
+
+    static <T> T run(String operation, int maxAttempts, Supplier<T> action) {
+        OptimisticLockingFailureException last = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                last = e;
+                logger.log(Level.FINE, "Version conflict on {0}, attempt {1}/{2}",
+                    new Object[]{operation, attempt, maxAttempts});
+                if (attempt < maxAttempts) {
+                    backoff(attempt);
+                }
+            }
+        }
+        throw new ConcurrentUpdateException(operation + " was modified concurrently, please retry", last);
+    }
+
+    private static void backoff(int attempt) {
+        // Jittered linear backoff so competing writers do not collide again in lockstep
+        long delay = BASE_BACKOFF_MILLIS * attempt + ThreadLocalRandom.current().nextLong(BASE_BACKOFF_MILLIS);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
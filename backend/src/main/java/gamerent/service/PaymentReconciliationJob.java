@@ -0,0 +1,21 @@
+package gamerent.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "app.payments.reconcile.enabled", havingValue = "true", matchIfMissing = true)
+public class PaymentReconciliationJob {
+
+    private final PaymentReconciliationService reconciliationService;
+
+    public PaymentReconciliationJob(PaymentReconciliationService reconciliationService) {
+        this.reconciliationService = reconciliationService;
+    }
+
+    @Scheduled(cron = "${app.payments.reconcile.cron:0 */15 * * * *}")
+    public void run() {
+        reconciliationService.reconcile();
+    }
+}
@@ -0,0 +1,241 @@
+package gamerent.service;
+
+import gamerent.config.ConcurrentUpdateException;
+import gamerent.data.BookingRepository;
+import gamerent.data.BookingRequest;
+import gamerent.data.BookingStatus;
+import gamerent.data.JobLease;
+import gamerent.data.JobLeaseRepository;
+import gamerent.data.PaymentStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Finds bookings that went through Stripe Checkout but are still UNPAID, for
+ * example because the tab was closed before the redirect and the webhook never
+ * arrived, and settles them from the session status at Stripe.
+ * <p>
+ * Bookings are scanned in id order, one keyset page at a time. Stripe lookups for
+ * a page run on a small pool behind a shared rate limit, and the resulting updates
+ * are written in one transaction per page. A DB lease makes sure only one node
+ * runs the job; the lease also stores the last finished id, so a run that dies
+ * halfway is resumed by whichever node takes the lease next.
+ */
+@Service
+public class PaymentReconciliationService {
+    static final String JOB_NAME = "payment-reconciliation";
+    private static final Logger logger = Logger.getLogger(PaymentReconciliationService.class.getName());
+
+    public record Report(long resumedFrom, int scanned, int markedPaid, int stillUnpaid,
+                         int paidOnInactiveBooking, int failed, boolean completed, Duration elapsed) {}
+
+    private final BookingRepository bookingRepository;
+    private final JobLeaseRepository leaseRepository;
+    private final StripeGateway stripeGateway;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String owner;
+    private final int chunkSize;
+    private final int parallelism;
+    private final double requestsPerSecond;
+    private final int lookbackDays;
+    private final Duration leaseDuration;
+
+    public PaymentReconciliationService(BookingRepository bookingRepository,
+                                        JobLeaseRepository leaseRepository,
+                                        StripeGateway stripeGateway,
+                                        PlatformTransactionManager transactionManager,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${app.payments.reconcile.chunkSize:100}") int chunkSize,
+                                        @Value("${app.payments.reconcile.parallelism:4}") int parallelism,
+                                        @Value("${app.payments.reconcile.requestsPerSecond:20}") double requestsPerSecond,
+                                        @Value("${app.payments.reconcile.lookbackDays:7}") int lookbackDays,
+                                        @Value("${app.payments.reconcile.leaseSeconds:300}") long leaseSeconds) {
+        this.bookingRepository = bookingRepository;
+        this.leaseRepository = leaseRepository;
+        this.stripeGateway = stripeGateway;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.owner = nodeName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.parallelism = Math.max(parallelism, 1);
+        this.requestsPerSecond = requestsPerSecond;
+        this.lookbackDays = lookbackDays;
+        this.leaseDuration = Duration.ofSeconds(Math.max(leaseSeconds, 1));
+    }
+
+    /**
+     * Run one reconciliation pass. Returns empty when another node holds the lease.
+     */
+    public Optional<Report> reconcile() {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        if (leaseRepository.tryAcquire(JOB_NAME, owner, now, now.plus(leaseDuration)) == 0) {
+            logger.log(Level.FINE, "Payment reconciliation is running on another node");
+            return Optional.empty();
+        }
+
+        long resumedFrom = leaseRepository.findById(JOB_NAME).map(JobLease::getCursorId).orElse(0L);
+        LocalDateTime since = now.minusDays(lookbackDays);
+        Tally tally = new Tally();
+        RateLimiter rateLimiter = new RateLimiter(requestsPerSecond);
+        ExecutorService lookups = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("payment-reconcile-", 0).factory());
+        boolean completed = false;
+        try {
+            long cursor = resumedFrom;
+            while (true) {
+                List<BookingRequest> page = bookingRepository.findUnpaidCheckoutsAfter(cursor, since, PageRequest.of(0, chunkSize));
+                if (page.isEmpty()) {
+                    completed = true;
+                    break;
+                }
+                tally.scanned += page.size();
+                Map<Long, StripeCheckoutSession> paidSessions = lookUpPaidSessions(page, lookups, rateLimiter, tally);
+                if (!paidSessions.isEmpty()) {
+                    settle(paidSessions, tally);
+                }
+
+                cursor = page.get(page.size() - 1).getId();
+                if (leaseRepository.renew(JOB_NAME, owner, LocalDateTime.now().plus(leaseDuration), cursor) == 0) {
+                    logger.log(Level.WARNING, "Payment reconciliation lost its lease at booking {0}, stopping", cursor);
+                    break;
+                }
+                if (page.size() < chunkSize) {
+                    completed = true;
+                    break;
+                }
+            }
+            if (completed) {
+                leaseRepository.release(JOB_NAME, owner, LocalDateTime.now());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lookups.shutdownNow();
+        }
+
+        Report report = new Report(resumedFrom, tally.scanned, tally.markedPaid, tally.stillUnpaid,
+                tally.paidOnInactiveBooking, tally.failed, completed, Duration.ofNanos(System.nanoTime() - started));
+        record(report);
+        return Optional.of(report);
+    }
+
+    private Map<Long, StripeCheckoutSession> lookUpPaidSessions(List<BookingRequest> page, ExecutorService lookups,
+                                                                RateLimiter rateLimiter, Tally tally) throws InterruptedException {
+        Map<Long, Future<StripeCheckoutSession>> pending = new HashMap<>();
+        for (BookingRequest booking : page) {
+            String sessionId = booking.getStripeCheckoutSessionId();
+            pending.put(booking.getId(), lookups.submit(() -> {
+                rateLimiter.acquire();
+                return stripeGateway.retrieveCheckoutSession(sessionId);
+            }));
+        }
+
+        Map<Long, StripeCheckoutSession> paid = new HashMap<>();
+        for (Map.Entry<Long, Future<StripeCheckoutSession>> entry : pending.entrySet()) {
+            try {
+                StripeCheckoutSession session = entry.getValue().get();
+                if (session != null && "paid".equalsIgnoreCase(session.paymentStatus())) {
+                    paid.put(entry.getKey(), session);
+                } else {
+                    tally.stillUnpaid++;
+                }
+            } catch (ExecutionException e) {
+                tally.failed++;
+                logger.log(Level.WARNING, "Could not reconcile booking {0}: {1}",
+                        new Object[]{entry.getKey(), e.getCause().getMessage()});
+            }
+        }
+        return paid;
+    }
+
+    /**
+     * Write a page's payments. A webhook or redirect confirmation that versions one of the bookings
+     * before the page commits rolls it back; the page is re-read and written once more, and if that
+     * conflicts too its bookings count as failed and are left to the next run.
+     */
+    private void settle(Map<Long, StripeCheckoutSession> paidSessions, Tally tally) {
+        try {
+            Tally page = OptimisticRetry.run("Payment reconciliation page", 2, () -> {
+                Tally attempt = new Tally();
+                transactionTemplate.executeWithoutResult(status -> markPaid(paidSessions, attempt));
+                return attempt;
+            });
+            tally.markedPaid += page.markedPaid;
+            tally.paidOnInactiveBooking += page.paidOnInactiveBooking;
+        } catch (ConcurrentUpdateException e) {
+            tally.failed += paidSessions.size();
+            logger.log(Level.WARNING, "Could not settle bookings {0}: they kept changing concurrently", paidSessions.keySet());
+        }
+    }
+
+    // Re-reads the bookings so webhook or redirect confirmations since the scan are respected
+    private void markPaid(Map<Long, StripeCheckoutSession> paidSessions, Tally tally) {
+        LocalDateTime paidAt = LocalDateTime.now();
+        List<BookingRequest> updated = new ArrayList<>();
+        for (BookingRequest booking : bookingRepository.findAllById(paidSessions.keySet())) {
+            if (booking.getPaymentStatus() == PaymentStatus.PAID) {
+                continue;
+            }
+            if (booking.getStatus() != BookingStatus.APPROVED) {
+                tally.paidOnInactiveBooking++;
+                logger.log(Level.WARNING, "Booking {0} was paid at Stripe but is {1}, needs a manual refund",
+                        new Object[]{booking.getId(), booking.getStatus()});
+                continue;
+            }
+            StripeCheckoutSession session = paidSessions.get(booking.getId());
+            booking.setPaymentStatus(PaymentStatus.PAID);
+            booking.setPaidAt(paidAt);
+            if (session.paymentIntentId() != null) {
+                booking.setStripePaymentIntentId(session.paymentIntentId());
+            }
+            updated.add(booking);
+        }
+        bookingRepository.saveAll(updated);
+        tally.markedPaid += updated.size();
+    }
+
+    private void record(Report report) {
+        meterRegistry.counter("gamerent.payments.reconciled", "outcome", "paid").increment(report.markedPaid());
+        meterRegistry.counter("gamerent.payments.reconciled", "outcome", "unpaid").increment(report.stillUnpaid());
+        meterRegistry.counter("gamerent.payments.reconciled", "outcome", "inactive_booking").increment(report.paidOnInactiveBooking());
+        meterRegistry.counter("gamerent.payments.reconciled", "outcome", "failed").increment(report.failed());
+        logger.log(Level.INFO, "Payment reconciliation {0}: scanned={1} paid={2} unpaid={3} inactiveBooking={4} failed={5} resumedFrom={6} took={7}ms",
+                new Object[]{report.completed() ? "completed" : "interrupted", report.scanned(), report.markedPaid(),
+                        report.stillUnpaid(), report.paidOnInactiveBooking(), report.failed(), report.resumedFrom(),
+                        report.elapsed().toMillis()});
+    }
+
+    private static String nodeName() {
+        String host = System.getenv("HOSTNAME");
+        return host == null || host.isBlank() ? "node" : host;
+    }
+
+    private static final class Tally {
+        int scanned;
+        int markedPaid;
+        int stillUnpaid;
+        int paidOnInactiveBooking;
+        int failed;
+    }
+}
@@ -7,12 +7,14 @@ import gamerent.data.PaymentStatus;
 import gamerent.config.BookingValidationException;
 import gamerent.config.PaymentException;
 import gamerent.config.UnauthorizedException;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.Map;
 
 @Service
+@Observed(name = "gamerent.service")
 public class PaymentService {
 
     private final BookingRepository bookingRepository;
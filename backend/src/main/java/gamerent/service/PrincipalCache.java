@@ -0,0 +1,110 @@
+package gamerent.service;
+
+import gamerent.data.User;
+import gamerent.data.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded in-memory cache of authenticated users' identity and role, keyed by user id,
+ * so authenticated requests do not read the {@code user} table. Writes to a user must
+ * call {@link #invalidate(Long)}; each invalidation bumps a version, and a lookup that
+ * raced with one does not cache what it loaded. The TTL bounds how long a change made
+ * on another node can go unnoticed.
+ */
+@Component
+public class PrincipalCache {
+
+    public record Principal(Long id, String email, String name, String role) {
+
+        static Principal of(User user) {
+            return new Principal(user.getId(), user.getEmail(), user.getName(), user.getRole());
+        }
+
+        /**
+         * Detached user carrying the cached fields (no password), for responses and for
+         * associations that only need the id, such as an item's owner.
+         */
+        public User toUser() {
+            User user = new User();
+            user.setId(id);
+            user.setEmail(email);
+            user.setName(name);
+            user.setRole(role);
+            return user;
+        }
+    }
+
+    private record Entry(Principal principal, long loadedAt) {}
+
+    private final UserRepository userRepository;
+    private final Map<Long, Entry> entries;
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final long ttlMillis;
+
+    public PrincipalCache(UserRepository userRepository,
+                          @Value("${app.cache.principal.maxEntries:10000}") int maxEntries,
+                          @Value("${app.cache.principal.ttlSeconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.ttlMillis = Math.max(ttlSeconds, 0) * 1000L;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public Optional<Principal> get(Long userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        long now = System.currentTimeMillis();
+        Entry cached = entries.get(userId);
+        if (cached != null && now - cached.loadedAt() < ttlMillis) {
+            hits.incrementAndGet();
+            return Optional.of(cached.principal());
+        }
+        misses.incrementAndGet();
+        long seen = version.get();
+        Optional<Principal> loaded = userRepository.findById(userId).map(Principal::of);
+        if (loaded.isPresent() && ttlMillis > 0) {
+            synchronized (entries) {
+                if (version.get() == seen) {
+                    entries.put(userId, new Entry(loaded.get(), now));
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Forget the user. Call after any change to a user's profile or role.
+     */
+    public void invalidate(Long userId) {
+        synchronized (entries) {
+            version.incrementAndGet();
+            entries.remove(userId);
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
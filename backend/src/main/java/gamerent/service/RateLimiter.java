@@ -0,0 +1,45 @@
+package gamerent.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Spaces calls evenly at a fixed rate, shared by all threads that use it.
+ * Each caller reserves the next free slot under the lock and sleeps outside it,
+ * so waiting callers do not block each other's reservations.
+ */
+final class RateLimiter {
+    private final long intervalNanos;
+    private final LongSupplier clock;
+    private long nextFreeSlot;
+
+    RateLimiter(double permitsPerSecond) {
+        this(permitsPerSecond, System::nanoTime);
+    }
+
+    RateLimiter(double permitsPerSecond, LongSupplier clock) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.clock = clock;
+        this.nextFreeSlot = clock.getAsLong();
+    }
+
+    void acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Reserve the next slot and return how long the caller has to wait for it.
+     */
+    synchronized long reserve() {
+        long now = clock.getAsLong();
+        long slot = Math.max(nextFreeSlot, now);
+        nextFreeSlot = slot + intervalNanos;
+        return slot - now;
+    }
+}
@@ -13,6 +13,7 @@ import gamerent.data.UserRepository;
 import gamerent.boundary.dto.ReviewResponse;
 import gamerent.config.ReviewValidationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Clock;
 import java.time.LocalDate;
@@ -75,10 +76,12 @@ public class ReviewService {
         return reviewRepository.save(review);
     }
 
+    @Transactional(readOnly = true)
     public List<Review> getReviewsByBooking(Long bookingId) {
         return reviewRepository.findByBookingId(bookingId);
     }
 
+    @Transactional(readOnly = true)
     public List<ReviewResponse> getReviewsForItem(Long itemId) {
         return reviewRepository.findByTargetTypeAndTargetId(ReviewTargetType.ITEM, itemId)
                 .stream()
@@ -86,6 +89,7 @@ public class ReviewService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     public List<ReviewResponse> getReviewsForUser(Long userId) {
         return reviewRepository.findByTargetTypeAndTargetId(ReviewTargetType.USER, userId)
                 .stream()
@@ -1,31 +1,59 @@
 package gamerent.service;
 
-import com.stripe.Stripe;
+import com.stripe.StripeClient;
 import com.stripe.exception.StripeException;
 import com.stripe.model.checkout.Session;
+import com.stripe.net.RequestOptions;
 import com.stripe.param.checkout.SessionCreateParams;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import gamerent.config.PaymentException;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
 
 @Component
+@Observed(name = "gamerent.stripe.client")
 public class StripeGatewayImpl implements StripeGateway {
 
-    private final String secretKey;
+    private final StripeClient client;
 
-    public StripeGatewayImpl(@Value("${stripe.secretKey:}") String secretKey) {
-        this.secretKey = secretKey;
+    public StripeGatewayImpl(String secretKey) {
+        this(secretKey, 10_000, 30_000, 2);
+    }
+
+    /**
+     * One client per gateway, holding its own key and transport settings, so calls
+     * never touch the SDK's global {@code Stripe.apiKey} and need no lock. The SDK
+     * retries network errors, 409s and 5xx responses, resending the same
+     * Idempotency-Key so a retried create cannot produce a second session.
+     */
+    @Autowired
+    public StripeGatewayImpl(@Value("${stripe.secretKey:}") String secretKey,
+                             @Value("${stripe.connectTimeoutMs:10000}") int connectTimeoutMs,
+                             @Value("${stripe.readTimeoutMs:30000}") int readTimeoutMs,
+                             @Value("${stripe.maxNetworkRetries:2}") int maxNetworkRetries) {
+        this(secretKey == null || secretKey.isBlank() ? null : StripeClient.builder()
+                .setApiKey(secretKey)
+                .setConnectTimeout(connectTimeoutMs)
+                .setReadTimeout(readTimeoutMs)
+                .setMaxNetworkRetries(maxNetworkRetries)
+                .build());
+    }
+
+    StripeGatewayImpl(StripeClient client) {
+        this.client = client;
     }
 
     @Override
+    @Timed(value = "gamerent.stripe.requests", extraTags = {"operation", "create_checkout_session"}, description = "Stripe API calls")
     public StripeCheckoutSession createCheckoutSession(StripeCheckoutSessionCreateRequest request) {
-        if (secretKey == null || secretKey.isBlank()) {
-            throw new IllegalStateException("Stripe secret key not configured");
-        }
-
-        setStripeApiKey();
+        requireClient();
 
         SessionCreateParams.LineItem.PriceData.ProductData productData =
                 SessionCreateParams.LineItem.PriceData.ProductData.builder()
@@ -58,7 +86,10 @@ public class StripeGatewayImpl implements StripeGateway {
         }
 
         try {
-            Session session = Session.create(params.build());
+            RequestOptions options = RequestOptions.builder()
+                    .setIdempotencyKey(idempotencyKey(request))
+                    .build();
+            Session session = client.checkout().sessions().create(params.build(), options);
             return new StripeCheckoutSession(
                     session.getId(),
                     session.getUrl(),
@@ -72,13 +103,11 @@ public class StripeGatewayImpl implements StripeGateway {
     }
 
     @Override
+    @Timed(value = "gamerent.stripe.requests", extraTags = {"operation", "retrieve_checkout_session"}, description = "Stripe API calls")
     public StripeCheckoutSession retrieveCheckoutSession(String sessionId) {
-        if (secretKey == null || secretKey.isBlank()) {
-            throw new IllegalStateException("Stripe secret key not configured");
-        }
-        setStripeApiKey();
+        requireClient();
         try {
-            Session session = Session.retrieve(sessionId);
+            Session session = client.checkout().sessions().retrieve(sessionId);
             return new StripeCheckoutSession(
                     session.getId(),
                     session.getUrl(),
@@ -91,8 +120,22 @@ public class StripeGatewayImpl implements StripeGateway {
         }
     }
 
-    private synchronized void setStripeApiKey() {
-        Stripe.apiKey = secretKey;
+    /**
+     * Derived from the request contents, so a repeated checkout for the same booking and
+     * amount (double click, client retry) returns the session Stripe already created.
+     * A changed amount or redirect URL yields a new key and therefore a new session.
+     */
+    static String idempotencyKey(StripeCheckoutSessionCreateRequest request) {
+        Map<String, String> metadata = request.metadata() == null ? Map.of() : new TreeMap<>(request.metadata());
+        String fingerprint = request.amountCents() + "|" + request.currency() + "|" + request.productName() + "|"
+                + request.successUrl() + "|" + request.cancelUrl() + "|" + metadata;
+        return "checkout-" + UUID.nameUUIDFromBytes(fingerprint.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void requireClient() {
+        if (client == null) {
+            throw new IllegalStateException("Stripe secret key not configured");
+        }
     }
 }
 
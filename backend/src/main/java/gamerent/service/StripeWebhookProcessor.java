@@ -0,0 +1,104 @@
+package gamerent.service;
+
+import gamerent.data.BookingRepository;
+import gamerent.data.BookingRequest;
+import gamerent.data.BookingStatus;
+import gamerent.data.PaymentStatus;
+import gamerent.data.StripeWebhookEvent;
+import gamerent.data.StripeWebhookEventRepository;
+import gamerent.data.WebhookEventStatus;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Settles bookings from the Stripe payment inbox, one batch per transaction.
+ * A batch claims its events with SKIP LOCKED, loads all referenced bookings in
+ * one query and writes them back together with the event statuses. If a booking
+ * changed concurrently the whole batch rolls back and is picked up again later.
+ */
+@Service
+public class StripeWebhookProcessor {
+    private static final Logger logger = Logger.getLogger(StripeWebhookProcessor.class.getName());
+
+    private final StripeWebhookEventRepository eventRepository;
+    private final BookingRepository bookingRepository;
+
+    public StripeWebhookProcessor(StripeWebhookEventRepository eventRepository, BookingRepository bookingRepository) {
+        this.eventRepository = eventRepository;
+        this.bookingRepository = bookingRepository;
+    }
+
+    /**
+     * Process up to {@code batchSize} pending events and return how many were claimed.
+     */
+    @Transactional
+    public int processBatch(int batchSize) {
+        List<StripeWebhookEvent> events = eventRepository.claimPending(PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> bookingIds = events.stream()
+                .map(StripeWebhookEvent::getBookingId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<Long, BookingRequest> bookings = bookingRepository.findAllById(bookingIds).stream()
+                .collect(Collectors.toMap(BookingRequest::getId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingRequest> paid = new ArrayList<>();
+        for (StripeWebhookEvent event : events) {
+            String note = settle(event, bookings.get(event.getBookingId()), now, paid);
+            event.setStatus(note == null ? WebhookEventStatus.PROCESSED : WebhookEventStatus.IGNORED);
+            event.setNote(note);
+            event.setProcessedAt(now);
+        }
+
+        bookingRepository.saveAll(paid);
+        eventRepository.saveAll(events);
+        logger.log(Level.FINE, "Processed {0} Stripe events, {1} bookings marked paid",
+                new Object[]{events.size(), paid.size()});
+        return events.size();
+    }
+
+    // Returns null when the event was applied (or already reflected), otherwise why it was ignored
+    private String settle(StripeWebhookEvent event, BookingRequest booking, LocalDateTime now, List<BookingRequest> paid) {
+        if (booking == null) {
+            return "Unknown booking";
+        }
+        if (event.getSessionId() == null || !event.getSessionId().equals(booking.getStripeCheckoutSessionId())) {
+            return "Session does not match booking";
+        }
+        if (!"paid".equalsIgnoreCase(event.getPaymentStatus())) {
+            return "Payment not completed";
+        }
+        if (booking.getPaymentStatus() == PaymentStatus.PAID) {
+            return null;
+        }
+        if (booking.getStatus() != BookingStatus.APPROVED) {
+            logger.log(Level.WARNING, "Payment received for booking {0} in status {1}, needs a manual refund",
+                    new Object[]{booking.getId(), booking.getStatus()});
+            return "Booking is " + booking.getStatus();
+        }
+
+        booking.setPaymentStatus(PaymentStatus.PAID);
+        booking.setPaidAt(now);
+        if (event.getPaymentIntentId() != null) {
+            booking.setStripePaymentIntentId(event.getPaymentIntentId());
+        }
+        paid.add(booking);
+        return null;
+    }
+}
@@ -0,0 +1,103 @@
+package gamerent.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stripe.exception.SignatureVerificationException;
+import com.stripe.net.Webhook;
+import gamerent.config.PaymentException;
+import gamerent.data.StripeWebhookEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Ingestion side of the Stripe payment inbox. Verifies the webhook signature,
+ * extracts the checkout session fields and stores the event once per Stripe
+ * event id. Bookings are settled later by {@link StripeWebhookProcessor}, so the
+ * webhook answers Stripe without touching booking rows.
+ */
+@Service
+public class StripeWebhookService {
+    static final Set<String> HANDLED_EVENT_TYPES = Set.of(
+            "checkout.session.completed",
+            "checkout.session.async_payment_succeeded"
+    );
+    private static final Logger logger = Logger.getLogger(StripeWebhookService.class.getName());
+
+    public enum Outcome { ACCEPTED, DUPLICATE, IGNORED }
+
+    private final StripeWebhookEventRepository eventRepository;
+    private final ObjectMapper objectMapper;
+    private final String webhookSecret;
+    private final long toleranceSeconds;
+
+    public StripeWebhookService(StripeWebhookEventRepository eventRepository,
+                                ObjectMapper objectMapper,
+                                @Value("${stripe.webhookSecret:}") String webhookSecret,
+                                @Value("${stripe.webhookToleranceSeconds:300}") long toleranceSeconds) {
+        this.eventRepository = eventRepository;
+        this.objectMapper = objectMapper;
+        this.webhookSecret = webhookSecret;
+        this.toleranceSeconds = toleranceSeconds;
+    }
+
+    @Transactional
+    public Outcome ingest(String payload, String signatureHeader) {
+        if (webhookSecret == null || webhookSecret.isBlank()) {
+            throw new IllegalStateException("Stripe webhook secret not configured");
+        }
+        try {
+            Webhook.Signature.verifyHeader(payload, signatureHeader, webhookSecret, toleranceSeconds);
+        } catch (SignatureVerificationException e) {
+            throw new PaymentException("Invalid Stripe signature", e);
+        }
+
+        JsonNode event;
+        try {
+            event = objectMapper.readTree(payload);
+        } catch (JsonProcessingException e) {
+            throw new PaymentException("Malformed Stripe event", e);
+        }
+        String eventId = event.path("id").asText(null);
+        String eventType = event.path("type").asText(null);
+        if (eventId == null || eventType == null) {
+            throw new PaymentException("Malformed Stripe event");
+        }
+        if (!HANDLED_EVENT_TYPES.contains(eventType)) {
+            logger.log(Level.FINE, "Ignoring Stripe event {0} of type {1}", new Object[]{eventId, eventType});
+            return Outcome.IGNORED;
+        }
+
+        JsonNode session = event.path("data").path("object");
+        int inserted = eventRepository.insertIfAbsent(
+                eventId,
+                eventType,
+                session.path("id").asText(null),
+                parseBookingId(session.path("metadata").path("bookingId").asText(null)),
+                session.path("payment_intent").asText(null),
+                session.path("payment_status").asText(null),
+                payload,
+                LocalDateTime.now()
+        );
+        if (inserted == 0) {
+            logger.log(Level.FINE, "Duplicate Stripe event {0}", eventId);
+            return Outcome.DUPLICATE;
+        }
+        return Outcome.ACCEPTED;
+    }
+
+    private static Long parseBookingId(String value) {
+        if (value == null) return null;
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
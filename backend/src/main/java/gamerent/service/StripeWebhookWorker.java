@@ -0,0 +1,74 @@
+package gamerent.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Drains the Stripe payment inbox on a fixed delay. Each poll runs a small pool of
+ * workers that keep claiming batches until the inbox is empty; SKIP LOCKED keeps
+ * them (and other instances) off each other's rows.
+ */
+@Component
+@ConditionalOnProperty(name = "app.payments.webhook.worker.enabled", havingValue = "true", matchIfMissing = true)
+public class StripeWebhookWorker {
+    private static final Logger logger = Logger.getLogger(StripeWebhookWorker.class.getName());
+
+    private final StripeWebhookProcessor processor;
+    private final ExecutorService workers;
+    private final int workerCount;
+    private final int batchSize;
+
+    public StripeWebhookWorker(StripeWebhookProcessor processor,
+                               @Value("${app.payments.webhook.worker.threads:2}") int workerCount,
+                               @Value("${app.payments.webhook.worker.batchSize:50}") int batchSize) {
+        this.processor = processor;
+        this.workerCount = Math.max(workerCount, 1);
+        this.batchSize = Math.max(batchSize, 1);
+        this.workers = Executors.newFixedThreadPool(this.workerCount, Thread.ofPlatform().name("stripe-inbox-", 0).factory());
+    }
+
+    @Scheduled(fixedDelayString = "${app.payments.webhook.worker.pollMs:1000}")
+    public void drain() {
+        List<Future<Integer>> running = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            running.add(workers.submit(this::drainUntilEmpty));
+        }
+        for (Future<Integer> future : running) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                logger.log(Level.WARNING, "Stripe inbox batch failed, will retry on next poll: {0}", e.getCause().getMessage());
+            }
+        }
+    }
+
+    private int drainUntilEmpty() {
+        int total = 0;
+        int claimed;
+        do {
+            claimed = processor.processBatch(batchSize);
+            total += claimed;
+        } while (claimed == batchSize);
+        return total;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+}
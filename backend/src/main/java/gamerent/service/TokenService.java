@@ -0,0 +1,231 @@
+package gamerent.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gamerent.data.RevokedToken;
+import gamerent.data.RevokedTokenRepository;
+import gamerent.data.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Issues and verifies signed bearer tokens (JWT, HS256) for stateless authentication
+ * ({@code app.auth.mode=token}). Verification is local: the signature is checked
+ * against the configured keys and the token id against an in-memory copy of the
+ * revocation list, so no node needs a session or a database read per request.
+ * <p>
+ * {@code app.auth.token.keys} lists {@code kid:base64-secret} entries. The first key
+ * signs new tokens, all of them verify; to rotate, prepend a new key and drop the
+ * old one once the tokens it signed have expired.
+ */
+@Service
+public class TokenService {
+    private static final Logger logger = Logger.getLogger(TokenService.class.getName());
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final String JWT_ALGORITHM = "HS256";
+    private static final int MIN_KEY_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public record Claims(Long userId, String email, String role, String jti, Instant expiresAt) {}
+
+    public record IssuedToken(String token, Instant expiresAt) {}
+
+    private final RevokedTokenRepository revokedRepository;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Map<String, SecretKeySpec> keys;
+    private final String signingKeyId;
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TokenService(RevokedTokenRepository revokedRepository,
+                        ObjectMapper objectMapper,
+                        @Value("${app.auth.mode:session}") String mode,
+                        @Value("${app.auth.token.keys:}") String keys,
+                        @Value("${app.auth.token.ttlMinutes:60}") long ttlMinutes) {
+        this(revokedRepository, objectMapper, "token".equalsIgnoreCase(mode), keys, Duration.ofMinutes(ttlMinutes),
+            Clock.systemDefaultZone());
+    }
+
+    TokenService(RevokedTokenRepository revokedRepository, ObjectMapper objectMapper, boolean enabled,
+                 String keys, Duration ttl, Clock clock) {
+        this.revokedRepository = revokedRepository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.keys = parseKeys(keys);
+        this.signingKeyId = this.keys.keySet().iterator().next();
+    }
+
+    /**
+     * Whether logins hand out bearer tokens instead of creating a server-side session.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public IssuedToken issue(User user) {
+        Instant now = clock.instant();
+        Instant expiresAt = now.plus(ttl);
+
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("alg", JWT_ALGORITHM);
+        header.put("typ", "JWT");
+        header.put("kid", signingKeyId);
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("sub", String.valueOf(user.getId()));
+        payload.put("email", user.getEmail());
+        payload.put("role", user.getRole() != null ? user.getRole() : "USER");
+        payload.put("iat", now.getEpochSecond());
+        payload.put("exp", expiresAt.getEpochSecond());
+        payload.put("jti", UUID.randomUUID().toString());
+
+        String signingInput = encode(header) + "." + encode(payload);
+        String signature = ENCODER.encodeToString(sign(keys.get(signingKeyId), signingInput));
+        return new IssuedToken(signingInput + "." + signature, expiresAt);
+    }
+
+    /**
+     * Claims of a well-formed, correctly signed, unexpired and unrevoked token;
+     * empty for anything else.
+     */
+    public Optional<Claims> verify(String token) {
+        String[] parts = token.split("\\.", -1);
+        if (parts.length != 3) {
+            return Optional.empty();
+        }
+        try {
+            JsonNode header = objectMapper.readTree(DECODER.decode(parts[0]));
+            SecretKeySpec key = keys.get(header.path("kid").asText());
+            if (key == null || !JWT_ALGORITHM.equals(header.path("alg").asText())) {
+                return Optional.empty();
+            }
+            byte[] expected = sign(key, parts[0] + "." + parts[1]);
+            if (!MessageDigest.isEqual(expected, DECODER.decode(parts[2]))) {
+                return Optional.empty();
+            }
+
+            JsonNode payload = objectMapper.readTree(DECODER.decode(parts[1]));
+            Instant expiresAt = Instant.ofEpochSecond(payload.path("exp").asLong());
+            String jti = payload.path("jti").asText();
+            if (!clock.instant().isBefore(expiresAt) || jti.isEmpty() || revoked.containsKey(jti)) {
+                return Optional.empty();
+            }
+            return Optional.of(new Claims(Long.valueOf(payload.path("sub").asText()), payload.path("email").asText(),
+                payload.path("role").asText(), jti, expiresAt));
+        } catch (IOException | IllegalArgumentException e) {
+            logger.log(Level.FINE, "Rejected malformed bearer token: {0}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stops accepting the token on this node right away, and on the others once
+     * they next refresh the revocation list.
+     */
+    public void revoke(Claims claims) {
+        revoked.put(claims.jti(), claims.expiresAt());
+        revokedRepository.save(new RevokedToken(claims.jti(), LocalDateTime.ofInstant(claims.expiresAt(), clock.getZone())));
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.token.revocationRefreshMs:5000}")
+    public void refreshRevocations() {
+        if (!enabled) {
+            return;
+        }
+        Instant now = clock.instant();
+        for (RevokedToken row : revokedRepository.findByExpiresAtAfter(LocalDateTime.ofInstant(now, clock.getZone()))) {
+            revoked.put(row.getJti(), row.getExpiresAt().atZone(clock.getZone()).toInstant());
+        }
+        revoked.values().removeIf(expiresAt -> !now.isBefore(expiresAt));
+    }
+
+    @Scheduled(cron = "${app.auth.token.revocationCleanupCron:0 0 * * * *}")
+    public void pruneRevocations() {
+        if (enabled) {
+            revokedRepository.deleteExpired(LocalDateTime.now(clock));
+        }
+    }
+
+    int revokedCount() {
+        return revoked.size();
+    }
+
+    private String encode(Map<String, Object> json) {
+        try {
+            return ENCODER.encodeToString(objectMapper.writeValueAsBytes(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize token", e);
+        }
+    }
+
+    private static byte[] sign(SecretKeySpec key, String signingInput) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 unavailable", e);
+        }
+    }
+
+    private Map<String, SecretKeySpec> parseKeys(String spec) {
+        Map<String, SecretKeySpec> parsed = new LinkedHashMap<>();
+        if (spec != null) {
+            for (String entry : spec.split(",")) {
+                String trimmed = entry.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                int colon = trimmed.indexOf(':');
+                if (colon <= 0) {
+                    throw new IllegalStateException("app.auth.token.keys entries must be kid:base64-secret");
+                }
+                byte[] secret = Base64.getDecoder().decode(trimmed.substring(colon + 1));
+                if (secret.length < MIN_KEY_BYTES) {
+                    throw new IllegalStateException("Token key " + trimmed.substring(0, colon) + " must be at least "
+                        + MIN_KEY_BYTES + " bytes");
+                }
+                parsed.put(trimmed.substring(0, colon), new SecretKeySpec(secret, MAC_ALGORITHM));
+            }
+        }
+        if (parsed.isEmpty()) {
+            if (enabled) {
+                logger.log(Level.WARNING, "No app.auth.token.keys configured; using a random key, tokens will not "
+                    + "verify on other nodes or after a restart");
+            }
+            byte[] secret = new byte[MIN_KEY_BYTES];
+            new SecureRandom().nextBytes(secret);
+            parsed.put("ephemeral", new SecretKeySpec(secret, MAC_ALGORITHM));
+        }
+        return parsed;
+    }
+}
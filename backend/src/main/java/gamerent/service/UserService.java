@@ -1,19 +1,30 @@
 package gamerent.service;
 
 import gamerent.boundary.dto.UserProfileResponse;
+import gamerent.config.PasswordHashingBusyException;
 import gamerent.data.ReviewRepository;
 import gamerent.data.ReviewTargetType;
 import gamerent.data.User;
+import gamerent.data.UserAdminView;
 import gamerent.data.UserRepository;
+import gamerent.data.UserSummaryView;
 import gamerent.data.ItemRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.DoubleSummaryStatistics;
 
 @Service
 public class UserService {
+    public static final int MAX_BATCH_IDS = 100;
+
     private final UserRepository userRepository;
     private final BCryptPasswordEncoder passwordEncoder;
     private final ReviewRepository reviewRepository;
@@ -36,9 +47,42 @@ public class UserService {
     }
 
     public boolean checkPassword(User user, String rawPassword) {
-        return passwordEncoder.matches(rawPassword, user.getPassword());
+        boolean matches = passwordEncoder.matches(rawPassword, user.getPassword());
+        if (matches && passwordEncoder.upgradeEncoding(user.getPassword())) {
+            // The configured cost changed since this hash was made; re-hash while the plain password is at hand
+            try {
+                user.setPassword(passwordEncoder.encode(rawPassword));
+                userRepository.save(user);
+            } catch (PasswordHashingBusyException e) {
+                // Keep the old hash; the next login tries again
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Names for a set of user ids in one query. Unknown ids are left out of the result;
+     * more than {@link #MAX_BATCH_IDS} distinct ids is rejected.
+     */
+    @Transactional(readOnly = true)
+    public List<UserSummaryView> getUserSummaries(Collection<Long> ids) {
+        LinkedHashSet<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        if (distinct.isEmpty()) {
+            return List.of();
+        }
+        if (distinct.size() > MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_IDS + " ids per request");
+        }
+        return userRepository.findSummariesByIdIn(distinct);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<UserAdminView> getUsersPage(int page, int pageSize) {
+        return userRepository.findAdminViews(PageRequest.of(Math.max(page, 0), pageSize));
     }
 
+    @Transactional(readOnly = true)
     public UserProfileResponse getProfile(Long userId) {
         User user = userRepository.findById(userId).orElseThrow(() -> new org.springframework.web.server.ResponseStatusException(org.springframework.http.HttpStatus.NOT_FOUND, "User not found"));
         var reviews = reviewRepository.findByTargetTypeAndTargetId(ReviewTargetType.USER, userId);
@@ -0,0 +1,85 @@
+-- Baseline: the schema as Hibernate generated it under ddl-auto=update.
+-- Databases that already hold this schema are baselined at version 1 and skip this file.
+
+CREATE TABLE "user" (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name     VARCHAR(255),
+    email    VARCHAR(255),
+    password VARCHAR(255),
+    role     VARCHAR(255),
+    CONSTRAINT uk_user_email UNIQUE (email)
+);
+
+CREATE TABLE item (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name            VARCHAR(255),
+    description     VARCHAR(2048),
+    category        VARCHAR(255),
+    image_url       TEXT,
+    price_per_day   DOUBLE PRECISION,
+    available       BOOLEAN,
+    min_rental_days INTEGER,
+    owner_id        BIGINT REFERENCES "user" (id),
+    version         BIGINT DEFAULT 0 NOT NULL
+);
+
+CREATE TABLE booking_request (
+    id                         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    item_id                    BIGINT,
+    user_id                    BIGINT,
+    start_date                 DATE,
+    end_date                   DATE,
+    total_price                DOUBLE PRECISION,
+    status                     VARCHAR(255),
+    payment_status             VARCHAR(255),
+    stripe_checkout_session_id VARCHAR(255),
+    stripe_payment_intent_id   VARCHAR(255),
+    paid_at                    TIMESTAMP(6),
+    approved_at                TIMESTAMP(6),
+    payment_due_at             TIMESTAMP(6),
+    version                    BIGINT DEFAULT 0 NOT NULL
+);
+
+CREATE TABLE chat (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    renter_id  BIGINT NOT NULL REFERENCES "user" (id),
+    owner_id   BIGINT NOT NULL REFERENCES "user" (id),
+    item_id    BIGINT NOT NULL REFERENCES item (id),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_chat_renter_item UNIQUE (renter_id, item_id)
+);
+
+CREATE TABLE message (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    chat_id   BIGINT NOT NULL REFERENCES chat (id),
+    sender_id BIGINT NOT NULL REFERENCES "user" (id),
+    content   VARCHAR(2000) NOT NULL,
+    sent_at   TIMESTAMP(6) NOT NULL,
+    is_read   BOOLEAN NOT NULL
+);
+
+CREATE TABLE review (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    booking_id  BIGINT,
+    reviewer_id BIGINT,
+    target_type VARCHAR(20),
+    target_id   BIGINT,
+    rating      INTEGER,
+    comment     VARCHAR(1024),
+    created_at  TIMESTAMP(6)
+);
+
+CREATE TABLE dispute (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    booking_id    BIGINT NOT NULL,
+    reporter_id   BIGINT NOT NULL,
+    reason        VARCHAR(255) NOT NULL,
+    description   VARCHAR(500),
+    evidence_urls TEXT,
+    status        VARCHAR(255) NOT NULL,
+    admin_notes   TEXT,
+    created_at    TIMESTAMP(6) NOT NULL,
+    updated_at    TIMESTAMP(6),
+    version       BIGINT DEFAULT 0 NOT NULL
+);
@@ -0,0 +1,30 @@
+-- Indexes for the repository lookups on the request path.
+-- IF NOT EXISTS keeps this safe on databases that were baselined from ddl-auto=update.
+
+-- Bookings: per item (optionally by status), per renter, and the overdue-payment sweep
+CREATE INDEX IF NOT EXISTS idx_booking_item_status ON booking_request (item_id, status);
+CREATE INDEX IF NOT EXISTS idx_booking_user ON booking_request (user_id);
+CREATE INDEX IF NOT EXISTS idx_booking_status_due ON booking_request (status, payment_due_at);
+
+-- Chat history and unread counts are always scoped to one chat
+CREATE INDEX IF NOT EXISTS idx_message_chat_sent ON message (chat_id, sent_at);
+
+-- Inbox listings, newest first; renter lookups by item use the unique (renter_id, item_id) key
+CREATE INDEX IF NOT EXISTS idx_chat_renter_updated ON chat (renter_id, updated_at DESC);
+CREATE INDEX IF NOT EXISTS idx_chat_owner_updated ON chat (owner_id, updated_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_review_target ON review (target_type, target_id);
+CREATE INDEX IF NOT EXISTS idx_review_booking ON review (booking_id);
+
+CREATE INDEX IF NOT EXISTS idx_dispute_booking ON dispute (booking_id);
+CREATE INDEX IF NOT EXISTS idx_dispute_status ON dispute (status);
+CREATE INDEX IF NOT EXISTS idx_dispute_reporter ON dispute (reporter_id);
+
+-- Owner dashboards; category filters compare case-insensitively
+CREATE INDEX IF NOT EXISTS idx_item_owner ON item (owner_id);
+CREATE INDEX IF NOT EXISTS idx_item_category_lower ON item (LOWER(category));
+
+-- Previously patched on every startup by DataInitializer.ensureReviewConstraint
+ALTER TABLE review DROP CONSTRAINT IF EXISTS review_target_type_check;
+ALTER TABLE review ALTER COLUMN target_type TYPE VARCHAR(20);
+ALTER TABLE review ADD CONSTRAINT review_target_type_check CHECK (target_type IN ('ITEM', 'USER'));
@@ -0,0 +1,18 @@
+-- Inbox for verified Stripe webhook events. The Stripe event id is the idempotency key:
+-- redeliveries hit the primary key and are dropped at ingestion.
+CREATE TABLE stripe_webhook_event (
+    event_id          VARCHAR(255) PRIMARY KEY,
+    event_type        VARCHAR(255) NOT NULL,
+    session_id        VARCHAR(255),
+    booking_id        BIGINT,
+    payment_intent_id VARCHAR(255),
+    payment_status    VARCHAR(255),
+    payload           TEXT         NOT NULL,
+    status            VARCHAR(255) NOT NULL,
+    note              VARCHAR(500),
+    received_at       TIMESTAMP(6) NOT NULL,
+    processed_at      TIMESTAMP(6)
+);
+
+-- The worker only ever scans the pending tail, oldest first
+CREATE INDEX idx_webhook_event_pending ON stripe_webhook_event (received_at) WHERE status = 'PENDING';
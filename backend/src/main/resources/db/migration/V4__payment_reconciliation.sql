@@ -0,0 +1,12 @@
+-- Leases for jobs that must run on one node at a time. cursor_id is the job's
+-- resume point, kept with the lease so a new holder continues where a crashed one stopped.
+CREATE TABLE job_lease (
+    name        VARCHAR(255) PRIMARY KEY,
+    owner       VARCHAR(255) NOT NULL,
+    lease_until TIMESTAMP(6) NOT NULL,
+    cursor_id   BIGINT       NOT NULL DEFAULT 0
+);
+
+-- Reconciliation scans unpaid bookings that went to Stripe Checkout, in id order
+CREATE INDEX idx_booking_unpaid_checkout ON booking_request (id)
+    WHERE stripe_checkout_session_id IS NOT NULL AND payment_status = 'UNPAID';
@@ -0,0 +1,16 @@
+-- Transactional outbox: domain events are written in the same transaction as the
+-- change that raised them and delivered to handlers afterwards, at least once.
+CREATE TABLE outbox_event (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_type      VARCHAR(255)  NOT NULL,
+    aggregate_id    BIGINT,
+    payload         TEXT          NOT NULL,
+    created_at      TIMESTAMP(6)  NOT NULL,
+    next_attempt_at TIMESTAMP(6)  NOT NULL,
+    attempts        INTEGER       NOT NULL DEFAULT 0,
+    last_error      VARCHAR(1000),
+    published_at    TIMESTAMP(6)
+);
+
+-- The dispatcher only scans the undelivered tail
+CREATE INDEX idx_outbox_event_due ON outbox_event (next_attempt_at, id) WHERE published_at IS NULL;
@@ -0,0 +1,8 @@
+-- Revoked bearer tokens (logout). Rows are only needed until the token would have
+-- expired anyway; every node keeps a copy in memory and refreshes it periodically.
+CREATE TABLE revoked_token (
+    jti        VARCHAR(64)  PRIMARY KEY,
+    expires_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_revoked_token_expires ON revoked_token (expires_at);
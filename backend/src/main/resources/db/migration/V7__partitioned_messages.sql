@@ -0,0 +1,100 @@
+-- Chat messages partitioned by month of sent_at, plus cold storage for archived chats.
+-- Each monthly partition carries its own (chat_id, sent_at) index, so the indexes the
+-- chat screens use stay the size of a month of traffic however large the history grows.
+
+ALTER TABLE message RENAME TO message_unpartitioned;
+ALTER INDEX IF EXISTS message_pkey RENAME TO message_unpartitioned_pkey;
+
+-- The partition key has to be part of the primary key; ids stay unique through the sequence
+CREATE TABLE message (
+    id        BIGINT NOT NULL,
+    chat_id   BIGINT NOT NULL REFERENCES chat (id),
+    sender_id BIGINT NOT NULL REFERENCES "user" (id),
+    content   VARCHAR(2000) NOT NULL,
+    sent_at   TIMESTAMP(6) NOT NULL,
+    is_read   BOOLEAN NOT NULL,
+    PRIMARY KEY (id, sent_at)
+) PARTITION BY RANGE (sent_at);
+
+-- Catches rows outside every monthly partition; the maintenance job keeps months created ahead so it stays empty
+CREATE TABLE message_default PARTITION OF message DEFAULT;
+
+-- Creates the monthly partitions covering [from_month, to_month]; returns how many were new.
+-- search_path is pinned to the migrated schema so callers do not need to qualify anything, and
+-- both functions take the same transaction lock so nodes running maintenance together do not collide.
+CREATE OR REPLACE FUNCTION ensure_message_partitions(from_month DATE, to_month DATE) RETURNS INTEGER
+LANGUAGE plpgsql SET search_path FROM CURRENT AS $$
+DECLARE
+    month_start DATE := date_trunc('month', from_month);
+    part        TEXT;
+    created     INTEGER := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('message_partitions'));
+    WHILE month_start <= date_trunc('month', to_month) LOOP
+        part := 'message_' || to_char(month_start, 'YYYY_MM');
+        IF to_regclass(part) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF message FOR VALUES FROM (%L) TO (%L)',
+                           part, month_start, month_start + INTERVAL '1 month');
+            created := created + 1;
+        END IF;
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+    RETURN created;
+END $$;
+
+-- Drops monthly partitions that end on or before before_month and hold no rows any more
+-- (archival emptied them); returns how many were dropped.
+CREATE OR REPLACE FUNCTION drop_empty_message_partitions(before_month DATE) RETURNS INTEGER
+LANGUAGE plpgsql SET search_path FROM CURRENT AS $$
+DECLARE
+    part     RECORD;
+    has_rows BOOLEAN;
+    dropped  INTEGER := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('message_partitions'));
+    FOR part IN
+        SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'message'::regclass AND c.relname ~ '^message_[0-9]{4}_[0-9]{2}$'
+    LOOP
+        IF to_date(substr(part.relname, 9), 'YYYY_MM') + INTERVAL '1 month' <= before_month THEN
+            EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I)', part.relname) INTO has_rows;
+            IF NOT has_rows THEN
+                EXECUTE format('DROP TABLE %I', part.relname);
+                dropped := dropped + 1;
+            END IF;
+        END IF;
+    END LOOP;
+    RETURN dropped;
+END $$;
+
+SELECT ensure_message_partitions(
+    COALESCE((SELECT min(sent_at) FROM message_unpartitioned), now())::date,
+    (now() + INTERVAL '3 months')::date);
+
+INSERT INTO message (id, chat_id, sender_id, content, sent_at, is_read)
+SELECT id, chat_id, sender_id, content, sent_at, is_read FROM message_unpartitioned;
+
+DROP TABLE message_unpartitioned;
+
+CREATE SEQUENCE message_id_seq OWNED BY message.id;
+ALTER TABLE message ALTER COLUMN id SET DEFAULT nextval('message_id_seq');
+SELECT setval('message_id_seq', COALESCE((SELECT max(id) FROM message), 0) + 1, false);
+
+-- Created on the parent, so every current and future partition gets its own copy
+CREATE INDEX idx_message_chat_sent ON message (chat_id, sent_at);
+-- Unread counts only ever look at unread rows, which are few
+CREATE INDEX idx_message_chat_unread ON message (chat_id, sender_id) WHERE NOT is_read;
+
+-- Cold storage: one row per archived batch of a chat, the messages as a JSON array.
+-- Large values are TOAST-compressed by Postgres, so a batch costs a fraction of its hot rows.
+CREATE TABLE message_archive (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    chat_id       BIGINT NOT NULL REFERENCES chat (id),
+    first_sent_at TIMESTAMP(6) NOT NULL,
+    last_sent_at  TIMESTAMP(6) NOT NULL,
+    message_count INTEGER NOT NULL,
+    messages      JSONB NOT NULL,
+    archived_at   TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_message_archive_chat ON message_archive (chat_id, last_sent_at);
@@ -0,0 +1,24 @@
+-- Cold storage for bookings that can no longer change: rejected or cancelled requests and paid rentals,
+-- moved here a while after they ended. Same columns as booking_request (ids are kept), minus the version.
+CREATE TABLE booking_archive (
+    id                         BIGINT PRIMARY KEY,
+    item_id                    BIGINT,
+    user_id                    BIGINT,
+    start_date                 DATE,
+    end_date                   DATE,
+    total_price                DOUBLE PRECISION,
+    status                     VARCHAR(255),
+    payment_status             VARCHAR(255),
+    stripe_checkout_session_id VARCHAR(255),
+    stripe_payment_intent_id   VARCHAR(255),
+    paid_at                    TIMESTAMP(6),
+    approved_at                TIMESTAMP(6),
+    payment_due_at             TIMESTAMP(6),
+    archived_at                TIMESTAMP(6) NOT NULL
+);
+
+-- History pages, newest rental first
+CREATE INDEX idx_booking_archive_user ON booking_archive (user_id, end_date DESC, id DESC);
+
+-- Archival scans for terminal bookings that ended before the cutoff
+CREATE INDEX idx_booking_status_end ON booking_request (status, end_date);
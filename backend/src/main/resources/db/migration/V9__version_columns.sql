@@ -0,0 +1,5 @@
+-- Optimistic-locking columns for databases baselined at V1: those skipped V1, where the columns are
+-- declared, and still hold the ddl-auto schema from before @Version was added. A no-op everywhere else.
+ALTER TABLE item ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE booking_request ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE dispute ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
@@ -40,6 +40,9 @@ class AdminMetricsControllerTest {
     @MockBean
     private BookingRepository bookingRepository;
 
+    @MockBean
+    private BookingArchiveRepository bookingArchiveRepository;
+
     @MockBean
     private DisputeRepository disputeRepository;
 
@@ -4,6 +4,8 @@ import app.getxray.xray.junit.customjunitxml.annotations.Requirement;
 import app.getxray.xray.junit.customjunitxml.annotations.XrayTest;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import gamerent.data.User;
+import gamerent.service.PrincipalCache;
+import gamerent.service.TokenService;
 import gamerent.service.UserService;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -34,6 +36,12 @@ class AuthControllerTest {
 
     @MockBean
     private UserService userService;
+
+    @MockBean
+    private TokenService tokenService;
+
+    @MockBean
+    private PrincipalCache principalCache;
     @Autowired
     private MockMvc mockMvc;
 
@@ -76,6 +84,8 @@ class AuthControllerTest {
         mocked.setRole("USER");
         when(userService.findByEmail("it-user@example.com")).thenReturn(java.util.Optional.of(mocked));
         when(userService.checkPassword(mocked, "itpass")).thenReturn(true);
+        when(principalCache.get(123L)).thenReturn(java.util.Optional.of(
+            new PrincipalCache.Principal(123L, "it-user@example.com", "it-user", "USER")));
 
         mockMvc.perform(post("/api/auth/login").session(session)
             .contentType(MediaType.APPLICATION_JSON)
@@ -4,17 +4,23 @@ import app.getxray.xray.junit.customjunitxml.annotations.Requirement;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import gamerent.data.BookingRequest;
 import gamerent.data.BookingStatus;
+import gamerent.data.BookingSummaryView;
 import gamerent.data.Item;
 import gamerent.data.User;
 import gamerent.data.UserRepository;
+import gamerent.service.CatalogResponseCache;
+import gamerent.service.BookingArchiveService;
 import gamerent.service.BookingService;
 import gamerent.service.ItemService;
+import gamerent.service.PrincipalCache;
+import gamerent.service.TokenService;
 import gamerent.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -26,7 +32,7 @@ import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.argThat;
  
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -34,6 +40,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+@Import(CatalogResponseCache.class)
 @WebMvcTest(controllers = {gamerent.boundary.AuthController.class, gamerent.boundary.ItemController.class, gamerent.boundary.BookingController.class})
 @AutoConfigureMockMvc(addFilters = false)
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -49,6 +56,12 @@ class BookingFlowTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private TokenService tokenService;
+
+    @MockBean
+    private PrincipalCache principalCache;
+
     @MockBean
     private UserRepository userRepository;
 
@@ -58,6 +71,9 @@ class BookingFlowTest {
     @MockBean
     private BookingService bookingService;
 
+    @MockBean
+    private BookingArchiveService bookingArchiveService;
+
     @Test
     void ownerListingAndBookingFlow() throws Exception {
         // Prepare users
@@ -82,11 +98,12 @@ class BookingFlowTest {
         mockMvc.perform(post("/api/auth/login").session(sessionA).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(Map.of("email","ownerA@example.com","password","passA"))))
                 .andExpect(status().isOk());
 
-        // Owner posts an item - mock userRepository and itemService
+        // Owner posts an item - mock principal cache and itemService
         Item created = new Item(); created.setId(100L); created.setName("Test Game"); created.setDescription("Nice game"); created.setPricePerDay(3.5);
         created.setOwner(owner);
-        when(userRepository.findById(10L)).thenReturn(java.util.Optional.of(owner));
-        when(itemService.addItem(any(Item.class), eq(owner))).thenReturn(created);
+        when(principalCache.get(10L)).thenReturn(java.util.Optional.of(
+            new PrincipalCache.Principal(10L, "ownerA@example.com", "ownerA", "USER")));
+        when(itemService.addItem(any(Item.class), argThat(u -> u.getId() == 10L))).thenReturn(created);
 
         String itemJson = objectMapper.writeValueAsString(Map.of("name","Test Game","description","Nice game","pricePerDay",3.5));
         String itemRes = mockMvc.perform(post("/api/items").session(sessionA).contentType(MediaType.APPLICATION_JSON).content(itemJson)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
@@ -129,8 +146,8 @@ class BookingFlowTest {
         Integer bookingId = (Integer) bookingMap.get("id");
         assertThat(bookingId).isNotNull();
 
-        // Owner fetches incoming requests - mock bookingService.getOwnerBookings
-        when(bookingService.getOwnerBookings(10L)).thenReturn(List.of(booking));
+        // Owner fetches incoming requests - mock bookingService.getOwnerBookingSummaries
+        when(bookingService.getOwnerBookingSummaries(10L)).thenReturn(List.of(BookingSummaryView.from(booking)));
         String requests = mockMvc.perform(get("/api/bookings/requests").session(sessionA)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
         assertThat(requests).contains("PENDING");
 
@@ -141,8 +158,8 @@ class BookingFlowTest {
         mockMvc.perform(put("/api/bookings/" + 555 + "/status").session(sessionA).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(Map.of("status","APPROVED"))))
                 .andExpect(status().isOk());
 
-        // Renter sees booking as APPROVED - mock getUserBookings
-        when(bookingService.getUserBookings(20L)).thenReturn(List.of(approved));
+        // Renter sees booking as APPROVED - mock getUserBookingSummaries
+        when(bookingService.getUserBookingSummaries(20L)).thenReturn(List.of(BookingSummaryView.from(approved)));
         String renterBookings = mockMvc.perform(get("/api/bookings/my-bookings").session(sessionB)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
         assertThat(renterBookings).contains("APPROVED");
     }
@@ -3,15 +3,19 @@ package gamerent.boundary;
 import app.getxray.xray.junit.customjunitxml.annotations.Requirement;
 import app.getxray.xray.junit.customjunitxml.annotations.XrayTest;
 import gamerent.data.Item;
+import gamerent.data.ItemCardView;
 import gamerent.data.User;
 import gamerent.data.UserRepository;
+import gamerent.service.CatalogResponseCache;
 import gamerent.service.ItemService;
+import gamerent.service.PrincipalCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -28,6 +32,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
+@Import(CatalogResponseCache.class)
 @WebMvcTest(ItemController.class)
 @AutoConfigureMockMvc(addFilters = false)
 @Requirement("US1, US4, US10")
@@ -42,6 +47,9 @@ class ItemControllerTest {
     @MockBean
     private UserRepository userRepository;
 
+    @MockBean
+    private PrincipalCache principalCache;
+
     private Item testItem;
     private User testUser;
 
@@ -65,8 +73,8 @@ class ItemControllerTest {
     @XrayTest(key = "ITEM-UNIT-1")
     @Tag("unit")
     void getCatalog_ShouldReturnAllItems() throws Exception {
-        given(itemService.searchAllItemsByNameAndCategory(null, null))
-                .willReturn(List.of(testItem));
+        given(itemService.searchCatalogCards(null, null))
+                .willReturn(List.of(ItemCardView.from(testItem)));
 
         mockMvc.perform(get("/api/items/catalog"))
                 .andExpect(status().isOk())
@@ -78,8 +86,8 @@ class ItemControllerTest {
     @XrayTest(key = "ITEM-UNIT-2")
     @Tag("unit")
     void getCatalog_WithSearch_ShouldReturnFiltered() throws Exception {
-        given(itemService.searchAllItemsByNameAndCategory("PlayStation", null))
-                .willReturn(List.of(testItem));
+        given(itemService.searchCatalogCards("PlayStation", null))
+                .willReturn(List.of(ItemCardView.from(testItem)));
 
         mockMvc.perform(get("/api/items/catalog?q=PlayStation"))
                 .andExpect(status().isOk())
@@ -90,8 +98,8 @@ class ItemControllerTest {
     @XrayTest(key = "ITEM-UNIT-3")
     @Tag("unit")
     void getCatalog_WithCategory_ShouldReturnFiltered() throws Exception {
-        given(itemService.searchAllItemsByNameAndCategory(null, "Console"))
-                .willReturn(List.of(testItem));
+        given(itemService.searchCatalogCards(null, "Console"))
+                .willReturn(List.of(ItemCardView.from(testItem)));
 
         mockMvc.perform(get("/api/items/catalog?category=Console"))
                 .andExpect(status().isOk())
@@ -102,8 +110,8 @@ class ItemControllerTest {
     @XrayTest(key = "ITEM-UNIT-4")
     @Tag("unit")
     void getAllItems_ShouldReturnPaginated() throws Exception {
-        given(itemService.getAllItems())
-                .willReturn(List.of(testItem));
+        given(itemService.getAllItemCards())
+                .willReturn(List.of(ItemCardView.from(testItem)));
 
         mockMvc.perform(get("/api/items"))
                 .andExpect(status().isOk())
@@ -128,7 +136,8 @@ class ItemControllerTest {
     @XrayTest(key = "ITEM-UNIT-6")
     @Tag("unit")
     void addItem_ShouldCreateNewItem() throws Exception {
-        given(userRepository.findById(1L)).willReturn(Optional.of(testUser));
+        given(principalCache.get(1L)).willReturn(Optional.of(
+                new PrincipalCache.Principal(1L, testUser.getEmail(), testUser.getName(), testUser.getRole())));
         given(itemService.addItem(any(Item.class), any(User.class)))
                 .willReturn(testItem);
 
@@ -155,8 +164,8 @@ class ItemControllerTest {
     @XrayTest(key = "ITEM-UNIT-8")
     @Tag("unit")
     void search_ShouldReturnSearchResults() throws Exception {
-        given(itemService.searchItems("PlayStation", null))
-                .willReturn(List.of(testItem));
+        given(itemService.searchCatalogCards("PlayStation", null))
+                .willReturn(List.of(ItemCardView.from(testItem)));
 
         mockMvc.perform(get("/api/items/search?q=PlayStation"))
                 .andExpect(status().isOk())
@@ -167,7 +176,7 @@ class ItemControllerTest {
     @XrayTest(key = "ITEM-UNIT-9")
     @Tag("unit")
     void getCatalog_WithPagination_ShouldReturnPage() throws Exception {
-        given(itemService.searchAllItemsByNameAndCategory(null, null))
+        given(itemService.searchCatalogCards(null, null))
                 .willReturn(List.of());
 
         mockMvc.perform(get("/api/items/catalog?page=1"))
@@ -186,8 +195,8 @@ class ItemControllerTest {
         rentableItem.setAvailable(true);
         rentableItem.setPricePerDay(10.0);
 
-        given(itemService.searchAllItemsByNameAndCategory(null, null))
-                .willReturn(List.of(rentableItem));
+        given(itemService.searchCatalogCards(null, null))
+                .willReturn(List.of(ItemCardView.from(rentableItem)));
 
         mockMvc.perform(get("/api/items/catalog?rentable=true"))
                 .andExpect(status().isOk())
@@ -204,7 +213,7 @@ class ItemControllerTest {
         rentableItem.setAvailable(true);
         rentableItem.setPricePerDay(5.0);
 
-        given(itemService.getAllItems()).willReturn(List.of(rentableItem));
+        given(itemService.getAllItemCards()).willReturn(List.of(ItemCardView.from(rentableItem)));
 
         mockMvc.perform(get("/api/items?rentable=true"))
                 .andExpect(status().isOk())
@@ -241,8 +250,8 @@ class ItemControllerTest {
         rentableItem.setAvailable(true);
         rentableItem.setPricePerDay(10.0);
 
-        given(itemService.searchItems("PlayStation", null))
-                .willReturn(List.of(rentableItem));
+        given(itemService.searchCatalogCards("PlayStation", null))
+                .willReturn(List.of(ItemCardView.from(rentableItem)));
 
         mockMvc.perform(get("/api/items/search?q=PlayStation&rentable=true"))
                 .andExpect(status().isOk())
@@ -0,0 +1,103 @@
+package gamerent.boundary;
+
+import app.getxray.xray.junit.customjunitxml.annotations.Requirement;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gamerent.data.User;
+import gamerent.data.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Token mode with the security filters in place: no server-side session, the
+ * bearer token alone authenticates, and logout revokes it.
+ */
+@SpringBootTest(properties = {
+        "app.auth.mode=token",
+        "app.auth.token.keys=it:c3RhdGVsZXNzLWF1dGgtaXQtc2lnbmluZy1rZXktMzJi"
+})
+@AutoConfigureMockMvc
+@Tag("integration")
+@Requirement("Auth")
+class StatelessAuthIT {
+
+    private static final String EMAIL = "stateless@test.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.findByEmail(EMAIL).ifPresent(userRepository::delete);
+        User user = new User();
+        user.setName("Stateless User");
+        user.setEmail(EMAIL);
+        user.setPassword(passwordEncoder.encode("password"));
+        user.setRole("USER");
+        userRepository.save(user);
+    }
+
+    @Test
+    void bearerTokenAuthenticatesWithoutASession() throws Exception {
+        MvcResult login = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("email", EMAIL, "password", "password"))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.email").value(EMAIL))
+            .andReturn();
+        assertNull(login.getRequest().getSession(false));
+        JsonNode body = objectMapper.readTree(login.getResponse().getContentAsString());
+        String bearer = "Bearer " + body.get("token").asText();
+
+        mockMvc.perform(get("/api/auth/me").header(HttpHeaders.AUTHORIZATION, bearer))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.email").value(EMAIL));
+        mockMvc.perform(get("/api/bookings/my-bookings").header(HttpHeaders.AUTHORIZATION, bearer))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/auth/me")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/bookings/my-bookings")).andExpect(status().is4xxClientError());
+    }
+
+    @Test
+    void logoutRevokesTheToken() throws Exception {
+        MvcResult login = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("email", EMAIL, "password", "password"))))
+            .andExpect(status().isOk())
+            .andReturn();
+        String bearer = "Bearer " + objectMapper.readTree(login.getResponse().getContentAsString()).get("token").asText();
+
+        mockMvc.perform(post("/api/auth/logout").header(HttpHeaders.AUTHORIZATION, bearer))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/auth/me").header(HttpHeaders.AUTHORIZATION, bearer))
+            .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,157 @@
+package gamerent.boundary;
+
+import app.getxray.xray.junit.customjunitxml.annotations.Requirement;
+import gamerent.data.*;
+import gamerent.service.StripeWebhookProcessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@Tag("integration")
+@Requirement("US2, TGR-21")
+class StripeWebhookIT {
+    // Must match stripe.webhookSecret in application-test.properties
+    private static final String SECRET = "whsec_test_secret";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StripeWebhookProcessor processor;
+
+    @Autowired
+    private StripeWebhookEventRepository eventRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private BookingRequest booking;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository.deleteAll();
+        userRepository.findByEmail("webhook-owner@test.com").ifPresent(u -> {
+            for (Item i : itemRepository.findByOwnerId(u.getId())) {
+                bookingRepository.deleteAll(bookingRepository.findByItemId(i.getId()));
+                itemRepository.delete(i);
+            }
+            userRepository.delete(u);
+        });
+
+        User owner = new User();
+        owner.setName("Webhook Owner");
+        owner.setEmail("webhook-owner@test.com");
+        owner.setPassword("password");
+        owner.setRole("USER");
+        owner = userRepository.save(owner);
+
+        Item item = new Item("Webhook Console", "Paid through webhooks", 10.0, null, owner);
+        item = itemRepository.save(item);
+
+        booking = new BookingRequest();
+        booking.setItemId(item.getId());
+        booking.setUserId(owner.getId());
+        booking.setStartDate(LocalDate.of(2035, 12, 1));
+        booking.setEndDate(LocalDate.of(2035, 12, 3));
+        booking.setStatus(BookingStatus.APPROVED);
+        booking.setPaymentStatus(PaymentStatus.UNPAID);
+        booking.setTotalPrice(30.0);
+        booking.setStripeCheckoutSessionId("cs_test_webhook");
+        booking = bookingRepository.save(booking);
+    }
+
+    @Test
+    void signedEvent_ShouldBeStoredOnceAndMarkBookingPaid() throws Exception {
+        String payload = checkoutCompleted("evt_webhook_1", "cs_test_webhook");
+
+        for (int delivery = 0; delivery < 3; delivery++) {
+            mockMvc.perform(post("/api/payments/webhook")
+                            .header("Stripe-Signature", sign(payload))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(payload))
+                    .andExpect(status().isOk());
+        }
+        assertThat(eventRepository.countByStatus(WebhookEventStatus.PENDING)).isEqualTo(1);
+
+        assertThat(processor.processBatch(50)).isEqualTo(1);
+
+        BookingRequest paid = bookingRepository.findById(booking.getId()).orElseThrow();
+        assertThat(paid.getPaymentStatus()).isEqualTo(PaymentStatus.PAID);
+        assertThat(paid.getPaidAt()).isNotNull();
+        assertThat(paid.getStripePaymentIntentId()).isEqualTo("pi_evt_webhook_1");
+        assertThat(eventRepository.findById("evt_webhook_1").orElseThrow().getStatus())
+                .isEqualTo(WebhookEventStatus.PROCESSED);
+        assertThat(processor.processBatch(50)).isZero();
+    }
+
+    @Test
+    void invalidSignature_ShouldBeRejectedAndNotStored() throws Exception {
+        String payload = checkoutCompleted("evt_webhook_2", "cs_test_webhook");
+        String tampered = payload.replace("\"paid\"", "\"unpaid\"");
+
+        mockMvc.perform(post("/api/payments/webhook")
+                        .header("Stripe-Signature", sign(tampered))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isBadRequest());
+
+        assertThat(eventRepository.count()).isZero();
+    }
+
+    @Test
+    void eventForAnotherSession_ShouldBeIgnored() throws Exception {
+        String payload = checkoutCompleted("evt_webhook_3", "cs_test_other");
+
+        mockMvc.perform(post("/api/payments/webhook")
+                        .header("Stripe-Signature", sign(payload))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isOk());
+        processor.processBatch(50);
+
+        assertThat(eventRepository.findById("evt_webhook_3").orElseThrow().getStatus())
+                .isEqualTo(WebhookEventStatus.IGNORED);
+        assertThat(bookingRepository.findById(booking.getId()).orElseThrow().getPaymentStatus())
+                .isEqualTo(PaymentStatus.UNPAID);
+    }
+
+    private String checkoutCompleted(String eventId, String sessionId) {
+        return """
+            {"id": "%s", "object": "event", "type": "checkout.session.completed",
+             "data": {"object": {"id": "%s", "object": "checkout.session", "payment_status": "paid",
+                                 "payment_intent": "pi_%s", "metadata": {"bookingId": "%d"}}}}
+            """.formatted(eventId, sessionId, eventId, booking.getId());
+    }
+
+    // Same scheme Stripe uses: HMAC-SHA256 over "<timestamp>.<payload>"
+    private static String sign(String payload) throws Exception {
+        long timestamp = System.currentTimeMillis() / 1000;
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] digest = mac.doFinal((timestamp + "." + payload).getBytes(StandardCharsets.UTF_8));
+        return "t=" + timestamp + ",v1=" + HexFormat.of().formatHex(digest);
+    }
+}
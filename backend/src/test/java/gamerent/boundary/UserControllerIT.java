@@ -49,26 +49,57 @@ class UserControllerIT {
     @Test
     @XrayTest(key = "TGR-39")
     @Tag("integration")
-    void getAllUsers_ShouldReturnAllUsers() throws Exception {
+    void getUsers_ShouldReturnSummariesForRequestedIds() throws Exception {
         // Create test users
         User user1 = new User();
         user1.setName("User 1");
         user1.setEmail("usertest1@example.com");
         user1.setPassword("password");
         user1.setRole("USER");
-        userRepository.save(user1);
+        user1 = userRepository.save(user1);
 
         User user2 = new User();
         user2.setName("User 2");
         user2.setEmail("usertest2@example.com");
         user2.setPassword("password");
         user2.setRole("OWNER");
-        userRepository.save(user2);
+        user2 = userRepository.save(user2);
 
-        mockMvc.perform(get("/api/users"))
+        mockMvc.perform(get("/api/users").param("ids", user1.getId() + "," + user2.getId() + "," + user1.getId()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(org.hamcrest.Matchers.greaterThanOrEqualTo(2)));
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].name").value("User 1"))
+                .andExpect(jsonPath("$[0].email").doesNotExist())
+                .andExpect(jsonPath("$[0].password").doesNotExist());
+    }
+
+    @Test
+    @Tag("integration")
+    void getUsers_WithoutIds_ShouldNotListEveryone() throws Exception {
+        mockMvc.perform(get("/api/users"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Tag("integration")
+    void getUsersPage_ShouldRequireAdmin() throws Exception {
+        User user1 = new User();
+        user1.setName("User 1");
+        user1.setEmail("usertest1@example.com");
+        user1.setPassword("password");
+        user1.setRole("USER");
+        userRepository.save(user1);
+
+        mockMvc.perform(get("/api/users/admin").sessionAttr("userRole", "USER"))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/api/users/admin").param("pageSize", "1").sessionAttr("userRole", "ADMIN"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()").value(1))
+                .andExpect(jsonPath("$.users[0].password").doesNotExist())
+                .andExpect(jsonPath("$.pageSize").value(1))
+                .andExpect(jsonPath("$.totalCount").value(org.hamcrest.Matchers.greaterThanOrEqualTo(1)));
     }
 
     @Test
@@ -3,6 +3,8 @@ package gamerent.boundary;
 import app.getxray.xray.junit.customjunitxml.annotations.Requirement;
 import app.getxray.xray.junit.customjunitxml.annotations.XrayTest;
 import gamerent.boundary.dto.UserProfileResponse;
+import gamerent.data.UserSummaryView;
+import gamerent.service.PrincipalCache;
 import gamerent.service.UserService;
 import java.util.List;
 import org.junit.jupiter.api.Tag;
@@ -14,7 +16,11 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -33,6 +39,9 @@ class UserControllerTest {
     @MockBean
     private gamerent.data.UserRepository userRepository;
 
+    @MockBean
+    private PrincipalCache principalCache;
+
     @Test
     @XrayTest(key = "USER-UNIT-1")
     @Tag("unit")
@@ -48,5 +57,34 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.reviewCount").value(3))
                 .andExpect(jsonPath("$.itemsCount").value(7));
     }
-}
 
+    @Test
+    @Tag("unit")
+    void getUsers_ShouldReturnSummariesForIds() throws Exception {
+        given(userService.getUserSummaries(List.of(1L, 2L)))
+                .willReturn(List.of(new UserSummaryView(1L, "Alice"), new UserSummaryView(2L, "Bob")));
+
+        mockMvc.perform(get("/api/users").param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[1].name").value("Bob"));
+    }
+
+    @Test
+    @Tag("unit")
+    void getUsers_TooManyIds_ShouldReturnBadRequest() throws Exception {
+        given(userService.getUserSummaries(any())).willThrow(new IllegalArgumentException("At most 100 ids per request"));
+
+        mockMvc.perform(get("/api/users").param("ids", "1,2"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Tag("unit")
+    void getUsersPage_NonAdmin_ShouldReturnForbidden() throws Exception {
+        mockMvc.perform(get("/api/users/admin").sessionAttr("userRole", "USER"))
+                .andExpect(status().isForbidden());
+
+        verify(userService, never()).getUsersPage(anyInt(), anyInt());
+    }
+}
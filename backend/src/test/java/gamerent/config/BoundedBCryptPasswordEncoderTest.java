@@ -0,0 +1,65 @@
+package gamerent.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedBCryptPasswordEncoderTest {
+
+    private BoundedBCryptPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    void hashesAndMatchesOnThePool() {
+        encoder = new BoundedBCryptPasswordEncoder(4, 1, 4, 5000);
+
+        String hash = encoder.encode("secret");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("wrong", hash));
+    }
+
+    @Test
+    void anyCostChangeRequestsARehash() {
+        encoder = new BoundedBCryptPasswordEncoder(10, 1, 4, 5000);
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(11).encode("secret")));
+        assertFalse(encoder.upgradeEncoding("$2a$10$abcdefghijklmnopqrstuu5Zq0ZJ7A1Vh3c2z6wQy7m2v9v0r8K9y"));
+        assertFalse(encoder.upgradeEncoding("plain"));
+        assertFalse(encoder.upgradeEncoding(null));
+    }
+
+    @Test
+    void slowHashIsShedAfterMaxWait() {
+        encoder = new BoundedBCryptPasswordEncoder(12, 1, 4, 1);
+
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("secret"));
+        assertEquals(1, encoder.getShed());
+    }
+
+    @Test
+    void fullQueueIsShedImmediately() throws Exception {
+        encoder = new BoundedBCryptPasswordEncoder(12, 1, 1, 10_000);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (encoder.getQueued() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.matches("c", "$2a$12$x"));
+        assertEquals(1, encoder.getShed());
+        assertNotNull(running.get());
+        assertNotNull(queued.get());
+    }
+}
@@ -0,0 +1,76 @@
+package gamerent.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogSamplingFilterTest {
+    private LoggerContext context;
+    private LogSamplingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.DEBUG);
+        filter = new LogSamplingFilter();
+        filter.setContext(context);
+        filter.setSamples("gamerent.service=4, gamerent.service.ChatService=2");
+        filter.start();
+    }
+
+    @Test
+    void decide_ShouldKeepOneInNForLongestMatchingCategory() {
+        Logger chat = context.getLogger("gamerent.service.ChatService");
+        Logger booking = context.getLogger("gamerent.service.BookingService");
+
+        assertEquals(5, kept(chat, Level.INFO, 10));
+        assertEquals(3, kept(booking, Level.INFO, 12));
+    }
+
+    @Test
+    void decide_WarnAndUnsampledCategories_ShouldAlwaysPass() {
+        Logger chat = context.getLogger("gamerent.service.ChatService");
+        Logger other = context.getLogger("gamerent.boundary.ItemController");
+
+        assertEquals(10, kept(chat, Level.WARN, 10));
+        assertEquals(10, kept(other, Level.INFO, 10));
+    }
+
+    @Test
+    void decide_EnabledChecksAndDisabledLevels_ShouldNotAdvanceSampling() {
+        Logger chat = context.getLogger("gamerent.service.ChatService");
+        chat.setLevel(Level.INFO);
+
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, chat, Level.INFO, null, null, null));
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, chat, Level.DEBUG, "dropped by level", null, null));
+        // The first real event is still the one that is kept
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, chat, Level.INFO, "kept", null, null));
+        assertEquals(FilterReply.DENY, filter.decide(null, chat, Level.INFO, "sampled out", null, null));
+    }
+
+    @Test
+    void setSamples_InvalidEntry_ShouldBeIgnored() {
+        LogSamplingFilter invalid = new LogSamplingFilter();
+        invalid.setContext(context);
+        invalid.setSamples("gamerent.service=zero, =3");
+        Logger chat = context.getLogger("gamerent.service.ChatService");
+
+        assertEquals(FilterReply.NEUTRAL, invalid.decide(null, chat, Level.INFO, "msg", null, null));
+        assertEquals(FilterReply.NEUTRAL, invalid.decide(null, chat, Level.INFO, "msg", null, null));
+    }
+
+    private int kept(Logger logger, Level level, int events) {
+        int kept = 0;
+        for (int i = 0; i < events; i++) {
+            if (filter.decide(null, logger, level, "event {}", new Object[]{i}, null) != FilterReply.DENY) {
+                kept++;
+            }
+        }
+        return kept;
+    }
+}
@@ -0,0 +1,51 @@
+package gamerent.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimitFilterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void allowsBurstThenRefillsAtTheConfiguredRate() {
+        LoginRateLimitFilter filter = new LoginRateLimitFilter(6, 2, 100, now::get);
+
+        assertEquals(0, filter.tryAcquire("10.0.0.1"));
+        assertEquals(0, filter.tryAcquire("10.0.0.1"));
+        assertEquals(10, filter.tryAcquire("10.0.0.1"));
+        // Other clients have their own bucket
+        assertEquals(0, filter.tryAcquire("10.0.0.2"));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(0, filter.tryAcquire("10.0.0.1"));
+        assertTrue(filter.tryAcquire("10.0.0.1") > 0);
+    }
+
+    @Test
+    void rejectedLoginGets429WithRetryAfter() throws Exception {
+        LoginRateLimitFilter filter = new LoginRateLimitFilter(1, 1, 100, now::get);
+
+        MockHttpServletResponse first = login(filter);
+        MockHttpServletResponse second = login(filter);
+
+        assertEquals(200, first.getStatus());
+        assertEquals(429, second.getStatus());
+        assertEquals("60", second.getHeader("Retry-After"));
+    }
+
+    private static MockHttpServletResponse login(LoginRateLimitFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setRemoteAddr("10.0.0.9");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
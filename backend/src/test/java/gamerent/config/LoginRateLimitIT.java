@@ -0,0 +1,49 @@
+package gamerent.config;
+
+import app.getxray.xray.junit.customjunitxml.annotations.Requirement;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Logins arriving through the nginx proxy all come from its address; the limit must still
+ * apply per client, as reported in X-Forwarded-For by the trusted (loopback) proxy.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "server.forward-headers-strategy=native",
+    "app.security.login.perIpPerMinute=1",
+    "app.security.login.burst=1"
+})
+@Tag("integration")
+@Requirement("Auth")
+class LoginRateLimitIT {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void clientsBehindTheSameProxy_ShouldHaveSeparateBuckets() {
+        assertThat(loginFrom("203.0.113.10").getStatusCode().value()).isEqualTo(401);
+        assertThat(loginFrom("203.0.113.10").getStatusCode().value()).isEqualTo(429);
+
+        assertThat(loginFrom("203.0.113.11").getStatusCode().value()).isEqualTo(401);
+    }
+
+    private ResponseEntity<String> loginFrom(String client) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Forwarded-For", client);
+        Map<String, String> body = Map.of("email", "nobody@ratelimit.test", "password", "wrong");
+        return restTemplate.postForEntity("/api/auth/login", new HttpEntity<>(body, headers), String.class);
+    }
+}
@@ -0,0 +1,51 @@
+package gamerent.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gamerent.data.User;
+import gamerent.data.UserRepository;
+import gamerent.service.CatalogResponseCache;
+import gamerent.service.PrincipalCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MetricsConfigTest {
+
+    @Test
+    void catalogCacheMetrics_ShouldTrackHitsMissesAndSize() {
+        CatalogResponseCache cache = new CatalogResponseCache(10, 60, new ObjectMapper());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new MetricsConfig().catalogCacheMetrics(cache).bindTo(registry);
+
+        cache.getOrLoad("a", () -> "A");
+        cache.getOrLoad("a", () -> "A");
+        cache.getOrLoad("b", () -> "B");
+
+        assertEquals(1.0, registry.get("gamerent.cache.requests").tag("result", "hit").functionCounter().count());
+        assertEquals(2.0, registry.get("gamerent.cache.requests").tag("result", "miss").functionCounter().count());
+        assertEquals(2.0, registry.get("gamerent.cache.size").tag("cache", "catalog").gauge().value());
+    }
+
+    @Test
+    void principalCacheMetrics_ShouldTrackHitsMissesAndSize() {
+        UserRepository userRepository = mock(UserRepository.class);
+        User user = new User();
+        user.setId(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        PrincipalCache cache = new PrincipalCache(userRepository, 10, 60);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new MetricsConfig().principalCacheMetrics(cache).bindTo(registry);
+
+        cache.get(1L);
+        cache.get(1L);
+
+        assertEquals(1.0, registry.get("gamerent.cache.requests").tag("cache", "principal").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("gamerent.cache.requests").tag("cache", "principal").tag("result", "miss").functionCounter().count());
+        assertEquals(1.0, registry.get("gamerent.cache.size").tag("cache", "principal").gauge().value());
+    }
+}
@@ -0,0 +1,32 @@
+package gamerent.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PoolAutoSizerTest {
+
+    @Test
+    void startsAtTwoConnectionsPerCoreWithinBounds() {
+        assertEquals(9, PoolAutoSizer.initialSize(4, 4, 40));
+        assertEquals(4, PoolAutoSizer.initialSize(1, 4, 40));
+        assertEquals(40, PoolAutoSizer.initialSize(64, 4, 40));
+    }
+
+    @Test
+    void growsByAQuarterWhileCallersQueuePastTheTargetWait() {
+        assertEquals(12, PoolAutoSizer.nextSize(10, 20.0, 3, 10, 4, 40, 5.0));
+        assertEquals(5, PoolAutoSizer.nextSize(4, 20.0, 1, 4, 4, 40, 5.0));
+        assertEquals(40, PoolAutoSizer.nextSize(38, 20.0, 3, 38, 4, 40, 5.0));
+    }
+
+    @Test
+    void shrinksByOneWhenIdleAndHoldsOtherwise() {
+        assertEquals(9, PoolAutoSizer.nextSize(10, 0.0, 0, 2, 4, 40, 5.0));
+        assertEquals(4, PoolAutoSizer.nextSize(4, 0.0, 0, 0, 4, 40, 5.0));
+        // Busy but nobody waiting long: keep the size
+        assertEquals(10, PoolAutoSizer.nextSize(10, 1.0, 0, 8, 4, 40, 5.0));
+        // A slow acquire with nobody queued and spare connections is not a sizing problem
+        assertEquals(10, PoolAutoSizer.nextSize(10, 20.0, 0, 6, 4, 40, 5.0));
+    }
+}
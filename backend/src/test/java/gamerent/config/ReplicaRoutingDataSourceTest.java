@@ -0,0 +1,127 @@
+package gamerent.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final Map<DataSource, Double> lag = new HashMap<>();
+    private final DataSource primary = dataSource();
+    private final DataSource replicaA = dataSource();
+    private final DataSource replicaB = dataSource();
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        routing = new ReplicaRoutingDataSource(primary, List.of(replicaA, replicaB), replica -> {
+            Double seconds = lag.get(replica);
+            if (seconds == null) {
+                throw new SQLException("connection refused");
+            }
+            return seconds;
+        }, Duration.ofSeconds(5), Duration.ofSeconds(10), 100, now::get);
+        lag.put(replicaA, 0.0);
+        lag.put(replicaB, 0.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingContext.setCaller(null);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void readOnlyTransactionsAlternateBetweenReplicas() throws SQLException {
+        inTransaction(true);
+
+        assertEquals(replicaA, target());
+        assertEquals(replicaB, target());
+        assertEquals(replicaA, target());
+    }
+
+    @Test
+    void writesAndNonTransactionalWorkGoToThePrimary() throws SQLException {
+        assertEquals(primary, target());
+
+        inTransaction(false);
+        assertEquals(primary, target());
+    }
+
+    @Test
+    void laggingOrUnreachableReplicasAreSkippedUntilTheyRecover() throws SQLException {
+        lag.put(replicaA, 30.0);
+        lag.remove(replicaB);
+        routing.checkReplicaLag();
+        inTransaction(true);
+
+        assertEquals(List.of(), routing.usableReplicas());
+        assertEquals(primary, target());
+
+        lag.put(replicaB, 1.0);
+        routing.checkReplicaLag();
+        assertEquals(replicaB, target());
+        assertEquals(replicaB, target());
+    }
+
+    @Test
+    void callerReadsItsOwnWritesFromThePrimaryForAWhile() throws SQLException {
+        ReplicaRoutingContext.setCaller("user:1");
+        inTransaction(false);
+        target();
+
+        inTransaction(true);
+        assertEquals(primary, target());
+
+        // Someone else is not affected
+        ReplicaRoutingContext.setCaller("user:2");
+        assertNotEquals(primary, target());
+
+        ReplicaRoutingContext.setCaller("user:1");
+        now.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        assertNotEquals(primary, target());
+    }
+
+    private void inTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private DataSource target() throws SQLException {
+        Connection connection = routing.getConnection();
+        for (DataSource candidate : List.of(primary, replicaA, replicaB)) {
+            if (candidate.getConnection() == connection) {
+                return candidate;
+            }
+        }
+        throw new AssertionError("Connection from an unknown data source");
+    }
+
+    private static DataSource dataSource() {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        try {
+            when(dataSource.getConnection()).thenReturn(connection);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return dataSource;
+    }
+}
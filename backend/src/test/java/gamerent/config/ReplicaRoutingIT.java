@@ -0,0 +1,71 @@
+package gamerent.config;
+
+import app.getxray.xray.junit.customjunitxml.annotations.Requirement;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing against two local pools: the "replica" is a second, read-only pool on the test
+ * database, told apart by its application_name.
+ */
+@SpringBootTest(properties = {
+    "app.datasource.replicas.urls=${spring.datasource.url}",
+    "app.datasource.replicas.stickySeconds=60"
+})
+@Tag("integration")
+@Requirement("BASE")
+class ReplicaRoutingIT {
+    private static final String APPLICATION_NAME = "SELECT current_setting('application_name')";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        routing.checkReplicaLag();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingContext.setCaller(null);
+    }
+
+    @Test
+    void readOnlyTransactionRunsOnTheReplica() {
+        assertThat(routing.usableReplicas()).containsExactly("replica-0");
+        assertThat(applicationName(true)).isEqualTo("replica-0");
+        assertThat(applicationName(false)).isNotEqualTo("replica-0");
+    }
+
+    @Test
+    void readAfterWriteStaysOnThePrimary() {
+        ReplicaRoutingContext.setCaller("user:it-writer");
+        applicationName(false);
+
+        assertThat(applicationName(true)).isNotEqualTo("replica-0");
+
+        ReplicaRoutingContext.setCaller("user:it-reader");
+        assertThat(applicationName(true)).isEqualTo("replica-0");
+    }
+
+    private String applicationName(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject(APPLICATION_NAME, String.class));
+    }
+}
@@ -0,0 +1,59 @@
+package gamerent.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLogContextInterceptorTest {
+    private final RequestLogContextInterceptor interceptor = new RequestLogContextInterceptor();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @AfterEach
+    void clearMdc() {
+        MDC.clear();
+    }
+
+    @Test
+    void preHandle_ShouldExposeSessionUserAndChatId() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/chats/7/messages");
+        request.getSession(true).setAttribute("userId", 42L);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("chatId", "7"));
+
+        assertTrue(interceptor.preHandle(request, response, new Object()));
+
+        assertEquals("42", MDC.get("userId"));
+        assertEquals("7", MDC.get("chatId"));
+        assertNull(MDC.get("bookingId"));
+    }
+
+    @Test
+    void preHandle_BookingPath_ShouldMapIdToBookingId() {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/bookings/15/status");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", "15"));
+
+        interceptor.preHandle(request, response, new Object());
+
+        assertEquals("15", MDC.get("bookingId"));
+        assertNull(MDC.get("userId"));
+    }
+
+    @Test
+    void afterCompletion_ShouldClearRequestFields() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/payments/booking/3");
+        request.getSession(true).setAttribute("userId", 1L);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("bookingId", "3"));
+        interceptor.preHandle(request, response, new Object());
+
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        assertNull(MDC.get("userId"));
+        assertNull(MDC.get("bookingId"));
+    }
+}
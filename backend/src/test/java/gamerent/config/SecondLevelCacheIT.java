@@ -0,0 +1,112 @@
+package gamerent.config;
+
+import app.getxray.xray.junit.customjunitxml.annotations.Requirement;
+import gamerent.data.Item;
+import gamerent.data.ItemRepository;
+import gamerent.data.User;
+import gamerent.data.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Tag("integration")
+@Requirement("BASE")
+class SecondLevelCacheIT {
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private User owner;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setName("Cache Owner");
+        owner.setEmail("cache-owner@example.com");
+        owner.setPassword("password");
+        owner.setRole("USER");
+        owner = userRepository.save(owner);
+
+        item = new Item("Cached Console", "Read far more than written", 12.0, null, owner);
+        item = itemRepository.save(item);
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteById(item.getId());
+        userRepository.deleteById(owner.getId());
+    }
+
+    @Test
+    void findById_SecondLoad_ShouldNotQueryTheDatabase() {
+        itemRepository.findById(item.getId());
+        long afterFirstLoad = statistics.getPrepareStatementCount();
+
+        Item again = itemRepository.findById(item.getId()).orElseThrow();
+
+        assertThat(afterFirstLoad).isPositive();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(afterFirstLoad);
+        assertThat(again.getOwner().getId()).isEqualTo(owner.getId());
+        assertThat(entityManagerFactory.getCache().contains(User.class, owner.getId())).isTrue();
+    }
+
+    @Test
+    void save_ShouldReplaceTheCachedCopy() {
+        itemRepository.findById(item.getId());
+
+        Item loaded = itemRepository.findById(item.getId()).orElseThrow();
+        loaded.setPricePerDay(15.0);
+        itemRepository.save(loaded);
+
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getPricePerDay()).isEqualTo(15.0);
+    }
+
+    @Test
+    void findForBookingById_ShouldSeeChangesMadeOutsideThisNodesCache() {
+        itemRepository.findById(item.getId());
+        // Another node changing the row leaves this node's cached copy stale
+        jdbcTemplate.update("UPDATE item SET price_per_day = 20.0, available = false WHERE id = ?", item.getId());
+
+        Item fresh = itemRepository.findForBookingById(item.getId()).orElseThrow();
+
+        assertThat(fresh.getPricePerDay()).isEqualTo(20.0);
+        assertThat(fresh.getAvailable()).isFalse();
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getPricePerDay()).isEqualTo(20.0);
+    }
+
+    @Test
+    void findByEmail_Repeated_ShouldBeServedFromQueryCache() {
+        userRepository.findByEmail("cache-owner@example.com");
+        long afterFirstLookup = statistics.getPrepareStatementCount();
+
+        assertThat(userRepository.findByEmail("cache-owner@example.com")).isPresent();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(afterFirstLookup);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,100 @@
+package gamerent.config;
+
+import app.getxray.xray.junit.customjunitxml.annotations.Requirement;
+import gamerent.service.ChatService;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "management.tracing.sampling.probability=1.0",
+    "app.tracing.slowestSpansHeader=true"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Tag("integration")
+@Requirement("US4")
+class TracingIT {
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @Autowired
+    private InMemorySpanExporter exporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        flush();
+        exporter.reset();
+    }
+
+    @Test
+    void serviceCall_ShouldNestRepositorySpanUnderServiceSpan() {
+        chatService.getUserChats(-1L);
+        List<SpanData> spans = flush();
+
+        SpanData service = spans.stream().filter(s -> s.getName().equals("ChatService#getUserChats")).findFirst().orElseThrow();
+        SpanData repository = spans.stream().filter(s -> s.getName().equals("ChatRepository.findByUserId")).findFirst().orElseThrow();
+
+        assertThat(repository.getTraceId()).isEqualTo(service.getTraceId());
+        assertThat(repository.getParentSpanId()).isEqualTo(service.getSpanId());
+        assertThat(repository.getAttributes().asMap().toString()).contains("repository=ChatRepository");
+    }
+
+    @Test
+    void debugHeader_ShouldReportSlowestSpansOfTheRequest() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/items/catalog").header(SlowestSpansFilter.REQUEST_HEADER, "3"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        String header = result.getResponse().getHeader(SlowestSpansFilter.RESPONSE_HEADER);
+        assertThat(header).contains("ItemRepository.findAllCards=");
+        assertThat(header.split(", ")).hasSizeLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void withoutDebugHeader_ShouldNotAddResponseHeader() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/items/catalog"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        assertThat(result.getResponse().getHeader(SlowestSpansFilter.RESPONSE_HEADER)).isNull();
+    }
+
+    private List<SpanData> flush() {
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        return exporter.getFinishedSpanItems();
+    }
+}
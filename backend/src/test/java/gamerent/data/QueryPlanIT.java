@@ -0,0 +1,127 @@
+package gamerent.data;
+
+import app.getxray.xray.junit.customjunitxml.annotations.Requirement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the SQL behind each hot repository query can be answered from the
+ * indexes created in V2__hot_path_indexes.sql and later migrations. The test tables are nearly empty,
+ * so sequential scans are disabled for the transaction to make the planner show
+ * whether a usable index exists at all.
+ */
+@SpringBootTest
+@Transactional
+@Tag("integration")
+@Requirement("US1, US2, US3")
+class QueryPlanIT {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.jpa.properties.hibernate.default_schema:public}")
+    private String schema;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("SET LOCAL search_path TO " + schema);
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    static Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+            Arguments.of("BookingRepository.findByItemId",
+                "SELECT * FROM booking_request WHERE item_id = 1", "idx_booking_item_status"),
+            Arguments.of("BookingRepository.findByItemIdAndStatus",
+                "SELECT * FROM booking_request WHERE item_id = 1 AND status = 'APPROVED'", "idx_booking_item_status"),
+            Arguments.of("BookingRepository.findByUserId",
+                "SELECT * FROM booking_request WHERE user_id = 1", "idx_booking_user"),
+            Arguments.of("BookingRepository.findSummariesByOwnerId",
+                "SELECT b.id FROM booking_request b WHERE b.item_id IN (SELECT i.id FROM item i WHERE i.owner_id = 1)",
+                "idx_item_owner"),
+            Arguments.of("BookingRepository.cancelOverdueUnpaid",
+                "UPDATE booking_request SET status = 'CANCELLED', version = version + 1 WHERE status = 'APPROVED' " +
+                "AND (payment_status IS NULL OR payment_status <> 'PAID') AND payment_due_at < now()",
+                "idx_booking_status_due"),
+            // message is partitioned (V7): plans name each partition's copy of the parent index,
+            // e.g. message_default_chat_id_sent_at_idx for idx_message_chat_sent
+            Arguments.of("MessageRepository.findByChatIdOrderBySentAtAsc",
+                "SELECT * FROM message WHERE chat_id = 1 ORDER BY sent_at ASC", "_chat_id_sent_at_idx"),
+            Arguments.of("MessageRepository.countByChatIdAndIsReadFalseAndSenderIdNot",
+                "SELECT count(*) FROM message WHERE chat_id = 1 AND is_read = false AND sender_id <> 2",
+                "_chat_id_sender_id_idx"),
+            Arguments.of("ChatRepository.findByRenterIdAndItemId",
+                "SELECT * FROM chat WHERE renter_id = 1 AND item_id = 2", "uk_chat_renter_item"),
+            Arguments.of("ChatRepository.findByRenterIdOrderByUpdatedAtDesc",
+                "SELECT * FROM chat WHERE renter_id = 1 ORDER BY updated_at DESC", "idx_chat_renter_updated"),
+            Arguments.of("ChatRepository.findByOwnerIdOrderByUpdatedAtDesc",
+                "SELECT * FROM chat WHERE owner_id = 1 ORDER BY updated_at DESC", "idx_chat_owner_updated"),
+            Arguments.of("ReviewRepository.findByTargetTypeAndTargetId",
+                "SELECT * FROM review WHERE target_type = 'ITEM' AND target_id = 1", "idx_review_target"),
+            Arguments.of("ReviewRepository.findByBookingId",
+                "SELECT * FROM review WHERE booking_id = 1", "idx_review_booking"),
+            Arguments.of("DisputeRepository.findByBookingId",
+                "SELECT * FROM dispute WHERE booking_id = 1", "idx_dispute_booking"),
+            Arguments.of("DisputeRepository.findByStatus",
+                "SELECT * FROM dispute WHERE status = 'SUBMITTED'", "idx_dispute_status"),
+            Arguments.of("DisputeRepository.findByReporterId",
+                "SELECT * FROM dispute WHERE reporter_id = 1", "idx_dispute_reporter"),
+            Arguments.of("ItemRepository.findByOwnerId",
+                "SELECT * FROM item WHERE owner_id = 1", "idx_item_owner"),
+            Arguments.of("ItemRepository.findCardsByCategory",
+                "SELECT i.id, i.name FROM item i LEFT JOIN \"user\" o ON o.id = i.owner_id " +
+                "WHERE lower(i.category) = lower('Console') ORDER BY i.id", "idx_item_category_lower"),
+            Arguments.of("UserRepository.findByEmail",
+                "SELECT * FROM \"user\" WHERE email = 'demo@gamerent.com'", "uk_user_email")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void repositoryQuery_ShouldUseIndex(String query, String sql, String expectedIndex) {
+        String plan = explain(sql);
+
+        assertThat(plan)
+            .as("%s plan:%n%s", query, plan)
+            .contains(expectedIndex)
+            .doesNotContain("Seq Scan on " + tableOf(sql));
+    }
+
+    @Test
+    void reviewTargetType_ShouldBeConstrainedByMigration() {
+        Integer count = jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM information_schema.check_constraints WHERE constraint_schema = ? " +
+            "AND constraint_name = 'review_target_type_check'", Integer.class, schema);
+
+        assertThat(count).isEqualTo(1);
+    }
+
+    private String explain(String sql) {
+        List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        return String.join(System.lineSeparator(), lines);
+    }
+
+    private static String tableOf(String sql) {
+        String[] tokens = sql.split("\\s+");
+        for (int i = 0; i < tokens.length - 1; i++) {
+            if (tokens[i].equalsIgnoreCase("FROM") || tokens[i].equalsIgnoreCase("UPDATE")) {
+                return tokens[i + 1];
+            }
+        }
+        return sql;
+    }
+}
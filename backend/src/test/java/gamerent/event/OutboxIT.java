@@ -0,0 +1,146 @@
+package gamerent.event;
+
+import app.getxray.xray.junit.customjunitxml.annotations.Requirement;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gamerent.data.*;
+import gamerent.service.BookingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Events raised by service calls land in the outbox with their change, and are
+ * delivered at least once.
+ */
+@SpringBootTest
+@Tag("integration")
+@Requirement("US2")
+class OutboxIT {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User owner;
+    private User renter;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+        bookingRepository.deleteAll();
+        for (String email : List.of("outbox-owner@test.com", "outbox-renter@test.com")) {
+            userRepository.findByEmail(email).ifPresent(u -> {
+                itemRepository.deleteAll(itemRepository.findByOwnerId(u.getId()));
+                userRepository.delete(u);
+            });
+        }
+
+        owner = userRepository.save(user("Outbox Owner", "outbox-owner@test.com"));
+        renter = userRepository.save(user("Outbox Renter", "outbox-renter@test.com"));
+        Item newItem = new Item("Outbox Console", "Event source", 10.0, null, owner);
+        newItem.setAvailable(true);
+        item = itemRepository.save(newItem);
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void bookingLifecycleIsRecordedInTheOutbox() {
+        LocalDate start = LocalDate.now().plusDays(10);
+        BookingRequest booking = bookingService.createBooking(item.getId(), renter.getId(), start, start.plusDays(1));
+        bookingService.updateStatus(booking.getId(), BookingStatus.APPROVED, owner.getId());
+        // Saving again without a transition must not raise anything
+        bookingService.updateStatus(booking.getId(), BookingStatus.APPROVED, owner.getId());
+
+        List<OutboxEvent> rows = outboxRepository.findAll();
+        assertEquals(List.of("BookingCreated", "BookingApproved"),
+            rows.stream().sorted((a, b) -> a.getId().compareTo(b.getId())).map(OutboxEvent::getEventType).toList());
+        assertTrue(rows.stream().allMatch(r -> booking.getId().equals(r.getAggregateId())));
+        assertTrue(rows.stream().allMatch(r -> r.getPublishedAt() == null));
+    }
+
+    @Test
+    void relayDeliversEventsAndMarksThemPublished() {
+        LocalDate start = LocalDate.now().plusDays(10);
+        BookingRequest booking = bookingService.createBooking(item.getId(), renter.getId(), start, start.plusDays(2));
+
+        List<DomainEvent> received = new ArrayList<>();
+        OutboxRelay relay = new OutboxRelay(outboxRepository, objectMapper, List.of(received::add), 60);
+
+        assertEquals(1, inTransaction(() -> relay.dispatchBatch(10)));
+        assertEquals(List.of(new DomainEvent.BookingCreated(booking.getId(), item.getId(), renter.getId(),
+            start, start.plusDays(2), 30.0)), received);
+        assertEquals(0, outboxRepository.countByPublishedAtIsNull());
+        assertEquals(0, inTransaction(() -> relay.dispatchBatch(10)));
+    }
+
+    @Test
+    void failedDeliveryIsRetriedLater() {
+        LocalDate start = LocalDate.now().plusDays(10);
+        bookingService.createBooking(item.getId(), renter.getId(), start, start.plusDays(1));
+
+        OutboxRelay failing = new OutboxRelay(outboxRepository, objectMapper, List.of(event -> {
+            throw new IllegalStateException("handler down");
+        }), 60);
+
+        assertEquals(1, inTransaction(() -> failing.dispatchBatch(10)));
+        OutboxEvent row = outboxRepository.findAll().get(0);
+        assertNull(row.getPublishedAt());
+        assertEquals(1, row.getAttempts());
+        assertTrue(row.getLastError().contains("handler down"));
+        assertTrue(row.getNextAttemptAt().isAfter(LocalDateTime.now()));
+
+        // Not due yet, so nothing is claimed until the backoff has passed
+        assertEquals(0, inTransaction(() -> failing.dispatchBatch(10)));
+        row.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outboxRepository.save(row);
+
+        List<DomainEvent> received = new ArrayList<>();
+        OutboxRelay relay = new OutboxRelay(outboxRepository, objectMapper, List.of(received::add), 60);
+        assertEquals(1, inTransaction(() -> relay.dispatchBatch(10)));
+        assertEquals(1, received.size());
+        assertNotNull(outboxRepository.findById(row.getId()).orElseThrow().getPublishedAt());
+    }
+
+    private int inTransaction(java.util.function.IntSupplier work) {
+        Integer result = new TransactionTemplate(transactionManager).execute(status -> work.getAsInt());
+        return result == null ? 0 : result;
+    }
+
+    private static User user(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setRole("USER");
+        return user;
+    }
+}
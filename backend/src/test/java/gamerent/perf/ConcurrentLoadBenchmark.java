@@ -0,0 +1,184 @@
+package gamerent.perf;
+
+import gamerent.service.BookingService;
+import gamerent.service.ChatService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ActiveProfilesResolver;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput of a mixed booking/chat workload from many threads at once, to compare the
+ * connection pool and JDBC settings of the {@code prod} profile against the defaults.
+ *
+ * Run it twice against the same perf schema and compare target/perf/concurrent-*.properties
+ * (the tuned run also logs the change against the last default run):
+ * {@code mvn -Pperf test -Dtest=ConcurrentLoadBenchmark} then the same with {@code -Dperf.tuned=true}.
+ *
+ * System properties: perf.threads (32), perf.loadSeconds (20), perf.bookingShare (0.25),
+ * plus perf.scale and perf.seed as in {@link RepositoryHotPathBenchmark}.
+ */
+@SpringBootTest
+@ActiveProfiles(resolver = ConcurrentLoadBenchmark.TunedProfiles.class)
+@Tag("perf")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ConcurrentLoadBenchmark {
+    private static final Logger logger = Logger.getLogger(ConcurrentLoadBenchmark.class.getName());
+
+    static class TunedProfiles implements ActiveProfilesResolver {
+        @Override
+        public String[] resolve(Class<?> testClass) {
+            return Boolean.getBoolean("perf.tuned") ? new String[]{"perf", "prod"} : new String[]{"perf"};
+        }
+    }
+
+    private final double scale = Double.parseDouble(System.getProperty("perf.scale", "0.01"));
+    private final long seed = Long.getLong("perf.seed", 42L);
+    private final int threads = Integer.getInteger("perf.threads", 32);
+    private final int loadSeconds = Integer.getInteger("perf.loadSeconds", 20);
+    private final double bookingShare = Double.parseDouble(System.getProperty("perf.bookingShare", "0.25"));
+    private final String label = Boolean.getBoolean("perf.tuned") ? "prod" : "default";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private SyntheticDataset dataset;
+
+    @BeforeAll
+    void seed() {
+        dataset = new SyntheticDataset(jdbcTemplate, scale, seed);
+        dataset.ensureSeeded();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void bookingAndChatLoad() throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(loadSeconds);
+        long[][] latencies = new long[threads][];
+        AtomicLong failures = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            int worker = t;
+            workers.execute(() -> latencies[worker] = drive(worker, start, deadline, failures));
+        }
+        start.countDown();
+        workers.shutdown();
+        workers.awaitTermination(loadSeconds + 60L, TimeUnit.SECONDS);
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).toArray();
+        PerfSample sample = PerfSample.of("bookingAndChat." + label, all, 0);
+        double throughput = all.length / (double) loadSeconds;
+        logger.log(Level.INFO, "{0} threads={1} ops/s={2}",
+            new Object[]{sample, threads, String.format(Locale.ROOT, "%.1f", throughput)});
+
+        Properties results = new Properties();
+        results.setProperty("scale", Double.toString(scale));
+        results.setProperty("threads", Integer.toString(threads));
+        results.setProperty("opsPerSecond", String.format(Locale.ROOT, "%.1f", throughput));
+        results.setProperty("p95Millis", String.format(Locale.ROOT, "%.3f", sample.p95Millis()));
+        results.setProperty("p99Millis", String.format(Locale.ROOT, "%.3f", sample.p99Millis()));
+        store(results, Path.of("target", "perf", "concurrent-" + label + ".properties"));
+        compareWithDefaults(throughput, sample);
+
+        assertEquals(0, failures.get(), "Operations failed under load");
+    }
+
+    // One worker: mostly inbox reads, with a share of booking requests (rolled back to keep the dataset's shape)
+    private long[] drive(int worker, CountDownLatch start, long deadline, AtomicLong failures) {
+        long[] nanos = new long[1024];
+        int n = 0;
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new long[0];
+        }
+        for (long i = worker; System.nanoTime() < deadline; i += threads) {
+            long op = i;
+            long started = System.nanoTime();
+            try {
+                if ((op * 2654435761L & 0xffff) < bookingShare * 0x10000) {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        long itemId = 2 + 5 * (op % Math.max(1, dataset.items / 5 - 1));
+                        LocalDate from = LocalDate.now().plusDays(400 + op % 100);
+                        bookingService.createBooking(itemId, dataset.ownerOf(itemId) % dataset.users + 1, from, from.plusDays(7));
+                        status.setRollbackOnly();
+                    });
+                } else {
+                    chatService.getUserChats(1 + (op * 7919) % dataset.users);
+                }
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+                logger.log(Level.WARNING, "Load operation failed: {0}", e.getMessage());
+            }
+            if (n == nanos.length) {
+                nanos = Arrays.copyOf(nanos, n * 2);
+            }
+            nanos[n++] = System.nanoTime() - started;
+        }
+        return Arrays.copyOf(nanos, n);
+    }
+
+    private void compareWithDefaults(double throughput, PerfSample sample) throws IOException {
+        Path defaults = Path.of("target", "perf", "concurrent-default.properties");
+        if (!"prod".equals(label) || !Files.exists(defaults)) {
+            return;
+        }
+        Properties baseline = new Properties();
+        try (InputStream in = Files.newInputStream(defaults)) {
+            baseline.load(in);
+        }
+        double baseThroughput = Double.parseDouble(baseline.getProperty("opsPerSecond"));
+        double baseP95 = Double.parseDouble(baseline.getProperty("p95Millis"));
+        logger.log(Level.INFO, "prod profile vs defaults: ops/s {0} -> {1} ({2}), p95 {3} ms -> {4} ms",
+            new Object[]{baseThroughput, String.format(Locale.ROOT, "%.1f", throughput),
+                String.format(Locale.ROOT, "%+.0f%%", (throughput / baseThroughput - 1) * 100),
+                baseP95, String.format(Locale.ROOT, "%.3f", sample.p95Millis())});
+    }
+
+    private static void store(Properties values, Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (Writer out = Files.newBufferedWriter(file)) {
+            values.store(out, "Concurrent booking/chat load");
+        }
+    }
+}
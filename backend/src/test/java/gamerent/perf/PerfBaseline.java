@@ -0,0 +1,83 @@
+package gamerent.perf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Recorded p95 latency and statements-per-call for each hot path, keyed
+ * {@code <path>.p95Millis} / {@code <path>.statementsPerOp}, plus the
+ * {@code scale} they were recorded at. Timings from a different scale are
+ * not comparable, so a baseline for another scale is ignored.
+ */
+class PerfBaseline {
+    private final Properties values;
+
+    private PerfBaseline(Properties values) {
+        this.values = values;
+    }
+
+    static PerfBaseline load(String resource) throws IOException {
+        Properties props = new Properties();
+        try (InputStream in = PerfBaseline.class.getResourceAsStream(resource)) {
+            if (in != null) {
+                props.load(in);
+            }
+        }
+        return new PerfBaseline(props);
+    }
+
+    static PerfBaseline empty() {
+        return new PerfBaseline(new Properties());
+    }
+
+    boolean appliesTo(double scale) {
+        String recorded = values.getProperty("scale");
+        return recorded != null && Double.parseDouble(recorded) == scale;
+    }
+
+    boolean covers(String path) {
+        return values.containsKey(path + ".p95Millis") && values.containsKey(path + ".statementsPerOp");
+    }
+
+    void record(double scale, PerfSample sample) {
+        values.setProperty("scale", Double.toString(scale));
+        values.setProperty(sample.name() + ".p95Millis", String.format(java.util.Locale.ROOT, "%.3f", sample.p95Millis()));
+        values.setProperty(sample.name() + ".statementsPerOp", String.format(java.util.Locale.ROOT, "%.1f", sample.statementsPerOp()));
+    }
+
+    /**
+     * Regressions of {@code sample} against this baseline. Latency may grow by
+     * {@code threshold} (0.25 = 25%) before it counts; statement counts are
+     * deterministic for a fixed dataset, so any increase counts.
+     */
+    List<String> regressions(PerfSample sample, double threshold) {
+        List<String> found = new ArrayList<>();
+        String p95 = values.getProperty(sample.name() + ".p95Millis");
+        if (p95 != null) {
+            double limit = Double.parseDouble(p95) * (1 + threshold);
+            if (sample.p95Millis() > limit) {
+                found.add(String.format(java.util.Locale.ROOT, "%s p95 %.3f ms exceeds %.3f ms (baseline %s ms + %.0f%%)",
+                    sample.name(), sample.p95Millis(), limit, p95, threshold * 100));
+            }
+        }
+        String statements = values.getProperty(sample.name() + ".statementsPerOp");
+        if (statements != null && sample.statementsPerOp() > Double.parseDouble(statements)) {
+            found.add(String.format(java.util.Locale.ROOT, "%s issues %.1f statements per call, baseline %s",
+                sample.name(), sample.statementsPerOp(), statements));
+        }
+        return found;
+    }
+
+    void store(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (Writer out = Files.newBufferedWriter(file)) {
+            values.store(out, "Repository hot-path baseline; copy to src/test/resources/perf/baseline.properties to adopt");
+        }
+    }
+}
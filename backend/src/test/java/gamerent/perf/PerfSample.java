@@ -0,0 +1,31 @@
+package gamerent.perf;
+
+import java.util.Arrays;
+
+/**
+ * Latency distribution and statement count of one hot path.
+ */
+record PerfSample(String name, int iterations, double p50Millis, double p95Millis, double p99Millis,
+                  double maxMillis, double statementsPerOp) {
+
+    static PerfSample of(String name, long[] nanos, long statements) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return new PerfSample(name, sorted.length,
+            percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+            sorted[sorted.length - 1] / 1_000_000.0,
+            (double) statements / sorted.length);
+    }
+
+    // Nearest-rank percentile, in milliseconds
+    static double percentile(long[] sorted, int p) {
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(java.util.Locale.ROOT, "%-20s n=%d p50=%.3fms p95=%.3fms p99=%.3fms max=%.3fms statements/op=%.1f",
+            name, iterations, p50Millis, p95Millis, p99Millis, maxMillis, statementsPerOp);
+    }
+}
@@ -0,0 +1,202 @@
+package gamerent.perf;
+
+import gamerent.boundary.AdminMetricsController;
+import gamerent.service.BookingService;
+import gamerent.service.ChatService;
+import gamerent.service.DisputeService;
+import gamerent.service.ItemService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Query-plan regression suite for the repository/service hot paths.
+ *
+ * Runs only under the {@code perf} Maven profile ({@code mvn -Pperf test}) against a
+ * dedicated {@code perf} schema. Each path is timed over a rotating set of ids after a
+ * warm-up; p50/p95/p99 and JDBC statements per call go to target/perf/results.properties.
+ * A path fails when its p95 grows past {@code perf.threshold} or it issues more
+ * statements than src/test/resources/perf/baseline.properties allows. A run whose scale
+ * or path has no baseline fails too, unless it is recording one ({@code perf.recordBaseline}).
+ *
+ * System properties: perf.scale (1.0 = 1M items / 10M bookings / 50M messages),
+ * perf.seed, perf.iterations, perf.warmup, perf.threshold, perf.recordBaseline.
+ * Run with {@code -Dapp.cache.hibernate.enabled=false} to compare statements per call
+ * without the second-level cache; openChat is the write path that reads its Item and User
+ * through it. createBooking reads the item past the cache on purpose, so only the owner
+ * lookup can be saved there.
+ */
+@SpringBootTest
+@ActiveProfiles("perf")
+@Tag("perf")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryHotPathBenchmark {
+    private static final Logger logger = Logger.getLogger(RepositoryHotPathBenchmark.class.getName());
+    private static final String NO_BASELINE_HINT = "; run with -Dperf.recordBaseline=true and copy "
+        + "target/perf/baseline.properties to src/test/resources/perf/";
+
+    private final double scale = Double.parseDouble(System.getProperty("perf.scale", "0.01"));
+    private final long seed = Long.getLong("perf.seed", 42L);
+    private final int iterations = Integer.getInteger("perf.iterations", 50);
+    private final int warmup = Integer.getInteger("perf.warmup", 5);
+    private final double threshold = Double.parseDouble(System.getProperty("perf.threshold", "0.25"));
+    private final boolean recordBaseline = Boolean.getBoolean("perf.recordBaseline");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private DisputeService disputeService;
+
+    @Autowired
+    private AdminMetricsController adminMetricsController;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private SyntheticDataset dataset;
+    private PerfBaseline baseline;
+    private final PerfBaseline results = PerfBaseline.empty();
+    private Statistics statistics;
+
+    @BeforeAll
+    void seed() throws IOException {
+        dataset = new SyntheticDataset(jdbcTemplate, scale, seed);
+        dataset.ensureSeeded();
+        // Seeding writes through JDBC, behind the second-level cache's back
+        entityManagerFactory.getCache().evictAll();
+        if (recordBaseline) {
+            logger.log(Level.INFO, "Recording a perf baseline for scale {0}; results are not compared", scale);
+            baseline = PerfBaseline.empty();
+        } else {
+            baseline = PerfBaseline.load("/perf/baseline.properties");
+            assertTrue(baseline.appliesTo(scale), () -> "No perf baseline recorded for perf.scale=" + scale + NO_BASELINE_HINT);
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterAll
+    void writeResults() throws IOException {
+        results.store(Path.of("target", "perf", "results.properties"));
+        if (recordBaseline) {
+            results.store(Path.of("target", "perf", "baseline.properties"));
+        }
+    }
+
+    @Test
+    void catalogSearch() {
+        run("catalogSearch", i -> itemService.searchCatalogCards("item " + (10 + i % 90),
+            SyntheticDataset.CATEGORIES[(int) (i % SyntheticDataset.CATEGORIES.length)]));
+    }
+
+    @Test
+    void ownerBookings() {
+        run("ownerBookings", i -> bookingService.getOwnerBookingSummaries(userId(i)));
+    }
+
+    @Test
+    void inbox() {
+        run("inbox", i -> chatService.getUserChats(userId(i)));
+    }
+
+    @Test
+    void disputeListing() {
+        run("disputeListing", i -> disputeService.getUserDisputes(userId(i), "USER"));
+    }
+
+    @Test
+    void createBooking() {
+        // Rolled back so the dataset keeps its shape; the statements are issued all the same
+        run("createBooking", i -> transactionTemplate.executeWithoutResult(status -> {
+            long itemId = bookableItemId(i);
+            LocalDate start = LocalDate.now().plusDays(400 + i % 100);
+            bookingService.createBooking(itemId, dataset.ownerOf(itemId) % dataset.users + 1, start, start.plusDays(7));
+            status.setRollbackOnly();
+        }));
+    }
+
+    @Test
+    void openChat() {
+        // Item and renter come through findById, i.e. the second-level cache; rolled back like createBooking
+        run("openChat", i -> transactionTemplate.executeWithoutResult(status -> {
+            long itemId = bookableItemId(i);
+            chatService.createOrGetChat(dataset.ownerOf(itemId) % dataset.users + 1, itemId, null);
+            status.setRollbackOnly();
+        }));
+    }
+
+    @Test
+    void adminMetrics() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.getSession(true).setAttribute("userRole", "ADMIN");
+        request.getSession().setAttribute("userId", 1L);
+        run("adminMetrics", i -> adminMetricsController.getMetrics(request));
+    }
+
+    // Spread calls over the user range so consecutive iterations do not hit the same rows
+    private long userId(long i) {
+        return 1 + (i * 7919) % dataset.users;
+    }
+
+    // A small, repeating set of available items (id % 5 != 0), as a popular catalogue would see
+    private long bookableItemId(long i) {
+        return 2 + 5 * (i % 16);
+    }
+
+    private void run(String name, LongConsumer call) {
+        for (int i = 0; i < warmup; i++) {
+            call.accept(i);
+        }
+        statistics.clear();
+        long[] nanos = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long started = System.nanoTime();
+            call.accept(warmup + i);
+            nanos[i] = System.nanoTime() - started;
+        }
+        PerfSample sample = PerfSample.of(name, nanos, statistics.getPrepareStatementCount());
+        logger.log(Level.INFO, "{0}", sample);
+        results.record(scale, sample);
+
+        if (recordBaseline) {
+            return;
+        }
+        assertTrue(baseline.covers(name), () -> "No perf baseline recorded for " + name + NO_BASELINE_HINT);
+        List<String> regressions = baseline.regressions(sample, threshold);
+        assertTrue(regressions.isEmpty(), () -> String.join(System.lineSeparator(), regressions));
+    }
+}
@@ -0,0 +1,143 @@
+package gamerent.perf;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Deterministic synthetic dataset for the performance suite.
+ *
+ * Rows are generated server-side with generate_series, so seeding tens of millions of
+ * rows does not round-trip through JDBC. Every foreign key is derived from the row
+ * number and the seed through a multiplicative hash, so the same scale and seed always
+ * produce the same data and therefore comparable plans and timings.
+ *
+ * At scale 1.0 the dataset is 1M items, 10M bookings and 50M messages.
+ */
+class SyntheticDataset {
+    private static final Logger logger = Logger.getLogger(SyntheticDataset.class.getName());
+
+    static final String[] CATEGORIES = {"Game", "Console", "Accessory"};
+
+    private final JdbcTemplate jdbc;
+    private final long seed;
+    final long users;
+    final long items;
+    final long bookings;
+    final long chats;
+    final long messages;
+    final long disputes;
+
+    SyntheticDataset(JdbcTemplate jdbc, double scale, long seed) {
+        this.jdbc = jdbc;
+        this.seed = seed;
+        this.items = Math.max(100, Math.round(1_000_000 * scale));
+        this.users = Math.max(10, items / 10);
+        this.bookings = items * 10;
+        this.messages = items * 50;
+        this.chats = messages / 25;
+        this.disputes = Math.max(1, bookings / 100);
+    }
+
+    /**
+     * Seeds the dataset unless the schema already holds one of the same shape.
+     * Returns true when rows were (re)generated.
+     */
+    boolean ensureSeeded() {
+        if (count("item") == items && count("booking_request") == bookings && count("message") == messages) {
+            logger.log(Level.INFO, "Reusing synthetic dataset: {0} items, {1} bookings, {2} messages",
+                new Object[]{items, bookings, messages});
+            return false;
+        }
+        long started = System.currentTimeMillis();
+        jdbc.execute("TRUNCATE message, chat, review, dispute, booking_request, item, \"user\" RESTART IDENTITY CASCADE");
+        seedUsers();
+        seedItems();
+        seedBookings();
+        seedChats();
+        seedMessages();
+        seedDisputes();
+        for (String table : new String[]{"\"user\"", "item", "booking_request", "chat", "message", "dispute"}) {
+            jdbc.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), (SELECT max(id) FROM " + table + "))");
+        }
+        jdbc.execute("ANALYZE");
+        logger.log(Level.INFO, "Seeded synthetic dataset in {0} ms", System.currentTimeMillis() - started);
+        return true;
+    }
+
+    /** Owner of item {@code itemId}, matching the owner_id written by seedItems. */
+    long ownerOf(long itemId) {
+        return 1 + itemId % users;
+    }
+
+    /** Deterministic pseudo-random id in [1, bound] for row {@code g}. */
+    private String pick(String g, long bound, long salt) {
+        return "(1 + ((" + g + " * 2654435761 + " + (seed + salt) + ") % " + bound + "))";
+    }
+
+    private void seedUsers() {
+        // The suite calls services directly and never logs these users in
+        jdbc.update("INSERT INTO \"user\" (id, name, email, password, role) " +
+            "SELECT g, 'Perf User ' || g, 'perf' || g || '@gamerent.test', " +
+            "'not-a-password-hash', " +
+            "CASE WHEN g = 1 THEN 'ADMIN' ELSE 'USER' END " +
+            "FROM generate_series(1, ?) g", users);
+    }
+
+    private void seedItems() {
+        jdbc.update("INSERT INTO item (id, name, description, category, image_url, price_per_day, available, " +
+            "min_rental_days, owner_id, version) " +
+            "SELECT g, 'Item ' || g, 'Synthetic item ' || g, " +
+            "(ARRAY['Game','Console','Accessory'])[1 + g % 3], NULL, 5 + (g % 20), g % 5 <> 0, " +
+            "1 + g % 7, 1 + g % ?, 0 " +
+            "FROM generate_series(1, ?) g", users, items);
+    }
+
+    private void seedBookings() {
+        jdbc.update("INSERT INTO booking_request (id, item_id, user_id, start_date, end_date, total_price, status, " +
+            "payment_status, approved_at, payment_due_at, paid_at, version) " +
+            "SELECT g, " + pick("g", items, 1) + ", " + pick("g", users, 2) + ", " +
+            "DATE '2026-01-01' + (g % 365)::int, DATE '2026-01-01' + (g % 365)::int + 3, 30, " +
+            "(ARRAY['PENDING','APPROVED','REJECTED','CANCELLED'])[1 + g % 4], " +
+            "CASE WHEN g % 8 = 1 THEN 'PAID' ELSE 'UNPAID' END, " +
+            "CASE WHEN g % 4 = 1 THEN TIMESTAMP '2026-01-01 12:00' END, " +
+            // Far-future deadline keeps the overdue sweep a no-op across repeated runs
+            "CASE WHEN g % 4 = 1 THEN TIMESTAMP '2099-12-31 23:59' END, " +
+            "CASE WHEN g % 8 = 1 THEN TIMESTAMP '2026-01-01 13:00' END, 0 " +
+            "FROM generate_series(1, ?) g", bookings);
+    }
+
+    private void seedChats() {
+        // item = row mod items and renter shifted by the row's "lap", so (renter_id, item_id) stays unique
+        jdbc.update("INSERT INTO chat (id, renter_id, owner_id, item_id, created_at, updated_at) " +
+            "SELECT g, 1 + ((g - 1) / ? + " + pick("(1 + (g - 1) % " + items + ")", users, 3) + ") % ?, " +
+            "1 + (1 + (g - 1) % ?) % ?, 1 + (g - 1) % ?, " +
+            "TIMESTAMP '2026-01-01' + (g % 100000) * INTERVAL '1 minute', " +
+            "TIMESTAMP '2026-01-01' + (g % 100000) * INTERVAL '1 minute' " +
+            "FROM generate_series(1, ?) g", items, users, items, users, items, chats);
+    }
+
+    private void seedMessages() {
+        // Monthly partitions for the seeded sent_at range, so rows do not pile up in message_default
+        jdbc.execute("SELECT ensure_message_partitions(DATE '2026-01-01', DATE '2026-04-01')");
+        jdbc.update("INSERT INTO message (id, chat_id, sender_id, content, sent_at, is_read) " +
+            "SELECT g, c.id, CASE WHEN g % 2 = 0 THEN c.renter_id ELSE c.owner_id END, " +
+            "'Synthetic message ' || g, c.created_at + (g / ?) * INTERVAL '1 second', g % 3 <> 0 " +
+            "FROM generate_series(1, ?) g JOIN chat c ON c.id = 1 + (g - 1) % ?", chats, messages, chats);
+    }
+
+    private void seedDisputes() {
+        jdbc.update("INSERT INTO dispute (id, booking_id, reporter_id, reason, description, status, created_at, version) " +
+            "SELECT g, b.id, b.user_id, (ARRAY['DAMAGED_ITEM','NO_SHOW','LATE_RETURN','OTHER'])[1 + g % 4], " +
+            "'Synthetic dispute ' || g, (ARRAY['SUBMITTED','UNDER_REVIEW','RESOLVED','REJECTED'])[1 + g % 4], " +
+            "TIMESTAMP '2026-02-01', 0 " +
+            "FROM generate_series(1, ?) g JOIN booking_request b ON b.id = " + pick("g", bookings, 4),
+            disputes);
+    }
+
+    private long count(String table) {
+        Long n = jdbc.queryForObject("SELECT count(*) FROM " + table, Long.class);
+        return n == null ? 0 : n;
+    }
+}
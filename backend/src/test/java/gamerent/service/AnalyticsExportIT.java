@@ -0,0 +1,158 @@
+package gamerent.service;
+
+import app.getxray.xray.junit.customjunitxml.annotations.Requirement;
+import gamerent.data.*;
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bookings export over the test schema, small batches so the stream holds several of them.
+ */
+@SpringBootTest(properties = "app.export.batchRows=2")
+@AutoConfigureMockMvc(addFilters = false)
+@Tag("integration")
+@Requirement("ADMIN")
+class AnalyticsExportIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AnalyticsExportService exportService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User renter;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        User owner = userRepository.save(user("Export Owner", "export-owner@test.com"));
+        renter = userRepository.save(user("Export Renter", "export-renter@test.com"));
+        Item console = new Item("Export Console", "Analytics", 10.0, null, owner);
+        console.setCategory("Console");
+        item = itemRepository.save(console);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    @Test
+    void exportBookings_streamsEveryBookingWithItemColumns() throws Exception {
+        Map<Long, Boolean> expected = new HashMap<>();
+        for (int i = 0; i < 5; i++) {
+            BookingRequest booking = new BookingRequest();
+            booking.setItemId(item.getId());
+            booking.setUserId(renter.getId());
+            booking.setStartDate(LocalDate.of(2036, 1, 1 + i));
+            booking.setEndDate(LocalDate.of(2036, 1, 2 + i));
+            booking.setTotalPrice(20.0);
+            booking.setStatus(BookingStatus.APPROVED);
+            booking.setPaymentStatus(i % 2 == 0 ? PaymentStatus.PAID : PaymentStatus.UNPAID);
+            booking.setPaidAt(i % 2 == 0 ? LocalDateTime.now() : null);
+            expected.put(bookingRepository.save(booking).getId(), false);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.export(ExportDataset.BOOKINGS, out);
+
+        Map<Long, String> categories = new HashMap<>();
+        long read = 0;
+        try (RootAllocator allocator = new RootAllocator();
+             ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(out.toByteArray()),
+                 allocator, CommonsCompressionFactory.INSTANCE)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            while (reader.loadNextBatch()) {
+                BigIntVector ids = (BigIntVector) root.getVector("id");
+                for (int r = 0; r < root.getRowCount(); r++) {
+                    read++;
+                    if (expected.containsKey(ids.get(r))) {
+                        categories.put(ids.get(r), root.getVector("category").getObject(r).toString());
+                        assertEquals(false, root.getVector("archived").getObject(r));
+                    }
+                }
+            }
+        }
+        assertEquals(rows, read);
+        assertEquals(expected.keySet(), categories.keySet());
+        assertTrue(categories.values().stream().allMatch("Console"::equals));
+    }
+
+    @Test
+    void exportEndpoint_streamsForAdminsOnly() throws Exception {
+        MockHttpSession user = new MockHttpSession();
+        user.setAttribute("userId", renter.getId());
+        user.setAttribute("userRole", "USER");
+        mockMvc.perform(get("/api/admin/export/payments").session(user))
+                .andExpect(status().isForbidden());
+
+        MockHttpSession admin = new MockHttpSession();
+        admin.setAttribute("userId", 1L);
+        admin.setAttribute("userRole", "ADMIN");
+        mockMvc.perform(get("/api/admin/export/unknown").session(admin))
+                .andExpect(status().isNotFound());
+
+        MvcResult started = mockMvc.perform(get("/api/admin/export/payments").session(admin))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/vnd.apache.arrow.stream"));
+    }
+
+    private void cleanUp() {
+        for (String email : new String[]{"export-renter@test.com", "export-owner@test.com"}) {
+            userRepository.findByEmail(email).ifPresent(u -> {
+                bookingRepository.deleteAll(bookingRepository.findByUserId(u.getId()));
+                itemRepository.deleteAll(itemRepository.findByOwnerId(u.getId()));
+                userRepository.delete(u);
+            });
+        }
+    }
+
+    private static User user(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setRole("USER");
+        return user;
+    }
+}
@@ -0,0 +1,76 @@
+package gamerent.service;
+
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArrowBatchWriterTest {
+
+    private static final List<ArrowBatchWriter.Column> COLUMNS = List.of(
+        ArrowBatchWriter.Column.bigint("id"),
+        ArrowBatchWriter.Column.text("status"),
+        ArrowBatchWriter.Column.float8("total_price"),
+        ArrowBatchWriter.Column.date("end_date"),
+        ArrowBatchWriter.Column.timestamp("paid_at"),
+        ArrowBatchWriter.Column.bool("archived"));
+
+    @Test
+    void write_splitsRowsIntoBatchesAndRoundTrips() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ArrowBatchWriter writer = new ArrowBatchWriter(COLUMNS, out, 2)) {
+            for (long id = 1; id <= 5; id++) {
+                writer.write(new Object[]{id, "APPROVED", 12.5 * id, Date.valueOf(LocalDate.of(2026, 3, (int) id)),
+                    id % 2 == 0 ? null : Timestamp.valueOf(LocalDateTime.of(2026, 3, 1, 10, 30)), id > 3});
+            }
+            assertEquals(5, writer.rows());
+        }
+
+        List<Integer> batchSizes = new ArrayList<>();
+        try (RootAllocator allocator = new RootAllocator();
+             ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(out.toByteArray()),
+                 allocator, CommonsCompressionFactory.INSTANCE)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            assertEquals(6, root.getSchema().getFields().size());
+            while (reader.loadNextBatch()) {
+                batchSizes.add(root.getRowCount());
+                if (batchSizes.size() == 1) {
+                    assertEquals(1L, root.getVector("id").getObject(0));
+                    assertEquals("APPROVED", root.getVector("status").getObject(0).toString());
+                    assertEquals(12.5, root.getVector("total_price").getObject(0));
+                    assertEquals(LocalDateTime.of(2026, 3, 1, 10, 30), root.getVector("paid_at").getObject(0));
+                    assertTrue(root.getVector("paid_at").isNull(1));
+                    assertEquals(false, root.getVector("archived").getObject(0));
+                }
+            }
+        }
+        assertEquals(List.of(2, 2, 1), batchSizes);
+    }
+
+    @Test
+    void close_withoutRows_writesSchemaOnly() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ArrowBatchWriter writer = new ArrowBatchWriter(COLUMNS, out, 100)) {
+            assertEquals(0, writer.rows());
+        }
+
+        try (RootAllocator allocator = new RootAllocator();
+             ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(out.toByteArray()),
+                 allocator, CommonsCompressionFactory.INSTANCE)) {
+            assertEquals("id", reader.getVectorSchemaRoot().getSchema().getFields().get(0).getName());
+            assertFalse(reader.loadNextBatch());
+        }
+    }
+}
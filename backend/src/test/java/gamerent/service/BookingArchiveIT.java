@@ -0,0 +1,140 @@
+package gamerent.service;
+
+import app.getxray.xray.junit.customjunitxml.annotations.Requirement;
+import gamerent.data.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Archival of ended bookings: only rows that can no longer change leave booking_request,
+ * and they stay readable through the history endpoint.
+ */
+@SpringBootTest(properties = "app.bookings.archive.afterDays=180")
+@AutoConfigureMockMvc(addFilters = false)
+@Tag("integration")
+@Requirement("US2")
+class BookingArchiveIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingArchiveService archiveService;
+
+    @Autowired
+    private BookingArchiveRepository archiveRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private DisputeRepository disputeRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User renter;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        User owner = userRepository.save(user("Archive Booking Owner", "archive-booking-owner@test.com"));
+        renter = userRepository.save(user("Archive Booking Renter", "archive-booking-renter@test.com"));
+        item = itemRepository.save(new Item("Archive Booking Console", "Old rentals", 10.0, null, owner));
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    @Test
+    void archiveEndedBookings_movesOnlyTerminalBookingsPastTheThreshold() throws Exception {
+        LocalDate longAgo = LocalDate.now().minusYears(1);
+        BookingRequest paid = booking(longAgo, BookingStatus.APPROVED, PaymentStatus.PAID);
+        BookingRequest rejected = booking(longAgo.minusDays(10), BookingStatus.REJECTED, PaymentStatus.UNPAID);
+        BookingRequest pending = booking(longAgo, BookingStatus.PENDING, PaymentStatus.UNPAID);
+        BookingRequest recent = booking(LocalDate.now().minusDays(10), BookingStatus.CANCELLED, PaymentStatus.UNPAID);
+        BookingRequest disputed = booking(longAgo, BookingStatus.APPROVED, PaymentStatus.PAID);
+        disputeRepository.save(new Dispute(disputed.getId(), renter.getId(), DisputeReason.DAMAGED_ITEM, "Scratched disc", null));
+
+        assertEquals(2, archiveService.archiveEndedBookings());
+
+        assertFalse(bookingRepository.existsById(paid.getId()));
+        assertFalse(bookingRepository.existsById(rejected.getId()));
+        assertTrue(bookingRepository.existsById(pending.getId()));
+        assertTrue(bookingRepository.existsById(recent.getId()));
+        assertTrue(bookingRepository.existsById(disputed.getId()));
+        assertEquals(PaymentStatus.PAID, archiveRepository.findById(paid.getId()).orElseThrow().getPaymentStatus());
+        assertEquals(0, archiveService.archiveEndedBookings());
+
+        mockMvc.perform(get("/api/bookings/history")
+                .param("userId", renter.getId().toString())
+                .param("pageSize", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookings.length()").value(1))
+                .andExpect(jsonPath("$.bookings[0].id").value(paid.getId()))
+                .andExpect(jsonPath("$.totalCount").value(2))
+                .andExpect(jsonPath("$.totalPages").value(2));
+
+        mockMvc.perform(get("/api/bookings/my-bookings")
+                .param("userId", renter.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+    }
+
+    private void cleanUp() {
+        userRepository.findByEmail("archive-booking-renter@test.com").ifPresent(u -> {
+            archiveRepository.deleteAll(archiveRepository.findAll().stream()
+                    .filter(b -> u.getId().equals(b.getUserId()))
+                    .toList());
+            for (BookingRequest b : bookingRepository.findByUserId(u.getId())) {
+                disputeRepository.deleteAll(disputeRepository.findByBookingId(b.getId()));
+                bookingRepository.delete(b);
+            }
+            userRepository.delete(u);
+        });
+        userRepository.findByEmail("archive-booking-owner@test.com").ifPresent(u -> {
+            itemRepository.deleteAll(itemRepository.findByOwnerId(u.getId()));
+            userRepository.delete(u);
+        });
+    }
+
+    private BookingRequest booking(LocalDate end, BookingStatus status, PaymentStatus paymentStatus) {
+        BookingRequest booking = new BookingRequest();
+        booking.setItemId(item.getId());
+        booking.setUserId(renter.getId());
+        booking.setStartDate(end.minusDays(3));
+        booking.setEndDate(end);
+        booking.setStatus(status);
+        booking.setPaymentStatus(paymentStatus);
+        booking.setTotalPrice(40.0);
+        return bookingRepository.save(booking);
+    }
+
+    private static User user(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setRole("USER");
+        return user;
+    }
+}
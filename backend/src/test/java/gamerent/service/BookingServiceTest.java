@@ -10,6 +10,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -60,7 +61,7 @@ class BookingServiceTest {
     
     @Test
     void createBooking_ShouldCreateWhenNoConflict() {
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(itemRepository.findForBookingById(1L)).thenReturn(Optional.of(item));
         when(bookingRepository.findByItemIdAndStatus(1L, BookingStatus.APPROVED))
             .thenReturn(List.of());
         when(bookingRepository.save(any(BookingRequest.class)))
@@ -86,7 +87,7 @@ class BookingServiceTest {
         existing.setStartDate(LocalDate.now().plusDays(2));
         existing.setEndDate(LocalDate.now().plusDays(3));
         
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(itemRepository.findForBookingById(1L)).thenReturn(Optional.of(item));
         when(bookingRepository.findByItemIdAndStatus(1L, BookingStatus.APPROVED))
             .thenReturn(List.of(existing));
         
@@ -101,7 +102,7 @@ class BookingServiceTest {
 
     @Test
     void createBooking_ShouldValidateStartBeforeEnd() {
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(itemRepository.findForBookingById(1L)).thenReturn(Optional.of(item));
 
         LocalDate start = LocalDate.now().plusDays(5);
         LocalDate end = LocalDate.now().plusDays(1);
@@ -114,7 +115,7 @@ class BookingServiceTest {
 
     @Test
     void createBooking_ShouldValidateDatesNotInPast() {
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(itemRepository.findForBookingById(1L)).thenReturn(Optional.of(item));
         LocalDate pastDate = LocalDate.now().minusDays(1);
 
         LocalDate endDate = pastDate.plusDays(3);
@@ -131,7 +132,7 @@ class BookingServiceTest {
 
     @Test
     void createBooking_ShouldThrowWhenUserIsOwner() {
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(itemRepository.findForBookingById(1L)).thenReturn(Optional.of(item));
         
         // item owner id is 1L (set in setUp)
         LocalDate start = LocalDate.of(2025, 12, 1);
@@ -226,4 +227,68 @@ class BookingServiceTest {
         assertEquals(1, result.size());
         assertEquals(1L, result.get(0).getItemId());
     }
+
+    @Test
+    void getOwnerBookingSummaries_ShouldQueryOnceWithoutWriting() {
+        when(bookingRepository.findSummariesByOwnerId(1L)).thenReturn(List.of(BookingSummaryView.from(booking)));
+
+        List<BookingSummaryView> result = bookingService.getOwnerBookingSummaries(1L);
+
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).itemId());
+        verify(bookingRepository, never()).cancelOverdueUnpaid(any());
+        verify(itemRepository, never()).findByOwnerId(any());
+    }
+
+    @Test
+    void getUserBookingSummaries_ShouldReturnProjection() {
+        when(bookingRepository.findSummariesByUserId(2L)).thenReturn(List.of(BookingSummaryView.from(booking)));
+
+        List<BookingSummaryView> result = bookingService.getUserBookingSummaries(2L);
+
+        assertEquals(1, result.size());
+        assertEquals(BookingStatus.PENDING, result.get(0).status());
+        verify(bookingRepository, never()).cancelOverdueUnpaid(any());
+    }
+
+    @Test
+    void getUserBookingSummaries_OverduePayment_ShouldReadAsCancelled() {
+        booking.setStatus(BookingStatus.APPROVED);
+        booking.setPaymentStatus(PaymentStatus.UNPAID);
+        booking.setPaymentDueAt(LocalDateTime.now().minusMinutes(5));
+        when(bookingRepository.findSummariesByUserId(2L)).thenReturn(List.of(BookingSummaryView.from(booking)));
+
+        List<BookingSummaryView> result = bookingService.getUserBookingSummaries(2L);
+
+        assertEquals(BookingStatus.CANCELLED, result.get(0).status());
+        verify(bookingRepository, never()).cancelOverdueUnpaid(any());
+    }
+
+    @Test
+    void expireOverdueBookings_ShouldCancelInBulk() {
+        when(bookingRepository.cancelOverdueUnpaid(any())).thenReturn(3);
+
+        assertEquals(3, bookingService.expireOverdueBookings());
+    }
+
+    @Test
+    void updateStatus_VersionConflict_ShouldRereadAndRetry() {
+        BookingRequest fresh = new BookingRequest();
+        fresh.setId(1L);
+        fresh.setItemId(1L);
+        fresh.setUserId(2L);
+        fresh.setStatus(BookingStatus.PENDING);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(booking), Optional.of(fresh));
+        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(bookingRepository.save(any(BookingRequest.class)))
+            .thenThrow(new org.springframework.orm.ObjectOptimisticLockingFailureException(BookingRequest.class, 1L))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+
+        BookingRequest result = bookingService.updateStatus(1L, BookingStatus.APPROVED, 1L);
+
+        assertSame(fresh, result);
+        assertEquals(BookingStatus.APPROVED, result.getStatus());
+        assertNotNull(result.getPaymentDueAt());
+        verify(bookingRepository, times(2)).findById(1L);
+    }
 }
@@ -0,0 +1,86 @@
+package gamerent.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogResponseCacheTest {
+
+    @Test
+    void getOrLoad_SameKey_ShouldLoadOnceAndReuseEtag() {
+        CatalogResponseCache cache = new CatalogResponseCache(10, 60, new ObjectMapper());
+        AtomicInteger loads = new AtomicInteger();
+
+        CatalogResponseCache.Entry<String> first = cache.getOrLoad("k", () -> "body-" + loads.incrementAndGet());
+        CatalogResponseCache.Entry<String> second = cache.getOrLoad("k", () -> "body-" + loads.incrementAndGet());
+
+        assertEquals(1, loads.get());
+        assertEquals("body-1", second.body());
+        assertEquals(first.etag(), second.etag());
+        assertTrue(first.etag().startsWith("W/\""));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void invalidate_ShouldReloadWithNewEtag() {
+        CatalogResponseCache cache = new CatalogResponseCache(10, 60, new ObjectMapper());
+        CatalogResponseCache.Entry<String> before = cache.getOrLoad("k", () -> "old");
+
+        cache.invalidate();
+        CatalogResponseCache.Entry<String> after = cache.getOrLoad("k", () -> "new");
+
+        assertEquals("new", after.body());
+        assertNotEquals(before.etag(), after.etag());
+    }
+
+    @Test
+    void etag_SameContent_ShouldMatchAcrossReloadsAndNodes() {
+        CatalogResponseCache node = new CatalogResponseCache(10, 60, new ObjectMapper());
+        CatalogResponseCache otherNode = new CatalogResponseCache(10, 60, new ObjectMapper());
+        CatalogResponseCache.Entry<String> before = node.getOrLoad("k", () -> "same");
+
+        node.invalidate();
+
+        assertEquals(before.etag(), node.getOrLoad("k", () -> "same").etag());
+        assertEquals(before.etag(), otherNode.getOrLoad("k", () -> "same").etag());
+    }
+
+    @Test
+    void getOrLoad_ZeroTtl_ShouldNotCache() {
+        CatalogResponseCache cache = new CatalogResponseCache(10, 0, new ObjectMapper());
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.getOrLoad("k", loads::incrementAndGet);
+        cache.getOrLoad("k", loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void getOrLoad_OverCapacity_ShouldEvictLeastRecentlyUsed() {
+        CatalogResponseCache cache = new CatalogResponseCache(2, 60, new ObjectMapper());
+        cache.getOrLoad("a", () -> 1);
+        cache.getOrLoad("b", () -> 2);
+        cache.getOrLoad("a", () -> 1);
+        cache.getOrLoad("c", () -> 3);
+
+        AtomicInteger reloads = new AtomicInteger();
+        cache.getOrLoad("a", reloads::incrementAndGet);
+        cache.getOrLoad("b", reloads::incrementAndGet);
+
+        assertEquals(1, reloads.get());
+    }
+
+    @Test
+    void key_ShouldNormalizeCaseAndNulls() {
+        assertEquals(CatalogResponseCache.key("catalog", "Zelda", null, false, 0),
+                CatalogResponseCache.key("catalog", "zELDA", null, false, 0));
+        assertNotEquals(CatalogResponseCache.key("catalog", "zelda", "game", false, 0),
+                CatalogResponseCache.key("catalog", "zelda", "game", true, 0));
+    }
+}
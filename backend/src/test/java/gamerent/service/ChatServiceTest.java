@@ -43,6 +43,9 @@ class ChatServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private MessageArchiveService messageArchiveService;
+
     @InjectMocks
     private ChatService chatService;
 
@@ -243,6 +246,20 @@ class ChatServiceTest {
         assertTrue(chats.isEmpty()); // No chats returned because no messages
     }
 
+    @Test
+    void getUserChats_whenOnlyArchivedMessages_returnsChatWithLastArchivedMessage() {
+        when(chatRepository.findByUserId(1L)).thenReturn(Arrays.asList(chat));
+        when(messageRepository.findByChatIdOrderBySentAtAsc(1L)).thenReturn(Collections.emptyList());
+        when(messageArchiveService.hasArchivedMessages(1L)).thenReturn(true);
+        when(messageArchiveService.getLastArchivedContent(1L)).thenReturn(Optional.of("See you"));
+        when(messageRepository.countByChatIdAndIsReadFalseAndSenderIdNot(1L, 1L)).thenReturn(0L);
+
+        List<ChatResponse> chats = chatService.getUserChats(1L);
+
+        assertEquals(1, chats.size());
+        assertEquals("See you", chats.get(0).getLastMessage());
+    }
+
     // ========================
     // getChat tests
     // ========================
@@ -411,6 +428,21 @@ class ChatServiceTest {
         assertTrue(messages.isEmpty());
     }
 
+    @Test
+    void getChatMessages_returnsArchivedMessagesBeforeHotOnes() {
+        MessageResponse archived = new MessageResponse(7L, 1L, 2L, "Owner User", "Old news",
+            LocalDateTime.now().minusYears(1), true);
+        when(chatRepository.findById(1L)).thenReturn(Optional.of(chat));
+        when(messageArchiveService.getArchivedMessages(chat)).thenReturn(List.of(archived));
+        when(messageRepository.findByChatIdOrderBySentAtAsc(1L)).thenReturn(List.of(message));
+
+        List<MessageResponse> messages = chatService.getChatMessages(1L, 1L);
+
+        assertEquals(2, messages.size());
+        assertEquals("Old news", messages.get(0).getContent());
+        assertEquals("Hello!", messages.get(1).getContent());
+    }
+
     @Test
     void getChatMessages_whenUnauthorized_throwsUnauthorizedException() {
         when(chatRepository.findById(1L)).thenReturn(Optional.of(chat));
@@ -0,0 +1,209 @@
+package gamerent.service;
+
+import app.getxray.xray.junit.customjunitxml.annotations.Requirement;
+import gamerent.config.ConcurrentUpdateException;
+import gamerent.data.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrency harness: many threads hammer the same Item, BookingRequest and
+ * Dispute rows through the services. Every write must either succeed (possibly
+ * after an optimistic retry) or fail with ConcurrentUpdateException; nothing
+ * else may escape and no update may be silently lost.
+ */
+@SpringBootTest
+@Tag("integration")
+@Requirement("US2, US5")
+class ConcurrentUpdateIT {
+    private static final int THREADS = 16;
+    private static final int ITERATIONS = 10;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private DisputeService disputeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private DisputeRepository disputeRepository;
+
+    private User owner;
+    private Item item;
+    private BookingRequest booking;
+    private Dispute dispute;
+
+    @BeforeEach
+    void setUp() {
+        cleanup();
+        owner = new User();
+        owner.setName("Concurrency Owner");
+        owner.setEmail("concurrency-owner@test.com");
+        owner.setPassword("password");
+        owner.setRole("USER");
+        owner = userRepository.save(owner);
+
+        item = new Item("Contended Console", "Hot row", 10.0, null, owner);
+        item.setAvailable(true);
+        item = itemRepository.save(item);
+
+        booking = new BookingRequest();
+        booking.setItemId(item.getId());
+        booking.setUserId(owner.getId() + 1000);
+        booking.setStartDate(LocalDate.now().plusDays(30));
+        booking.setEndDate(LocalDate.now().plusDays(32));
+        booking.setStatus(BookingStatus.PENDING);
+        booking = bookingRepository.save(booking);
+
+        dispute = disputeRepository.save(new Dispute(booking.getId(), owner.getId(), DisputeReason.OTHER, "contended", null));
+    }
+
+    @AfterEach
+    void cleanup() {
+        userRepository.findByEmail("concurrency-owner@test.com").ifPresent(u -> {
+            for (Item i : itemRepository.findByOwnerId(u.getId())) {
+                List<BookingRequest> bookings = bookingRepository.findByItemId(i.getId());
+                for (BookingRequest b : bookings) {
+                    disputeRepository.deleteAll(disputeRepository.findByBookingId(b.getId()));
+                }
+                bookingRepository.deleteAll(bookings);
+                itemRepository.delete(i);
+            }
+            userRepository.delete(u);
+        });
+    }
+
+    @Test
+    void staleCopy_ShouldBeRejectedInsteadOfOverwriting() {
+        Item first = itemRepository.findById(item.getId()).orElseThrow();
+        Item second = itemRepository.findById(item.getId()).orElseThrow();
+
+        first.setMinRentalDays(3);
+        itemRepository.save(first);
+        second.setMinRentalDays(5);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> itemRepository.save(second));
+        assertEquals(3, itemRepository.findById(item.getId()).orElseThrow().getMinRentalDays());
+    }
+
+    @Test
+    void bulkExpiry_ShouldRejectStaleBookingCopy() {
+        booking.setStatus(BookingStatus.APPROVED);
+        booking.setPaymentStatus(PaymentStatus.UNPAID);
+        booking.setPaymentDueAt(LocalDateTime.now().minusMinutes(1));
+        booking = bookingRepository.save(booking);
+        BookingRequest stale = bookingRepository.findById(booking.getId()).orElseThrow();
+
+        assertTrue(bookingService.expireOverdueBookings() >= 1);
+        stale.setPaymentStatus(PaymentStatus.PAID);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> bookingRepository.save(stale));
+        assertEquals(BookingStatus.CANCELLED, bookingRepository.findById(booking.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void itemSettings_HammeredFromManyThreads_ShouldCountEveryCommittedWrite() throws Exception {
+        long startVersion = itemRepository.findById(item.getId()).orElseThrow().getVersion();
+        AtomicInteger counter = new AtomicInteger();
+
+        HammerResult result = hammer(() -> {
+            int minRentalDays = counter.getAndIncrement() % 2 == 0 ? 29 : 30;
+            itemService.updateItemSettings(item.getId(), owner.getId(), null, minRentalDays);
+        });
+
+        assertTrue(result.unexpected().isEmpty(), () -> "Unexpected failures: " + result.unexpected());
+        long endVersion = itemRepository.findById(item.getId()).orElseThrow().getVersion();
+        assertTrue(endVersion > startVersion);
+        assertTrue(endVersion - startVersion <= result.succeeded());
+    }
+
+    @Test
+    void bookingStatus_HammeredFromManyThreads_ShouldOnlyFailWithConflict() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+
+        HammerResult result = hammer(() -> {
+            BookingStatus status = counter.getAndIncrement() % 2 == 0 ? BookingStatus.APPROVED : BookingStatus.PENDING;
+            bookingService.updateStatus(booking.getId(), status, owner.getId());
+        });
+
+        assertTrue(result.unexpected().isEmpty(), () -> "Unexpected failures: " + result.unexpected());
+        assertTrue(result.succeeded() > 0);
+        assertTrue(bookingRepository.findById(booking.getId()).orElseThrow().getVersion() > 0);
+    }
+
+    @Test
+    void disputeStatus_HammeredFromManyThreads_ShouldOnlyFailWithConflict() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+
+        HammerResult result = hammer(() -> disputeService.updateDisputeStatus(dispute.getId(),
+                DisputeStatus.UNDER_REVIEW, "note " + counter.incrementAndGet(), "ADMIN"));
+
+        assertTrue(result.unexpected().isEmpty(), () -> "Unexpected failures: " + result.unexpected());
+        Dispute stored = disputeRepository.findById(dispute.getId()).orElseThrow();
+        assertEquals(DisputeStatus.UNDER_REVIEW, stored.getStatus());
+        assertTrue(stored.getVersion() > 0);
+    }
+
+    private record HammerResult(int succeeded, int conflicts, Queue<Throwable> unexpected) {}
+
+    private HammerResult hammer(Runnable write) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        for (int t = 0; t < THREADS; t++) {
+            pool.submit(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        try {
+                            write.run();
+                            succeeded.incrementAndGet();
+                        } catch (ConcurrentUpdateException e) {
+                            conflicts.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            unexpected.add(e);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES), "Hammer threads did not finish");
+        return new HammerResult(succeeded.get(), conflicts.get(), unexpected);
+    }
+}
@@ -0,0 +1,51 @@
+package gamerent.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IgdbPayloadReaderTest {
+
+    private final IgdbPayloadReader reader = new IgdbPayloadReader(new JsonFactory());
+
+    @Test
+    void readGames_ShouldKeepImportedFieldsAndSkipTheRest() throws IOException {
+        String json = """
+            [
+                {"id": 1, "name": "Elden Ring", "rating": 95.1, "platforms": [{"id": 6, "name": "PC"}],
+                 "cover": {"id": 7, "url": "//images.igdb.com/t_thumb/co1.jpg"}, "summary": "Rise, Tarnished"},
+                {"id": 2, "name": "No Cover", "cover": 12345},
+                {"id": 3, "summary": "Nameless"}
+            ]
+            """;
+
+        List<IgdbGame> games = reader.readGames(json);
+
+        assertEquals(2, games.size());
+        assertEquals(new IgdbGame(1L, "Elden Ring", "//images.igdb.com/t_thumb/co1.jpg", "Rise, Tarnished"), games.get(0));
+        assertEquals(new IgdbGame(2L, "No Cover", null, null), games.get(1));
+    }
+
+    @Test
+    void readPlatforms_ShouldReadExpandedLogoUrl() throws IOException {
+        String json = """
+            [{"id": 167, "name": "PlayStation 5", "platform_logo": {"url": "//images.igdb.com/ps5.png"}},
+             {"id": 48, "name": "PlayStation 4", "platform_logo": null}]
+            """;
+
+        List<IgdbPlatform> platforms = reader.readPlatforms(json);
+
+        assertEquals("//images.igdb.com/ps5.png", platforms.get(0).logoUrl());
+        assertNull(platforms.get(1).logoUrl());
+    }
+
+    @Test
+    void read_NonArrayOrNullPayload_ShouldThrow() {
+        assertThrows(IOException.class, () -> reader.readGames("{\"message\": \"Authorization Failure\"}"));
+        assertThrows(IOException.class, () -> reader.readPlatforms(null));
+    }
+}
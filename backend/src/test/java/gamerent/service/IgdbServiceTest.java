@@ -1,6 +1,5 @@
 package gamerent.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,6 +18,8 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -63,11 +64,13 @@ class IgdbServiceTest {
             eq(String.class)
         )).thenReturn(new ResponseEntity<>(jsonResponse, HttpStatus.OK));
 
-        List<JsonNode> result = igdbService.getPopularGames(10);
+        List<IgdbGame> result = igdbService.getPopularGames(10);
 
         assertFalse(result.isEmpty());
         assertEquals(1, result.size());
-        assertEquals("Test Game", result.get(0).get("name").asText());
+        assertEquals("Test Game", result.get(0).name());
+        assertEquals("A test game", result.get(0).summary());
+        assertEquals("//images.igdb.com/igdb/image/upload/t_thumb/test.jpg", result.get(0).coverUrl());
     }
 
     @Test
@@ -79,7 +82,7 @@ class IgdbServiceTest {
             eq(String.class)
         )).thenThrow(new RestClientException("API Error"));
 
-        List<JsonNode> result = igdbService.getPopularGames(10);
+        List<IgdbGame> result = igdbService.getPopularGames(10);
 
         assertTrue(result.isEmpty());
     }
@@ -93,7 +96,7 @@ class IgdbServiceTest {
             eq(String.class)
         )).thenReturn(new ResponseEntity<>("[]", HttpStatus.OK));
 
-        List<JsonNode> result = igdbService.getPopularGames(10);
+        List<IgdbGame> result = igdbService.getPopularGames(10);
 
         assertTrue(result.isEmpty());
     }
@@ -107,7 +110,7 @@ class IgdbServiceTest {
             eq(String.class)
         )).thenReturn(new ResponseEntity<>(null, HttpStatus.OK));
 
-        List<JsonNode> result = igdbService.getPopularGames(10);
+        List<IgdbGame> result = igdbService.getPopularGames(10);
 
         assertTrue(result.isEmpty());
     }
@@ -118,7 +121,7 @@ class IgdbServiceTest {
         ReflectionTestUtils.setField(igdbService, "clientId", null);
         ReflectionTestUtils.setField(igdbService, "authToken", null);
 
-        List<JsonNode> result = igdbService.getPopularGames(10);
+        List<IgdbGame> result = igdbService.getPopularGames(10);
 
         assertTrue(result.isEmpty());
     }
@@ -128,7 +131,7 @@ class IgdbServiceTest {
         ReflectionTestUtils.setField(igdbService, "clientId", "false-client-id");
         ReflectionTestUtils.setField(igdbService, "authToken", "false-token");
 
-        List<JsonNode> result = igdbService.getPopularGames(10);
+        List<IgdbGame> result = igdbService.getPopularGames(10);
 
         assertTrue(result.isEmpty());
     }
@@ -269,4 +272,59 @@ class IgdbServiceTest {
         assertNotNull(result);
         assertTrue(result.contains("PlayStation 5"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void search_ApiError_ShouldServeLastGoodResult() {
+        when(restTemplate.exchange(
+            contains("games"),
+            eq(HttpMethod.POST),
+            any(HttpEntity.class),
+            eq(String.class)
+        )).thenReturn(new ResponseEntity<>("[{\"id\":1,\"name\":\"Zelda\"}]", HttpStatus.OK))
+          .thenThrow(new RestClientException("Read timed out"));
+
+        String first = igdbService.search("Zelda", "Game");
+        String degraded = igdbService.search(" zelda ", "Game");
+
+        assertEquals(first, degraded);
+        assertEquals("[]", igdbService.search("Mario", "Game"));
+    }
+
+    @Test
+    void getPopularGames_RepeatedFailures_ShouldOpenCircuitAndStopCallingApi() {
+        when(restTemplate.exchange(
+            anyString(),
+            eq(HttpMethod.POST),
+            any(HttpEntity.class),
+            eq(String.class)
+        )).thenThrow(new RestClientException("Connection refused"));
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(igdbService.getPopularGames(10).isEmpty());
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, igdbService.circuitState());
+        verify(restTemplate, times(5)).exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(String.class));
+    }
+
+    @Test
+    void getPopularPlatforms_ShouldKeepOnlyPlatformsWithLogo() {
+        String platformsResponse = """
+            [
+                {"id": 167, "name": "PlayStation 5", "platform_logo": {"url": "//images.igdb.com/ps5.png"}},
+                {"id": 48, "name": "PlayStation 4"}
+            ]
+            """;
+        when(restTemplate.exchange(
+            contains("platforms"),
+            eq(HttpMethod.POST),
+            any(HttpEntity.class),
+            eq(String.class)
+        )).thenReturn(new ResponseEntity<>(platformsResponse, HttpStatus.OK));
+
+        List<IgdbPlatform> result = igdbService.getPopularPlatforms();
+
+        assertEquals(1, result.size());
+        assertEquals("PlayStation 5", result.get(0).name());
+    }
+}
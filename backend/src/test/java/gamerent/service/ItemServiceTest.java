@@ -1,6 +1,7 @@
 package gamerent.service;
 
 import gamerent.data.Item;
+import gamerent.data.ItemCardView;
 import gamerent.data.ItemRepository;
 import gamerent.data.User;
 import gamerent.data.BookingRepository;
@@ -402,27 +403,9 @@ class ItemServiceTest {
 
     @Test
     void populateFromIGDB_WithGames_ShouldSaveItems() {
-        String mockGameJson = """
-            [
-                {
-                    "id": 1,
-                    "name": "Test Game",
-                    "summary": "A test game",
-                    "cover": {
-                        "url": "//images.igdb.com/igdb/image/upload/t_thumb/test.jpg"
-                    }
-                }
-            ]
-            """;
-        
-        com.fasterxml.jackson.databind.JsonNode[] games = new com.fasterxml.jackson.databind.JsonNode[1];
-        try {
-            games[0] = new com.fasterxml.jackson.databind.ObjectMapper().readTree(mockGameJson).get(0);
-        } catch (Exception e) {
-            // Ignore
-        }
+        IgdbGame game = new IgdbGame(1L, "Test Game", "//images.igdb.com/igdb/image/upload/t_thumb/test.jpg", "A test game");
 
-        when(igdbService.getPopularGames(0)).thenReturn(java.util.Arrays.asList(games));
+        when(igdbService.getPopularGames(0)).thenReturn(List.of(game));
         when(itemRepository.saveAll(any())).thenReturn(List.of());
 
         itemService.populateFromIGDB(0, owner);
@@ -439,4 +422,26 @@ class ItemServiceTest {
 
         verify(itemRepository, times(1)).saveAll(any());
     }
+
+    @Test
+    void searchCatalogCards_WithQueryAndCategory_ShouldUseCardProjection() {
+        when(itemRepository.fuzzySearchCardsByNameAndCategory("PlayStation", "Console"))
+                .thenReturn(List.of(ItemCardView.from(ps5)));
+
+        List<ItemCardView> res = itemService.searchCatalogCards("PlayStation", "Console");
+
+        assertEquals(1, res.size());
+        assertEquals("Owner", res.get(0).ownerName());
+        verify(itemRepository, never()).fuzzySearchByNameAndCategory(any(), any());
+    }
+
+    @Test
+    void searchCatalogCards_NoFilters_ShouldReturnAllCards() {
+        when(itemRepository.findAllCards()).thenReturn(List.of(ItemCardView.from(ps5), ItemCardView.from(xbox)));
+
+        List<ItemCardView> res = itemService.searchCatalogCards(null, "");
+
+        assertEquals(2, res.size());
+        assertFalse(res.get(0).available());
+    }
 }
@@ -0,0 +1,149 @@
+package gamerent.service;
+
+import app.getxray.xray.junit.customjunitxml.annotations.Requirement;
+import gamerent.boundary.dto.MessageResponse;
+import gamerent.data.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Archival of an inactive chat next to an active one, and reading the history back
+ * across cold and hot storage.
+ */
+@SpringBootTest(properties = "app.messages.archive.inactiveMonths=6")
+@Tag("integration")
+@Requirement("BASE")
+class MessageArchiveIT {
+
+    @Autowired
+    private MessageArchiveService archiveService;
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private MessageArchiveRepository archiveRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private ChatRepository chatRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User renter;
+    private User owner;
+    private Chat inactive;
+    private Chat active;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+        renter = userRepository.save(user("Archive Renter", "archive-renter@test.com"));
+        owner = userRepository.save(user("Archive Owner", "archive-owner@test.com"));
+        Item item = itemRepository.save(new Item("Archive Console", "Old chats", 10.0, null, owner));
+
+        LocalDateTime longAgo = LocalDateTime.now().minusMonths(13);
+        inactive = chat(renter, item, longAgo);
+        message(inactive, renter, "Is it still available?", longAgo.minusDays(1));
+        message(inactive, owner, "Yes, pick it up Friday", longAgo);
+
+        User otherRenter = userRepository.save(user("Archive Other", "archive-other@test.com"));
+        active = chat(otherRenter, item, LocalDateTime.now());
+        message(active, otherRenter, "Hi!", LocalDateTime.now());
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    @Test
+    void archiveInactiveChats_movesOnlyInactiveChatsAndHistoryStaysReadable() {
+        assertEquals(1, archiveService.archiveInactiveChats());
+
+        assertTrue(messageRepository.findByChatIdOrderBySentAtAsc(inactive.getId()).isEmpty());
+        assertEquals(1, messageRepository.findByChatIdOrderBySentAtAsc(active.getId()).size());
+        MessageArchive archive = archiveRepository.findByChatIdOrderByLastSentAtAsc(inactive.getId()).get(0);
+        assertEquals(2, archive.getMessageCount());
+
+        List<MessageResponse> history = chatService.getChatMessages(inactive.getId(), renter.getId());
+        assertEquals(2, history.size());
+        assertEquals("Is it still available?", history.get(0).getContent());
+        assertEquals("Archive Renter", history.get(0).getSenderName());
+        assertEquals("Yes, pick it up Friday", history.get(1).getContent());
+        assertEquals("Archive Owner", history.get(1).getSenderName());
+
+        assertEquals("Yes, pick it up Friday",
+            chatService.getChat(inactive.getId(), renter.getId()).getLastMessage());
+        assertEquals(1, chatService.getUserChats(renter.getId()).size());
+
+        // Nothing left to archive on the next run
+        assertEquals(0, archiveService.archiveInactiveChats());
+    }
+
+    @Test
+    void maintainPartitions_createsMonthsAhead() {
+        archiveService.maintainPartitions();
+
+        String ahead = "message_" + LocalDate.now().plusMonths(3).format(DateTimeFormatter.ofPattern("yyyy_MM"));
+        Integer partitions = jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "JOIN pg_namespace n ON n.oid = c.relnamespace WHERE n.nspname = 'test' AND c.relname = ?",
+            Integer.class, ahead);
+        assertEquals(1, partitions);
+    }
+
+    private void cleanUp() {
+        archiveRepository.deleteAll();
+        messageRepository.deleteAll();
+        chatRepository.deleteAll();
+        for (String email : new String[]{"archive-renter@test.com", "archive-other@test.com", "archive-owner@test.com"}) {
+            userRepository.findByEmail(email).ifPresent(u -> {
+                itemRepository.deleteAll(itemRepository.findByOwnerId(u.getId()));
+                userRepository.delete(u);
+            });
+        }
+    }
+
+    private Chat chat(User chatRenter, Item item, LocalDateTime updatedAt) {
+        Chat chat = new Chat(chatRenter, owner, item);
+        chat.setUpdatedAt(updatedAt);
+        return chatRepository.save(chat);
+    }
+
+    private void message(Chat chat, User sender, String content, LocalDateTime sentAt) {
+        Message message = new Message(chat, sender, content);
+        message.setSentAt(sentAt);
+        messageRepository.save(message);
+    }
+
+    private static User user(String name, String email) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setPassword("password");
+        user.setRole("USER");
+        return user;
+    }
+}
@@ -0,0 +1,55 @@
+package gamerent.service;
+
+import gamerent.config.ConcurrentUpdateException;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticRetryTest {
+
+    @Test
+    void run_ConflictThenSuccess_ShouldRetryAndReturn() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = OptimisticRetry.run("Item 1", () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new ObjectOptimisticLockingFailureException("Item", 1L);
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void run_PersistentConflict_ShouldGiveUpWithConcurrentUpdateException() {
+        AtomicInteger calls = new AtomicInteger();
+
+        ConcurrentUpdateException ex = assertThrows(ConcurrentUpdateException.class, () ->
+            OptimisticRetry.run("Booking 7", () -> {
+                calls.incrementAndGet();
+                throw new ObjectOptimisticLockingFailureException("BookingRequest", 7L);
+            }));
+
+        assertEquals(OptimisticRetry.MAX_ATTEMPTS, calls.get());
+        assertTrue(ex.getMessage().contains("Booking 7"));
+    }
+
+    @Test
+    void run_OtherException_ShouldNotRetry() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(NoSuchElementException.class, () ->
+            OptimisticRetry.run("Dispute 3", () -> {
+                calls.incrementAndGet();
+                throw new NoSuchElementException("Dispute not found");
+            }));
+
+        assertEquals(1, calls.get());
+    }
+}
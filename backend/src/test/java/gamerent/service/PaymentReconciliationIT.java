@@ -0,0 +1,152 @@
+package gamerent.service;
+
+import app.getxray.xray.junit.customjunitxml.annotations.Requirement;
+import gamerent.data.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Reconciliation against a stubbed gateway, with a page size small enough that
+ * every run crosses several keyset pages.
+ */
+@SpringBootTest(properties = {
+        "app.payments.reconcile.chunkSize=2",
+        "app.payments.reconcile.requestsPerSecond=1000"
+})
+@Tag("integration")
+@Requirement("US2, TGR-21")
+class PaymentReconciliationIT {
+
+    @Autowired
+    private PaymentReconciliationService reconciliationService;
+
+    @Autowired
+    private JobLeaseRepository leaseRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockBean
+    private StripeGateway stripeGateway;
+
+    private final List<BookingRequest> bookings = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        leaseRepository.deleteAll();
+        bookingRepository.deleteAll();
+        userRepository.findByEmail("reconcile-owner@test.com").ifPresent(u -> {
+            itemRepository.deleteAll(itemRepository.findByOwnerId(u.getId()));
+            userRepository.delete(u);
+        });
+
+        User owner = new User();
+        owner.setName("Reconcile Owner");
+        owner.setEmail("reconcile-owner@test.com");
+        owner.setPassword("password");
+        owner.setRole("USER");
+        owner = userRepository.save(owner);
+        Item item = itemRepository.save(new Item("Reconcile Console", "Stuck payments", 10.0, null, owner));
+
+        bookings.clear();
+        for (int i = 0; i < 5; i++) {
+            BookingRequest booking = new BookingRequest();
+            booking.setItemId(item.getId());
+            booking.setUserId(owner.getId());
+            booking.setStartDate(LocalDate.of(2035, 12, 1 + i));
+            booking.setEndDate(LocalDate.of(2035, 12, 2 + i));
+            booking.setStatus(BookingStatus.APPROVED);
+            booking.setPaymentStatus(PaymentStatus.UNPAID);
+            booking.setApprovedAt(LocalDateTime.now().minusHours(1));
+            booking.setStripeCheckoutSessionId("cs_reconcile_" + i);
+            bookings.add(bookingRepository.save(booking));
+        }
+
+        // Sessions 0, 2 and 3 were paid; 3 belongs to a booking cancelled in the meantime
+        when(stripeGateway.retrieveCheckoutSession(anyString())).thenAnswer(inv -> {
+            String id = inv.getArgument(0);
+            boolean paid = id.endsWith("_0") || id.endsWith("_2") || id.endsWith("_3");
+            return new StripeCheckoutSession(id, null, paid ? "paid" : "unpaid", "pi_" + id, 1000L);
+        });
+        BookingRequest cancelled = bookings.get(3);
+        cancelled.setStatus(BookingStatus.CANCELLED);
+        bookings.set(3, bookingRepository.save(cancelled));
+    }
+
+    @Test
+    void reconcile_ShouldMarkPaidSessionsAcrossPagesAndReleaseLease() {
+        PaymentReconciliationService.Report report = reconciliationService.reconcile().orElseThrow();
+
+        assertTrue(report.completed());
+        assertEquals(5, report.scanned());
+        assertEquals(2, report.markedPaid());
+        assertEquals(2, report.stillUnpaid());
+        assertEquals(1, report.paidOnInactiveBooking());
+        assertEquals(0, report.failed());
+
+        assertEquals(PaymentStatus.PAID, reload(0).getPaymentStatus());
+        assertEquals("pi_cs_reconcile_0", reload(0).getStripePaymentIntentId());
+        assertNotNull(reload(2).getPaidAt());
+        assertEquals(PaymentStatus.UNPAID, reload(1).getPaymentStatus());
+        assertEquals(PaymentStatus.UNPAID, reload(3).getPaymentStatus());
+
+        JobLease lease = leaseRepository.findById(PaymentReconciliationService.JOB_NAME).orElseThrow();
+        assertEquals(0L, lease.getCursorId());
+        assertFalse(lease.getLeaseUntil().isAfter(LocalDateTime.now()));
+
+        // Nothing left to settle on the next pass, and Stripe is only asked about unpaid bookings
+        PaymentReconciliationService.Report second = reconciliationService.reconcile().orElseThrow();
+        assertEquals(3, second.scanned());
+        assertEquals(0, second.markedPaid());
+    }
+
+    @Test
+    void reconcile_WhenLeaseHeldByAnotherNode_ShouldSkip() {
+        LocalDateTime now = LocalDateTime.now();
+        assertEquals(1, leaseRepository.tryAcquire(PaymentReconciliationService.JOB_NAME, "other-node", now, now.plusMinutes(5)));
+
+        Optional<PaymentReconciliationService.Report> report = reconciliationService.reconcile();
+
+        assertTrue(report.isEmpty());
+        verifyNoInteractions(stripeGateway);
+        assertEquals(PaymentStatus.UNPAID, reload(0).getPaymentStatus());
+    }
+
+    @Test
+    void reconcile_AfterExpiredLeaseOfCrashedRun_ShouldResumeFromCursor() {
+        LocalDateTime past = LocalDateTime.now().minusMinutes(10);
+        leaseRepository.tryAcquire(PaymentReconciliationService.JOB_NAME, "crashed-node", past, past.plusMinutes(5));
+        leaseRepository.renew(PaymentReconciliationService.JOB_NAME, "crashed-node", past.plusMinutes(5), bookings.get(1).getId());
+
+        PaymentReconciliationService.Report report = reconciliationService.reconcile().orElseThrow();
+
+        assertEquals(bookings.get(1).getId(), report.resumedFrom());
+        assertEquals(3, report.scanned());
+        assertEquals(PaymentStatus.UNPAID, reload(0).getPaymentStatus());
+        assertEquals(PaymentStatus.PAID, reload(2).getPaymentStatus());
+    }
+
+    private BookingRequest reload(int index) {
+        return bookingRepository.findById(bookings.get(index).getId()).orElseThrow();
+    }
+}
@@ -0,0 +1,89 @@
+package gamerent.service;
+
+import gamerent.data.BookingRepository;
+import gamerent.data.BookingRequest;
+import gamerent.data.BookingStatus;
+import gamerent.data.JobLeaseRepository;
+import gamerent.data.PaymentStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentReconciliationServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private JobLeaseRepository leaseRepository;
+
+    @Mock
+    private StripeGateway stripeGateway;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PaymentReconciliationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PaymentReconciliationService(bookingRepository, leaseRepository, stripeGateway,
+                transactionManager, new SimpleMeterRegistry(), 10, 1, 100, 7, 300);
+        when(leaseRepository.tryAcquire(anyString(), anyString(), any(), any())).thenReturn(1);
+        when(leaseRepository.renew(anyString(), anyString(), any(), anyLong())).thenReturn(1);
+        when(bookingRepository.findUnpaidCheckoutsAfter(anyLong(), any(), any())).thenReturn(List.of(unpaid()));
+        when(bookingRepository.findAllById(any())).thenAnswer(inv -> List.of(unpaid()));
+        when(stripeGateway.retrieveCheckoutSession("cs_1"))
+                .thenReturn(new StripeCheckoutSession("cs_1", null, "paid", "pi_1", 1000L));
+    }
+
+    @Test
+    void reconcile_ConflictWithWebhook_ShouldRereadAndSettleThePage() {
+        when(bookingRepository.saveAll(any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(BookingRequest.class, 1L))
+                .thenAnswer(inv -> inv.getArgument(0));
+
+        PaymentReconciliationService.Report report = service.reconcile().orElseThrow();
+
+        assertTrue(report.completed());
+        assertEquals(1, report.markedPaid());
+        assertEquals(0, report.failed());
+        verify(bookingRepository, times(2)).findAllById(any());
+    }
+
+    @Test
+    void reconcile_RepeatedConflicts_ShouldCountThePageAsFailedAndStillReport() {
+        when(bookingRepository.saveAll(any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(BookingRequest.class, 1L));
+
+        PaymentReconciliationService.Report report = service.reconcile().orElseThrow();
+
+        assertTrue(report.completed());
+        assertEquals(0, report.markedPaid());
+        assertEquals(1, report.failed());
+        verify(leaseRepository).release(eq(PaymentReconciliationService.JOB_NAME), anyString(), any());
+    }
+
+    private static BookingRequest unpaid() {
+        BookingRequest booking = new BookingRequest();
+        booking.setId(1L);
+        booking.setStatus(BookingStatus.APPROVED);
+        booking.setPaymentStatus(PaymentStatus.UNPAID);
+        booking.setApprovedAt(LocalDateTime.now().minusHours(1));
+        booking.setStripeCheckoutSessionId("cs_1");
+        return booking;
+    }
+}
@@ -0,0 +1,105 @@
+package gamerent.service;
+
+import gamerent.data.User;
+import gamerent.data.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PrincipalCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private PrincipalCache cache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PrincipalCache(userRepository, 2, 60);
+        user = user(1L, "USER");
+    }
+
+    @Test
+    void repeatedLookupsHitTheCache() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        PrincipalCache.Principal first = cache.get(1L).orElseThrow();
+        PrincipalCache.Principal second = cache.get(1L).orElseThrow();
+
+        assertEquals(first, second);
+        assertEquals("USER", second.role());
+        verify(userRepository, times(1)).findById(1L);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void invalidationReloadsTheUser() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user), Optional.of(user(1L, "ADMIN")));
+        cache.get(1L);
+
+        cache.invalidate(1L);
+
+        assertEquals("ADMIN", cache.get(1L).orElseThrow().role());
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void lookupRacingAnInvalidationIsNotCached() {
+        when(userRepository.findById(1L)).thenAnswer(invocation -> {
+            // The user changes while the stale row is being read
+            cache.invalidate(1L);
+            return Optional.of(user);
+        });
+
+        assertTrue(cache.get(1L).isPresent());
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void unknownUsersAreNotCachedAndSizeIsBounded() {
+        when(userRepository.findById(anyLong())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            return id == 99L ? Optional.empty() : Optional.of(user(id, "USER"));
+        });
+
+        assertTrue(cache.get(99L).isEmpty());
+        assertTrue(cache.get(null).isEmpty());
+        cache.get(1L);
+        cache.get(2L);
+        cache.get(3L);
+
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void principalConvertsToADetachedUserWithoutPassword() {
+        user.setPassword("hash");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        User detached = cache.get(1L).orElseThrow().toUser();
+
+        assertEquals(1L, detached.getId());
+        assertEquals("u1@test.com", detached.getEmail());
+        assertNull(detached.getPassword());
+    }
+
+    private static User user(Long id, String role) {
+        User u = new User();
+        u.setId(id);
+        u.setName("User " + id);
+        u.setEmail("u" + id + "@test.com");
+        u.setRole(role);
+        return u;
+    }
+}
@@ -0,0 +1,37 @@
+package gamerent.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    @Test
+    void reserve_ShouldSpaceCallsByInterval() {
+        AtomicLong now = new AtomicLong(1_000);
+        RateLimiter limiter = new RateLimiter(10, now::get);
+
+        assertEquals(0, limiter.reserve());
+        assertEquals(100_000_000L, limiter.reserve());
+        assertEquals(200_000_000L, limiter.reserve());
+    }
+
+    @Test
+    void reserve_AfterIdlePeriod_ShouldNotBankPermits() {
+        AtomicLong now = new AtomicLong();
+        RateLimiter limiter = new RateLimiter(10, now::get);
+        limiter.reserve();
+
+        now.addAndGet(5_000_000_000L);
+
+        assertEquals(0, limiter.reserve());
+        assertEquals(100_000_000L, limiter.reserve());
+    }
+
+    @Test
+    void constructor_ShouldRejectNonPositiveRate() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0));
+    }
+}
@@ -2,12 +2,14 @@ package gamerent.service;
 
 import app.getxray.xray.junit.customjunitxml.annotations.Requirement;
 import app.getxray.xray.junit.customjunitxml.annotations.XrayTest;
+import com.stripe.StripeClient;
 import com.stripe.exception.StripeException;
 import com.stripe.model.checkout.Session;
+import com.stripe.net.RequestOptions;
 import com.stripe.param.checkout.SessionCreateParams;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
-import org.mockito.MockedStatic;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import java.util.Map;
@@ -15,6 +17,7 @@ import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @Requirement("US2, TGR-21")
@@ -40,8 +43,9 @@ class StripeGatewayImplTest {
     @Test
     @XrayTest(key = "PAY-UNIT-8")
     @Tag("unit")
-    void createCheckoutSession_ShouldMapStripeSessionFields() {
-        StripeGatewayImpl gateway = new StripeGatewayImpl("sk_test_123");
+    void createCheckoutSession_ShouldMapStripeSessionFields() throws StripeException {
+        StripeClient client = mock(StripeClient.class, Mockito.RETURNS_DEEP_STUBS);
+        StripeGatewayImpl gateway = new StripeGatewayImpl(client);
 
         StripeCheckoutSessionCreateRequest req = new StripeCheckoutSessionCreateRequest(
                 1234L,
@@ -59,23 +63,49 @@ class StripeGatewayImplTest {
         when(session.getPaymentIntent()).thenReturn("pi_test_123");
         when(session.getAmountTotal()).thenReturn(1234L);
 
-        try (MockedStatic<Session> mocked = Mockito.mockStatic(Session.class)) {
-            mocked.when(() -> Session.create(any(SessionCreateParams.class))).thenReturn(session);
+        when(client.checkout().sessions().create(any(SessionCreateParams.class), any(RequestOptions.class)))
+                .thenReturn(session);
 
-            StripeCheckoutSession out = gateway.createCheckoutSession(req);
-            assertEquals("cs_test_123", out.id());
-            assertEquals("https://stripe.test/checkout/cs_test_123", out.url());
-            assertEquals("unpaid", out.paymentStatus());
-            assertEquals("pi_test_123", out.paymentIntentId());
-            assertEquals(1234L, out.amountTotal());
-        }
+        StripeCheckoutSession out = gateway.createCheckoutSession(req);
+        assertEquals("cs_test_123", out.id());
+        assertEquals("https://stripe.test/checkout/cs_test_123", out.url());
+        assertEquals("unpaid", out.paymentStatus());
+        assertEquals("pi_test_123", out.paymentIntentId());
+        assertEquals(1234L, out.amountTotal());
+    }
+
+    @Test
+    @Tag("unit")
+    void createCheckoutSession_ShouldSendStableIdempotencyKey() throws StripeException {
+        StripeClient client = mock(StripeClient.class, Mockito.RETURNS_DEEP_STUBS);
+        StripeGatewayImpl gateway = new StripeGatewayImpl(client);
+        StripeCheckoutSessionCreateRequest req = new StripeCheckoutSessionCreateRequest(
+                1234L, "eur", "Test product", "http://localhost/success", "http://localhost/cancel",
+                Map.of("bookingId", "10", "userId", "3"));
+        StripeCheckoutSessionCreateRequest sameReordered = new StripeCheckoutSessionCreateRequest(
+                1234L, "eur", "Test product", "http://localhost/success", "http://localhost/cancel",
+                Map.of("userId", "3", "bookingId", "10"));
+        StripeCheckoutSessionCreateRequest otherAmount = new StripeCheckoutSessionCreateRequest(
+                999L, "eur", "Test product", "http://localhost/success", "http://localhost/cancel",
+                Map.of("bookingId", "10", "userId", "3"));
+
+        when(client.checkout().sessions().create(any(SessionCreateParams.class), any(RequestOptions.class)))
+                .thenReturn(mock(Session.class));
+        gateway.createCheckoutSession(req);
+
+        ArgumentCaptor<RequestOptions> options = ArgumentCaptor.forClass(RequestOptions.class);
+        verify(client.checkout().sessions()).create(any(SessionCreateParams.class), options.capture());
+        assertEquals(StripeGatewayImpl.idempotencyKey(req), options.getValue().getIdempotencyKey());
+        assertEquals(StripeGatewayImpl.idempotencyKey(req), StripeGatewayImpl.idempotencyKey(sameReordered));
+        assertNotEquals(StripeGatewayImpl.idempotencyKey(req), StripeGatewayImpl.idempotencyKey(otherAmount));
     }
 
     @Test
     @XrayTest(key = "PAY-UNIT-9")
     @Tag("unit")
-    void createCheckoutSession_ShouldWrapStripeException() {
-        StripeGatewayImpl gateway = new StripeGatewayImpl("sk_test_123");
+    void createCheckoutSession_ShouldWrapStripeException() throws StripeException {
+        StripeClient client = mock(StripeClient.class, Mockito.RETURNS_DEEP_STUBS);
+        StripeGatewayImpl gateway = new StripeGatewayImpl(client);
         StripeCheckoutSessionCreateRequest req = new StripeCheckoutSessionCreateRequest(
                 500L,
                 "eur",
@@ -87,20 +117,20 @@ class StripeGatewayImplTest {
 
         StripeException stripeEx = new StripeException("boom", null, null, 0, null) {};
 
-        try (MockedStatic<Session> mocked = Mockito.mockStatic(Session.class)) {
-            mocked.when(() -> Session.create(any(SessionCreateParams.class))).thenThrow(stripeEx);
+        when(client.checkout().sessions().create(any(SessionCreateParams.class), any(RequestOptions.class)))
+                .thenThrow(stripeEx);
 
-            RuntimeException ex = assertThrows(RuntimeException.class, () -> gateway.createCheckoutSession(req));
-            assertTrue(ex.getMessage().toLowerCase().contains("stripe error creating checkout session"));
-            assertSame(stripeEx, ex.getCause());
-        }
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> gateway.createCheckoutSession(req));
+        assertTrue(ex.getMessage().toLowerCase().contains("stripe error creating checkout session"));
+        assertSame(stripeEx, ex.getCause());
     }
 
     @Test
     @XrayTest(key = "PAY-UNIT-10")
     @Tag("unit")
-    void retrieveCheckoutSession_ShouldMapStripeSessionFields() {
-        StripeGatewayImpl gateway = new StripeGatewayImpl("sk_test_123");
+    void retrieveCheckoutSession_ShouldMapStripeSessionFields() throws StripeException {
+        StripeClient client = mock(StripeClient.class, Mockito.RETURNS_DEEP_STUBS);
+        StripeGatewayImpl gateway = new StripeGatewayImpl(client);
 
         Session session = mock(Session.class);
         when(session.getId()).thenReturn("cs_test_999");
@@ -109,33 +139,30 @@ class StripeGatewayImplTest {
         when(session.getPaymentIntent()).thenReturn("pi_test_999");
         when(session.getAmountTotal()).thenReturn(3000L);
 
-        try (MockedStatic<Session> mocked = Mockito.mockStatic(Session.class)) {
-            mocked.when(() -> Session.retrieve("cs_test_999")).thenReturn(session);
+        when(client.checkout().sessions().retrieve("cs_test_999")).thenReturn(session);
 
-            StripeCheckoutSession out = gateway.retrieveCheckoutSession("cs_test_999");
-            assertEquals("cs_test_999", out.id());
-            assertNull(out.url());
-            assertEquals("paid", out.paymentStatus());
-            assertEquals("pi_test_999", out.paymentIntentId());
-            assertEquals(3000L, out.amountTotal());
-        }
+        StripeCheckoutSession out = gateway.retrieveCheckoutSession("cs_test_999");
+        assertEquals("cs_test_999", out.id());
+        assertNull(out.url());
+        assertEquals("paid", out.paymentStatus());
+        assertEquals("pi_test_999", out.paymentIntentId());
+        assertEquals(3000L, out.amountTotal());
     }
 
     @Test
     @XrayTest(key = "PAY-UNIT-11")
     @Tag("unit")
-    void retrieveCheckoutSession_ShouldWrapStripeException() {
-        StripeGatewayImpl gateway = new StripeGatewayImpl("sk_test_123");
+    void retrieveCheckoutSession_ShouldWrapStripeException() throws StripeException {
+        StripeClient client = mock(StripeClient.class, Mockito.RETURNS_DEEP_STUBS);
+        StripeGatewayImpl gateway = new StripeGatewayImpl(client);
 
         StripeException stripeEx = new StripeException("boom", null, null, 0, null) {};
 
-        try (MockedStatic<Session> mocked = Mockito.mockStatic(Session.class)) {
-            mocked.when(() -> Session.retrieve("cs_test_err")).thenThrow(stripeEx);
+        when(client.checkout().sessions().retrieve("cs_test_err")).thenThrow(stripeEx);
 
-            RuntimeException ex = assertThrows(RuntimeException.class, () -> gateway.retrieveCheckoutSession("cs_test_err"));
-            assertTrue(ex.getMessage().toLowerCase().contains("stripe error retrieving checkout session"));
-            assertSame(stripeEx, ex.getCause());
-        }
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> gateway.retrieveCheckoutSession("cs_test_err"));
+        assertTrue(ex.getMessage().toLowerCase().contains("stripe error retrieving checkout session"));
+        assertSame(stripeEx, ex.getCause());
     }
 }
 
@@ -0,0 +1,106 @@
+package gamerent.service;
+
+import app.getxray.xray.junit.customjunitxml.annotations.Requirement;
+import gamerent.data.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@Requirement("US2, TGR-21")
+class StripeWebhookProcessorTest {
+
+    @Mock
+    private StripeWebhookEventRepository eventRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private StripeWebhookProcessor processor;
+
+    private BookingRequest booking;
+
+    @BeforeEach
+    void setUp() {
+        booking = new BookingRequest();
+        booking.setId(10L);
+        booking.setStatus(BookingStatus.APPROVED);
+        booking.setPaymentStatus(PaymentStatus.UNPAID);
+        booking.setStripeCheckoutSessionId("cs_test_10");
+    }
+
+    @Test
+    @Tag("unit")
+    void processBatch_PaidSession_ShouldMarkBookingPaidInOneWrite() {
+        StripeWebhookEvent event = event("evt_1", 10L, "cs_test_10", "paid");
+        StripeWebhookEvent redelivered = event("evt_2", 10L, "cs_test_10", "paid");
+        when(eventRepository.claimPending(any(Pageable.class))).thenReturn(List.of(event, redelivered));
+        when(bookingRepository.findAllById(List.of(10L))).thenReturn(List.of(booking));
+
+        int processed = processor.processBatch(50);
+
+        assertEquals(2, processed);
+        assertEquals(PaymentStatus.PAID, booking.getPaymentStatus());
+        assertNotNull(booking.getPaidAt());
+        assertEquals("pi_evt_1", booking.getStripePaymentIntentId());
+        assertEquals(WebhookEventStatus.PROCESSED, event.getStatus());
+        assertEquals(WebhookEventStatus.PROCESSED, redelivered.getStatus());
+        verify(bookingRepository).saveAll(List.of(booking));
+        verify(eventRepository).saveAll(List.of(event, redelivered));
+    }
+
+    @Test
+    @Tag("unit")
+    void processBatch_SessionMismatchOrCancelledBooking_ShouldIgnoreEvent() {
+        StripeWebhookEvent forged = event("evt_1", 10L, "cs_other", "paid");
+        when(eventRepository.claimPending(any(Pageable.class))).thenReturn(List.of(forged));
+        when(bookingRepository.findAllById(List.of(10L))).thenReturn(List.of(booking));
+
+        processor.processBatch(50);
+
+        assertEquals(WebhookEventStatus.IGNORED, forged.getStatus());
+        assertEquals(PaymentStatus.UNPAID, booking.getPaymentStatus());
+
+        booking.setStatus(BookingStatus.CANCELLED);
+        StripeWebhookEvent late = event("evt_2", 10L, "cs_test_10", "paid");
+        when(eventRepository.claimPending(any(Pageable.class))).thenReturn(List.of(late));
+
+        processor.processBatch(50);
+
+        assertEquals(WebhookEventStatus.IGNORED, late.getStatus());
+        assertEquals(PaymentStatus.UNPAID, booking.getPaymentStatus());
+    }
+
+    @Test
+    @Tag("unit")
+    void processBatch_EmptyInbox_ShouldNotTouchBookings() {
+        when(eventRepository.claimPending(any(Pageable.class))).thenReturn(List.of());
+
+        assertEquals(0, processor.processBatch(50));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    private static StripeWebhookEvent event(String id, Long bookingId, String sessionId, String paymentStatus) {
+        StripeWebhookEvent event = new StripeWebhookEvent();
+        event.setEventId(id);
+        event.setEventType("checkout.session.completed");
+        event.setBookingId(bookingId);
+        event.setSessionId(sessionId);
+        event.setPaymentStatus(paymentStatus);
+        event.setPaymentIntentId("pi_" + id);
+        event.setPayload("{}");
+        return event;
+    }
+}
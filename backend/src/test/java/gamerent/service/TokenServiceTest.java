@@ -0,0 +1,140 @@
+package gamerent.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gamerent.data.RevokedToken;
+import gamerent.data.RevokedTokenRepository;
+import gamerent.data.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenServiceTest {
+
+    private static final String OLD_KEY = "k1:" + secret('a');
+    private static final String NEW_KEY = "k2:" + secret('b');
+    private static final Instant NOW = Instant.parse("2030-01-01T10:00:00Z");
+
+    @Mock
+    private RevokedTokenRepository revokedRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(42L);
+        user.setEmail("token@test.com");
+        user.setRole("ADMIN");
+    }
+
+    @Test
+    void issuedTokenVerifiesWithItsClaims() {
+        TokenService tokens = service(OLD_KEY, NOW);
+
+        TokenService.IssuedToken issued = tokens.issue(user);
+        TokenService.Claims claims = tokens.verify(issued.token()).orElseThrow();
+
+        assertEquals(42L, claims.userId());
+        assertEquals("token@test.com", claims.email());
+        assertEquals("ADMIN", claims.role());
+        assertEquals(NOW.plus(Duration.ofMinutes(60)), claims.expiresAt());
+        assertEquals(issued.expiresAt(), claims.expiresAt());
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        TokenService tokens = service(OLD_KEY, NOW);
+        String[] parts = tokens.issue(user).token().split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+            ("{\"sub\":\"1\",\"role\":\"ADMIN\",\"exp\":" + NOW.plusSeconds(600).getEpochSecond() + ",\"jti\":\"x\"}")
+                .getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(tokens.verify(parts[0] + "." + forgedPayload + "." + parts[2]).isEmpty());
+        assertTrue(tokens.verify("not-a-token").isEmpty());
+        assertTrue(tokens.verify(parts[0] + "." + parts[1] + ".!!").isEmpty());
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String token = service(OLD_KEY, NOW).issue(user).token();
+
+        assertTrue(service(OLD_KEY, NOW.plus(Duration.ofMinutes(59))).verify(token).isPresent());
+        assertTrue(service(OLD_KEY, NOW.plus(Duration.ofMinutes(60))).verify(token).isEmpty());
+    }
+
+    @Test
+    void rotatedKeysKeepVerifyingOldTokensUntilRemoved() {
+        String oldToken = service(OLD_KEY, NOW).issue(user).token();
+
+        TokenService rotated = service(NEW_KEY + "," + OLD_KEY, NOW);
+        String newToken = rotated.issue(user).token();
+        assertTrue(rotated.verify(oldToken).isPresent());
+        assertTrue(rotated.verify(newToken).isPresent());
+
+        TokenService retired = service(NEW_KEY, NOW);
+        assertTrue(retired.verify(oldToken).isEmpty());
+        assertTrue(retired.verify(newToken).isPresent());
+    }
+
+    @Test
+    void revokedTokenIsRejectedLocallyAndPersisted() {
+        TokenService tokens = service(OLD_KEY, NOW);
+        String token = tokens.issue(user).token();
+
+        tokens.revoke(tokens.verify(token).orElseThrow());
+
+        assertTrue(tokens.verify(token).isEmpty());
+        verify(revokedRepository).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void revocationsFromOtherNodesApplyAfterRefresh() {
+        TokenService issuer = service(OLD_KEY, NOW);
+        String token = issuer.issue(user).token();
+        String jti = issuer.verify(token).orElseThrow().jti();
+
+        TokenService otherNode = service(OLD_KEY, NOW);
+        when(revokedRepository.findByExpiresAtAfter(any(LocalDateTime.class)))
+            .thenReturn(List.of(new RevokedToken(jti, LocalDateTime.ofInstant(NOW.plusSeconds(3600), ZoneOffset.UTC))));
+        assertTrue(otherNode.verify(token).isPresent());
+
+        otherNode.refreshRevocations();
+
+        assertEquals(Optional.empty(), otherNode.verify(token));
+        assertEquals(1, otherNode.revokedCount());
+    }
+
+    @Test
+    void shortKeysAreRefused() {
+        String shortKey = "k:" + Base64.getEncoder().encodeToString("too-short".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IllegalStateException.class, () -> service(shortKey, NOW));
+    }
+
+    private TokenService service(String keys, Instant now) {
+        return new TokenService(revokedRepository, objectMapper, true, keys, Duration.ofMinutes(60),
+            Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static String secret(char fill) {
+        return Base64.getEncoder().encodeToString(String.valueOf(fill).repeat(32).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -66,5 +66,32 @@ class UserServiceAuthTest {
         assertTrue(ok);
         verify(passwordEncoder).matches("raw", "encodedpass");
     }
-}
 
+    @Test
+    void checkPassword_rehashesWhenCostChanged() {
+        User user = new User();
+        user.setPassword("oldhash");
+
+        when(passwordEncoder.matches("raw", "oldhash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("oldhash")).thenReturn(true);
+        when(passwordEncoder.encode("raw")).thenReturn("newhash");
+
+        assertTrue(userService.checkPassword(user, "raw"));
+
+        assertEquals("newhash", user.getPassword());
+        verify(userRepository).save(user);
+    }
+
+    @Test
+    void checkPassword_doesNotRehashOnFailedLogin() {
+        User user = new User();
+        user.setPassword("oldhash");
+
+        when(passwordEncoder.matches("wrong", "oldhash")).thenReturn(false);
+
+        assertFalse(userService.checkPassword(user, "wrong"));
+
+        verify(passwordEncoder, never()).encode(any());
+        verify(userRepository, never()).save(any());
+    }
+}
@@ -8,6 +8,7 @@ import gamerent.data.ReviewRepository;
 import gamerent.data.ReviewTargetType;
 import gamerent.data.User;
 import gamerent.data.UserRepository;
+import gamerent.data.UserSummaryView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,8 +17,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -71,4 +79,29 @@ class UserServiceTest {
         assertEquals(2, profile.reviewCount());
         assertEquals(1, profile.itemsCount());
     }
+
+    @Test
+    void getUserSummaries_ShouldQueryDistinctIdsOnce() {
+        when(userRepository.findSummariesByIdIn(Set.of(1L, 2L)))
+            .thenReturn(List.of(new UserSummaryView(1L, "Ann"), new UserSummaryView(2L, "Bob")));
+
+        List<UserSummaryView> result = userService.getUserSummaries(List.of(2L, 1L, 2L));
+
+        assertEquals(2, result.size());
+        verify(userRepository).findSummariesByIdIn(Set.of(1L, 2L));
+    }
+
+    @Test
+    void getUserSummaries_EmptyIds_ShouldNotQuery() {
+        assertTrue(userService.getUserSummaries(List.of()).isEmpty());
+        verify(userRepository, never()).findSummariesByIdIn(any());
+    }
+
+    @Test
+    void getUserSummaries_TooManyIds_ShouldThrow() {
+        List<Long> ids = LongStream.rangeClosed(1, UserService.MAX_BATCH_IDS + 1L).boxed().toList();
+
+        assertThrows(IllegalArgumentException.class, () -> userService.getUserSummaries(ids));
+        verify(userRepository, never()).findSummariesByIdIn(any());
+    }
 }
@@ -0,0 +1,36 @@
+package gamerent.bench;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * In-memory stand-ins for Spring Data repositories, so service code can be
+ * benchmarked without a database or a mocking framework on the hot path.
+ */
+public final class Stubs {
+    private Stubs() {
+    }
+
+    /**
+     * Implements {@code type} by answering each named method from {@code answers};
+     * any other call fails, so a benchmark cannot silently measure an unstubbed path.
+     */
+    public static <R> R repository(Class<R> type, Map<String, Function<Object[], Object>> answers) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(self);
+                    case "equals" -> self == args[0];
+                    default -> type.getSimpleName() + " stub";
+                };
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not stubbed");
+        });
+        return type.cast(proxy);
+    }
+}
@@ -0,0 +1,55 @@
+package gamerent.boundary;
+
+import gamerent.data.ItemCardView;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory rentable filter and page slicing applied to catalog results
+ * before they are returned.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogPagingBenchmark {
+
+    @Param({"100", "10000", "200000"})
+    public int catalogSize;
+
+    private List<ItemCardView> catalog;
+    private int lastPage;
+
+    @Setup
+    public void setUp() {
+        String[] categories = {"Game", "Console", "Accessory"};
+        catalog = new ArrayList<>(catalogSize);
+        for (int i = 0; i < catalogSize; i++) {
+            // Every fifth item is unavailable and every seventh has no price, as with freshly imported games
+            catalog.add(new ItemCardView((long) i, "Item " + i, categories[i % 3], null,
+                i % 7 == 0 ? null : 5.0 + i % 20, i % 5 != 0, 1 + i % 7, (long) (i % 50), "Owner " + i % 50));
+        }
+        lastPage = Math.max(0, catalogSize / 10 - 1);
+    }
+
+    @Benchmark
+    public Map<String, Object> firstPage() {
+        return ItemController.toCardPage(catalog, null, 0, 10);
+    }
+
+    @Benchmark
+    public Map<String, Object> firstPageRentable() {
+        return ItemController.toCardPage(catalog, true, 0, 10);
+    }
+
+    @Benchmark
+    public Map<String, Object> lastPageRentable() {
+        return ItemController.toCardPage(catalog, true, lastPage, 10);
+    }
+}
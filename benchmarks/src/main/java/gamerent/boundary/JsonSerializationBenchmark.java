@@ -0,0 +1,85 @@
+package gamerent.boundary;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import gamerent.boundary.dto.ChatResponse;
+import gamerent.data.Item;
+import gamerent.data.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the item and chat payloads, single and as a list page.
+ * The mapper registers the same modules Spring Boot picks up from the classpath.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"1", "50"})
+    public int listSize;
+
+    private ObjectMapper mapper;
+    private Item item;
+    private ChatResponse chat;
+    private List<Item> items;
+    private List<ChatResponse> chats;
+
+    @Setup
+    public void setUp() {
+        mapper = JsonMapper.builder().findAndAddModules().build();
+
+        User owner = new User();
+        owner.setId(2L);
+        owner.setName("Owner");
+        owner.setEmail("owner@gamerent.com");
+        owner.setPassword("$2a$10$hash");
+        owner.setRole("USER");
+
+        items = new ArrayList<>(listSize);
+        chats = new ArrayList<>(listSize);
+        LocalDateTime now = LocalDateTime.of(2026, 3, 1, 12, 0);
+        for (int i = 0; i < listSize; i++) {
+            Item it = new Item("Game " + i, "A long enough description for a typical IGDB game summary " + i,
+                5.0 + i, "https://images.igdb.com/igdb/image/upload/t_cover_big/co" + i + ".jpg", owner);
+            it.setId((long) i);
+            it.setCategory("Game");
+            it.setAvailable(true);
+            items.add(it);
+            chats.add(new ChatResponse((long) i, 1L, "Renter", "renter@gamerent.com", 2L, "Owner",
+                "owner@gamerent.com", (long) i, it.getName(), it.getImageUrl(), now, now.plusMinutes(i),
+                "Is it still available?", (long) (i % 3)));
+        }
+        item = items.get(0);
+        chat = chats.get(0);
+    }
+
+    @Benchmark
+    public byte[] item() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(item);
+    }
+
+    @Benchmark
+    public byte[] itemList() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] chatResponse() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(chat);
+    }
+
+    @Benchmark
+    public byte[] chatResponseList() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(chats);
+    }
+}
@@ -0,0 +1,50 @@
+package gamerent.config;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password checks per second on one thread, i.e. logins/sec per core, for the
+ * BCrypt costs worth considering for app.security.bcrypt.cost. The bounded variant
+ * adds the hand-off to the hashing pool, which should be noise next to the hash.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class PasswordHashingBenchmark {
+
+    @Param({"8", "10", "12"})
+    private int cost;
+
+    private BCryptPasswordEncoder direct;
+    private BoundedBCryptPasswordEncoder bounded;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        direct = new BCryptPasswordEncoder(cost);
+        bounded = new BoundedBCryptPasswordEncoder(cost, 1, 16, 60_000);
+        hash = direct.encode("correct horse battery staple");
+    }
+
+    @TearDown
+    public void tearDown() {
+        bounded.shutdown();
+    }
+
+    @Benchmark
+    public boolean matchesOnCallerThread() {
+        return direct.matches("correct horse battery staple", hash);
+    }
+
+    @Benchmark
+    public boolean matchesOnHashingPool() {
+        return bounded.matches("correct horse battery staple", hash);
+    }
+}
@@ -0,0 +1,72 @@
+package gamerent.service;
+
+import gamerent.bench.Stubs;
+import gamerent.data.BookingRepository;
+import gamerent.data.BookingRequest;
+import gamerent.data.BookingStatus;
+import gamerent.data.ItemRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Date-overlap checks done when a booking is created, against an item with
+ * {@code approvedBookings} back-to-back APPROVED bookings and a requested range
+ * that clears all of them (the worst case: every booking is inspected).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingValidationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int approvedBookings;
+
+    private BookingService bookingService;
+    private List<BookingRequest> existing;
+    private LocalDate requestStart;
+    private LocalDate requestEnd;
+
+    @Setup
+    public void setUp() {
+        LocalDate first = LocalDate.of(2026, 1, 1);
+        existing = new ArrayList<>(approvedBookings);
+        for (int i = 0; i < approvedBookings; i++) {
+            BookingRequest b = new BookingRequest();
+            b.setItemId(1L);
+            b.setStatus(BookingStatus.APPROVED);
+            b.setStartDate(first.plusDays(3L * i));
+            b.setEndDate(first.plusDays(3L * i + 1));
+            existing.add(b);
+        }
+        requestStart = first.plusDays(3L * approvedBookings + 10);
+        requestEnd = requestStart.plusDays(2);
+
+        BookingRepository bookings = Stubs.repository(BookingRepository.class,
+            Map.of("findByItemIdAndStatus", args -> existing));
+        bookingService = new BookingService(bookings, Stubs.repository(ItemRepository.class, Map.of()));
+    }
+
+    @Benchmark
+    public void validateDateRange() {
+        bookingService.validateDateRange(requestStart, requestEnd, 1L);
+    }
+
+    @Benchmark
+    public int isOverlappingScan() {
+        int overlaps = 0;
+        for (BookingRequest b : existing) {
+            if (BookingService.isOverlapping(requestStart, requestEnd, b.getStartDate(), b.getEndDate())) {
+                overlaps++;
+            }
+        }
+        return overlaps;
+    }
+}
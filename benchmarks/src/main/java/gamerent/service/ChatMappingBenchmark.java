@@ -0,0 +1,71 @@
+package gamerent.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gamerent.bench.Stubs;
+import gamerent.boundary.dto.ChatResponse;
+import gamerent.data.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chat-to-DTO mapping behind the inbox. The repositories answer from memory,
+ * so this measures the mapping itself, including walking the full message
+ * history to find the last message.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChatMappingBenchmark {
+
+    @Param({"1", "100", "5000"})
+    public int messagesPerChat;
+
+    private ChatService chatService;
+    private Chat chat;
+
+    @Setup
+    public void setUp() {
+        User renter = user(1L, "Renter");
+        User owner = user(2L, "Owner");
+        Item item = new Item("PlayStation 5", "Console", 15.0, "https://images.example/ps5.jpg", owner);
+        item.setId(10L);
+        chat = new Chat(renter, owner, item);
+        chat.setId(100L);
+
+        List<Message> history = new ArrayList<>(messagesPerChat);
+        for (int i = 0; i < messagesPerChat; i++) {
+            history.add(new Message(chat, i % 2 == 0 ? renter : owner, "Message " + i));
+        }
+        long unread = messagesPerChat / 3;
+
+        MessageRepository messages = Stubs.repository(MessageRepository.class, Map.of(
+            "findByChatIdOrderBySentAtAsc", args -> history,
+            "countByChatIdAndIsReadFalseAndSenderIdNot", args -> unread));
+        ChatRepository chats = Stubs.repository(ChatRepository.class, Map.of());
+        // Every chat here has hot messages, so the archive is never consulted
+        MessageArchiveService archive = new MessageArchiveService(chats, messages,
+            Stubs.repository(MessageArchiveRepository.class, Map.of()), new ObjectMapper(), null, 6, 100, 3);
+        chatService = new ChatService(chats, messages,
+            Stubs.repository(ItemRepository.class, Map.of()), Stubs.repository(UserRepository.class, Map.of()), archive);
+    }
+
+    @Benchmark
+    public ChatResponse convertToChatResponse() {
+        return chatService.convertToChatResponse(chat, 1L);
+    }
+
+    private static User user(Long id, String name) {
+        User u = new User();
+        u.setId(id);
+        u.setName(name);
+        u.setEmail(name.toLowerCase() + "@gamerent.com");
+        return u;
+    }
+}
@@ -0,0 +1,69 @@
+package gamerent.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a popular-games response: the old JsonNode tree binding against the
+ * streaming reader that keeps only the imported fields. Run with
+ * {@code -Djmh.args="IgdbPayload -prof gc"} to compare gc.alloc.rate.norm.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IgdbPayloadBenchmark {
+
+    @Param({"50", "500"})
+    public int games;
+
+    private ObjectMapper mapper;
+    private IgdbPayloadReader reader;
+    private String payload;
+
+    @Setup
+    public void setUp() {
+        mapper = new ObjectMapper();
+        reader = new IgdbPayloadReader(mapper.getFactory());
+
+        // Shaped like the IGDB games response, including fields the import ignores
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < games; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(1000 + i)
+                .append(",\"name\":\"Game ").append(i).append('"')
+                .append(",\"cover\":{\"id\":").append(5000 + i)
+                .append(",\"url\":\"//images.igdb.com/igdb/image/upload/t_thumb/co").append(i).append(".jpg\"}")
+                .append(",\"rating\":").append(70 + i % 30).append(".25")
+                .append(",\"summary\":\"").append("An open world adventure with a long enough summary. ".repeat(6)).append('"')
+                .append(",\"platforms\":[6,48,49,130,167,169]")
+                .append('}');
+        }
+        payload = json.append(']').toString();
+    }
+
+    @Benchmark
+    public List<String> treeBinding() throws IOException {
+        JsonNode[] nodes = mapper.readValue(payload, JsonNode[].class);
+        List<String> names = new ArrayList<>(nodes.length);
+        for (JsonNode node : nodes) {
+            names.add(node.get("name").asText());
+        }
+        return names;
+    }
+
+    @Benchmark
+    public List<IgdbGame> streamingReader() throws IOException {
+        return reader.readGames(payload);
+    }
+}
@@ -0,0 +1,40 @@
+package gamerent.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payment deadline computed on every approval.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PaymentDeadlineBenchmark {
+
+    private LocalDateTime[] approvalTimes;
+
+    @Setup
+    public void setUp() {
+        // Mix of same-day deadlines and approvals inside the last hour, which roll over to the next day
+        approvalTimes = new LocalDateTime[]{
+            LocalDateTime.of(2026, 3, 1, 9, 30),
+            LocalDateTime.of(2026, 3, 1, 23, 15),
+            LocalDateTime.of(2026, 3, 1, 0, 0),
+            LocalDateTime.of(2026, 12, 31, 23, 59)
+        };
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(4)
+    public void computePaymentDueAt(Blackhole bh) {
+        for (LocalDateTime approvedAt : approvalTimes) {
+            bh.consume(BookingService.computePaymentDueAt(approvedAt));
+        }
+    }
+}
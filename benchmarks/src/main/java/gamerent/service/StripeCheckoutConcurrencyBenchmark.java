@@ -0,0 +1,111 @@
+package gamerent.service;
+
+import com.stripe.StripeClient;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Checkout session creation from 1, 4 and 16 threads against a local Stripe
+ * stand-in with a fixed response latency. With an instance-scoped client there is
+ * no shared lock on the call path, so throughput should grow with the thread
+ * count until the stand-in or the connection pool saturates.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StripeCheckoutConcurrencyBenchmark {
+
+    @Param({"5"})
+    public int latencyMillis;
+
+    private HttpServer standIn;
+    private StripeGatewayImpl gateway;
+    private final AtomicLong sessionIds = new AtomicLong();
+
+    @Setup
+    public void setUp() throws IOException {
+        standIn = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        standIn.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        standIn.createContext("/v1/checkout/sessions", this::createSession);
+        standIn.start();
+
+        StripeClient client = StripeClient.builder()
+                .setApiKey("sk_test_bench")
+                .setApiBase("http://localhost:" + standIn.getAddress().getPort())
+                .setMaxNetworkRetries(0)
+                .build();
+        gateway = new StripeGatewayImpl(client);
+    }
+
+    @TearDown
+    public void tearDown() {
+        standIn.stop(0);
+    }
+
+    @State(Scope.Thread)
+    public static class Booking {
+        private static final AtomicLong NEXT = new AtomicLong();
+        StripeCheckoutSessionCreateRequest request;
+
+        @Setup(Level.Invocation)
+        public void next() {
+            String bookingId = String.valueOf(NEXT.incrementAndGet());
+            request = new StripeCheckoutSessionCreateRequest(3000L, "eur", "GameRent booking #" + bookingId,
+                    "http://localhost:5173/bookings?payment_success=1", "http://localhost:5173/bookings?payment_cancelled=1",
+                    Map.of("bookingId", bookingId, "userId", "1"));
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public StripeCheckoutSession threads1(Booking booking) {
+        return gateway.createCheckoutSession(booking.request);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public StripeCheckoutSession threads4(Booking booking) {
+        return gateway.createCheckoutSession(booking.request);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public StripeCheckoutSession threads16(Booking booking) {
+        return gateway.createCheckoutSession(booking.request);
+    }
+
+    private void createSession(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            body.readAllBytes();
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String id = "cs_bench_" + sessionIds.incrementAndGet();
+        byte[] response = ("{\"id\":\"" + id + "\",\"object\":\"checkout.session\",\"url\":\"https://checkout.stripe.test/"
+                + id + "\",\"payment_status\":\"unpaid\",\"payment_intent\":null,\"amount_total\":3000}")
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+}